@@ -0,0 +1,32 @@
+package com.github.lordzintick.pixel_krush.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessEnvironment;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessTextureData;
+
+/**
+ * A mocked {@link Gdx} environment for running engine code in benchmarks without a window or an OpenGL context.<br>
+ * This is the {@link HeadlessEnvironment} games run in headless, see it for the values reported by the mocked screen.
+ */
+public final class MockGdx {
+    private MockGdx() {}
+
+    /**
+     * Installs the mocked environment, if it isn't installed yet.
+     */
+    public static void install() {
+        HeadlessEnvironment.install();
+    }
+
+    /**
+     * Creates a texture of the provided size without uploading any image data.
+     * @param width The width of the texture.
+     * @param height The height of the texture.
+     * @return A new {@link Texture} that can be split into regions and drawn into a recording batch.
+     */
+    public static Texture texture(int width, int height) {
+        install();
+        return new Texture(new HeadlessTextureData(width, height));
+    }
+}
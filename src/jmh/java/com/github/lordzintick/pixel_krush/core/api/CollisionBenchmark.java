@@ -0,0 +1,60 @@
+package com.github.lordzintick.pixel_krush.core.api;
+
+import com.github.lordzintick.pixel_krush.core.api.collision.SpatialHashBroadphase;
+import com.github.lordzintick.pixel_krush.core.api.collision.SweepAndPruneBroadphase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark of a full {@link BaseScreen#update(float)} of a screen full of moving objects, dominated by the collision pass.<br>
+ * The objects are spread over an area that grows with their amount, so the density, and thus the amount of actual collisions per object, stays the same.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    /**
+     * The amount of objects in the screen.
+     */
+    @Param({"100", "1000", "10000"})
+    public int objects;
+    /**
+     * The broadphase used by the screen.
+     */
+    @Param({"spatial_hash", "sweep_and_prune"})
+    public String broadphase;
+
+    /**
+     * The screen being updated.
+     */
+    private TestGame.Screen screen;
+
+    @Setup
+    public void setup() {
+        TestGame game = new TestGame();
+        screen = new TestGame.Screen(game);
+        screen.setBroadphase(broadphase.equals("spatial_hash") ? new SpatialHashBroadphase() : new SweepAndPruneBroadphase());
+
+        Random random = new Random(42);
+        float side = (float) Math.sqrt(objects) * 48;
+        for (int i = 0; i < objects; i++) {
+            TestGame.Wanderer wanderer = screen.objects.add(new TestGame.Wanderer(screen, 16));
+            wanderer.x = random.nextFloat() * side;
+            wanderer.y = random.nextFloat() * side;
+            wanderer.velocityX = random.nextFloat() * 64 - 32;
+            wanderer.velocityY = random.nextFloat() * 64 - 32;
+        }
+        screen.objects.flush();
+    }
+
+    @Benchmark
+    public int update() {
+        screen.update(1f / 60);
+        return screen.getCollisionChecks();
+    }
+}
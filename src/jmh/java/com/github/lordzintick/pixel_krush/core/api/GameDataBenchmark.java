@@ -0,0 +1,134 @@
+package com.github.lordzintick.pixel_krush.core.api;
+
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+import com.github.lordzintick.pixel_krush.core.util.JsonAccessor;
+import com.github.lordzintick.pixel_krush.core.util.registry.Registry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark of writing and reading the game data file through {@link AbstractGame.GameDataHandler} and {@link IGameDataSerializer}s, without touching the disk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameDataBenchmark {
+    /**
+     * The amount of values written by every serializer.
+     */
+    @Param({"10", "100"})
+    public int values;
+    /**
+     * The amount of serializers.
+     */
+    @Param({"1", "8"})
+    public int serializers;
+
+    /**
+     * The {@link Json} instance used for I/O.
+     */
+    private Json json;
+    /**
+     * The handler being benchmarked.
+     */
+    private AbstractGame.GameDataHandler handler;
+    /**
+     * The JSON text of the game data, as written by the handler.
+     */
+    private String written;
+    /**
+     * A reused reader used to parse the written game data.
+     */
+    private final JsonReader reader = new JsonReader();
+
+    @Setup
+    public void setup() {
+        new TestGame();
+        json = new Json();
+        Registry<IGameDataSerializer> registry = new Registry<>();
+        for (int i = 0; i < serializers; i++) {
+            registry.register(Identifier.of("bench", "serializer_" + i), new Serializer("serializer_" + i, values));
+        }
+
+        handler = new AbstractGame.GameDataHandler();
+        handler.updateSerializers(registry);
+        written = json.toJson(handler);
+    }
+
+    @Benchmark
+    public String write() {
+        return json.toJson(handler);
+    }
+
+    @Benchmark
+    public JsonValue parse() {
+        return reader.parse(written);
+    }
+
+    @Benchmark
+    public AbstractGame.GameDataHandler read() {
+        handler.read(json, reader.parse(written));
+        return handler;
+    }
+
+    /**
+     * A serializer writing a fixed amount of integer, float and string values, and reading them all back.
+     */
+    private static final class Serializer implements IGameDataSerializer {
+        /**
+         * The name of the serializer.
+         */
+        private final String name;
+        /**
+         * The values written by the serializer.
+         */
+        private final HashMap<String, Object> data = new HashMap<>();
+        /**
+         * The sum of the integer values read, so reading can't be optimized away.
+         */
+        private int sum = 0;
+
+        /**
+         * Constructs a new {@link Serializer} writing the provided amount of values.
+         * @param name The name of the serializer.
+         * @param values The amount of values to write.
+         */
+        private Serializer(String name, int values) {
+            this.name = name;
+            for (int i = 0; i < values; i++) {
+                switch (i % 3) {
+                    case 0: data.put("int_" + i, i); break;
+                    case 1: data.put("float_" + i, i * 0.5f); break;
+                    default: data.put("string_" + i, "value_" + i); break;
+                }
+            }
+        }
+
+        @Override
+        public HashMap<String, Object> write() {return data;}
+
+        @Override
+        public void read(JsonAccessor jsonAccessor) {
+            for (String key : data.keySet()) {
+                if (key.startsWith("int_")) {
+                    sum += jsonAccessor.get(key, Integer.class);
+                } else if (key.startsWith("float_")) {
+                    jsonAccessor.get(key, Float.class);
+                } else {
+                    jsonAccessor.get(key, String.class);
+                }
+            }
+        }
+
+        @Override
+        public String getName() {return name;}
+    }
+}
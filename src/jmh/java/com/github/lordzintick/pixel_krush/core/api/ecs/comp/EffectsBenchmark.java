@@ -0,0 +1,156 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs.comp;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.github.lordzintick.pixel_krush.core.MockGdx;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
+import com.github.lordzintick.pixel_krush.core.api.TestGame;
+import com.github.lordzintick.pixel_krush.core.api.ecs.Effect;
+import com.github.lordzintick.pixel_krush.core.api.ecs.LivingEntity;
+import com.github.lordzintick.pixel_krush.core.api.ecs.sys.anim.AbstractAnimationSystem;
+import com.github.lordzintick.pixel_krush.core.api.ecs.sys.anim.SimpleAnimationSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark of {@link EffectsComponent#tickAll(float)} over many entities with several active effects each.<br>
+ * In the <code>expiring</code> benchmark, one effect per entity expires every tick and is applied again, so removals are measured as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EffectsBenchmark {
+    /**
+     * The amount of entities.
+     */
+    @Param({"100", "1000"})
+    public int entities;
+    /**
+     * The amount of active effects per entity.
+     */
+    @Param({"1", "8"})
+    public int effects;
+
+    /**
+     * The effects components of the entities.
+     */
+    private EffectsComponent[] components;
+    /**
+     * The game the effects belong to.
+     */
+    private TestGame game;
+    /**
+     * The icon shared by all effects.
+     */
+    private TextureRegion icon;
+
+    @Setup
+    public void setup() {
+        game = new TestGame();
+        TestGame.Screen screen = new TestGame.Screen(game);
+        icon = new TextureRegion(MockGdx.texture(16, 16));
+        Texture spritesheet = MockGdx.texture(64, 64);
+
+        components = new EffectsComponent[entities];
+        for (int i = 0; i < entities; i++) {
+            Dummy dummy = new Dummy(screen, spritesheet);
+            for (int j = 0; j < effects; j++) {
+                dummy.applyEffect(new Regeneration(icon, game, Float.MAX_VALUE));
+            }
+            components[i] = dummy.effects();
+            components[i].flush();
+        }
+    }
+
+    @Benchmark
+    public int tickAll() {
+        int total = 0;
+        for (EffectsComponent component : components) {
+            component.tickAll(1f / 60);
+            component.flush();
+            total += component.size();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int expiring() {
+        int total = 0;
+        for (EffectsComponent component : components) {
+            component.applyEffect(new Regeneration(icon, game, 0));
+            component.flush();
+            component.tickAll(1f / 60);
+            component.flush();
+            total += component.size();
+        }
+        return total;
+    }
+
+    /**
+     * A simple effect that accumulates the time it was active for, scaled by its level.
+     */
+    private static final class Regeneration extends Effect {
+        /**
+         * The accumulated time, so ticking can't be optimized away.
+         */
+        private float accumulated = 0;
+
+        /**
+         * Constructs a new {@link Regeneration} effect.
+         * @param icon The icon of the effect.
+         * @param game The game the effect belongs to.
+         * @param time The time the effect lasts for, in seconds.
+         */
+        private Regeneration(TextureRegion icon, AbstractGame game, float time) {
+            super(icon, game, time, 1);
+        }
+
+        @Override
+        public void apply(LivingEntity entity) {}
+
+        @Override
+        public void tick(LivingEntity entity, float deltaTime) {
+            accumulated += deltaTime * level;
+        }
+
+        @Override
+        public void end(LivingEntity entity) {}
+    }
+
+    /**
+     * A minimal {@link LivingEntity} with a mocked spritesheet.
+     */
+    private static final class Dummy extends LivingEntity {
+        /**
+         * Constructs a new {@link Dummy} in the provided screen.
+         * @param screen The screen of the entity.
+         * @param spritesheet The spritesheet of the entity.
+         */
+        private Dummy(AbstractGameScreen screen, Texture spritesheet) {
+            super(screen, spritesheet, 16, 16);
+        }
+
+        /**
+         * Gets the effects component of this entity.
+         * @return The {@link EffectsComponent} of this entity.
+         */
+        private EffectsComponent effects() {return getComponentOrNull(getId("effects"));}
+
+        @Override
+        public int getMaxHealth() {return 100;}
+
+        @Override
+        protected AbstractAnimationSystem getAnimationSystem() {return new SimpleAnimationSystem(this);}
+
+        @Override
+        protected float getFrameTime() {return 0.1f;}
+
+        @Override
+        protected int getFrameCount() {return 4;}
+    }
+}
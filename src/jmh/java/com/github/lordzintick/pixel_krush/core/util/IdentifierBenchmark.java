@@ -0,0 +1,62 @@
+package com.github.lordzintick.pixel_krush.core.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark of {@link Identifier} equality, hashing and interning.<br>
+ * Equality is measured both for the same ID and for different IDs sharing a namespace, which are the two cases of every registry lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentifierBenchmark {
+    /**
+     * An ID.
+     */
+    private Identifier first;
+    /**
+     * The same ID as {@link #first}, obtained with a separate {@link Identifier#of(String, String)} call.
+     */
+    private Identifier same;
+    /**
+     * An ID with the same namespace as {@link #first}, but a different path.
+     */
+    private Identifier other;
+    /**
+     * The path of {@link #first}, built at runtime so it isn't the same string instance as the interned one.
+     */
+    private String path;
+
+    @Setup
+    public void setup() {
+        path = new StringBuilder("some_long_entity_path").toString();
+        first = Identifier.of("bench", "some_long_entity_path");
+        same = Identifier.of("bench", path);
+        other = Identifier.of("bench", "some_long_entity_patg");
+    }
+
+    @Benchmark
+    public boolean equalsSame() {
+        return first.equals(same);
+    }
+
+    @Benchmark
+    public boolean equalsOther() {
+        return first.equals(other);
+    }
+
+    @Benchmark
+    public int hash() {
+        return first.hashCode() ^ other.hashCode();
+    }
+
+    @Benchmark
+    public Identifier of() {
+        return Identifier.of("bench", path);
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.lordzintick.pixel_krush.core.util.registry;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark of the {@link LazyList} operations of a typical update: queueing additions and removals, flushing them, and membership checks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyListBenchmark {
+    /**
+     * The amount of values in the list.
+     */
+    @Param({"100", "1000", "10000"})
+    public int size;
+    /**
+     * The mode of the list.
+     */
+    @Param({"ORDERED", "UNORDERED"})
+    public LazyList.Mode mode;
+
+    /**
+     * The list being benchmarked.
+     */
+    private LazyList<Object> list;
+    /**
+     * The values in the list.
+     */
+    private Object[] values;
+
+    @Setup
+    public void setup() {
+        list = new LazyList<>(mode);
+        values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = list.add(new Object());
+        }
+        list.flush();
+    }
+
+    /**
+     * Removes and re-adds every tenth value, then flushes twice, leaving the list with the same values as before.
+     */
+    @Benchmark
+    public int churn() {
+        for (int i = 0; i < size; i += 10) {
+            list.remove(values[i]);
+        }
+        list.flush();
+        for (int i = 0; i < size; i += 10) {
+            list.add(values[i]);
+        }
+        list.flush();
+        return list.size();
+    }
+
+    @Benchmark
+    public void contains(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(list.contains(values[i]));
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (int i = 0; i < list.size(); i++) {
+            blackhole.consume(list.get(i));
+        }
+    }
+}
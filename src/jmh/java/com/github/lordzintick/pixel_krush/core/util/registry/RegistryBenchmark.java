@@ -0,0 +1,95 @@
+package com.github.lordzintick.pixel_krush.core.util.registry;
+
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark comparing {@link Registry} lookups across registries of different sizes.<br>
+ * Lookup IDs are obtained with a separate {@link Identifier#of(String, String)} call from the registered ones, the same way {@link com.github.lordzintick.pixel_krush.core.api.AbstractGame#getId(String)} obtains them every frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+    /**
+     * The amount of entries in the benchmarked registry.
+     */
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    /**
+     * The {@link Registry} being benchmarked.
+     */
+    private Registry<Integer> registry;
+    /**
+     * IDs of registered entries, used for successful lookups.
+     */
+    private Identifier[] hits;
+    /**
+     * IDs that were never registered, used for failed lookups.
+     */
+    private Identifier[] misses;
+    /**
+     * The index of the next ID to look up.
+     */
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        registry = new Registry<>();
+        hits = new Identifier[size];
+        misses = new Identifier[size];
+        for (int i = 0; i < size; i++) {
+            registry.register(Identifier.of("bench", "entry_" + i), i);
+            hits[i] = Identifier.of("bench", "entry_" + i);
+            misses[i] = Identifier.of("bench", "missing_" + i);
+        }
+    }
+
+    /**
+     * Gets the next lookup index, wrapping around the size of the registry.
+     * @return The index of the ID to look up next.
+     */
+    private int next() {
+        if (++index >= size) index = 0;
+        return index;
+    }
+
+    @Benchmark
+    public Integer getOrNullHit() {
+        return registry.getOrNull(hits[next()]);
+    }
+
+    @Benchmark
+    public Integer getOrNullMiss() {
+        return registry.getOrNull(misses[next()]);
+    }
+
+    @Benchmark
+    public boolean containsID() {
+        return registry.containsID(hits[next()]);
+    }
+
+    @Benchmark
+    public Integer getOrThrow() {
+        return registry.getOrThrow(hits[next()]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public Registry<Integer> registerAll() {
+        Registry<Integer> fresh = new Registry<>();
+        for (int i = 0; i < size; i++) {
+            fresh.register(hits[i], i);
+        }
+        return fresh;
+    }
+}
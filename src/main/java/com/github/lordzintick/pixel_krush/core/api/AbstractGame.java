@@ -18,15 +18,31 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.NinePatch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.*;
+import com.github.lordzintick.pixel_krush.core.api.ecs.comp.TextureArrayComponent;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessEnvironment;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessRunner;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessTextureData;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessTextureLoader;
+import com.github.lordzintick.pixel_krush.core.headless.SilentAudioLoader;
 import com.github.lordzintick.pixel_krush.core.util.input.GamepadInput;
 import com.github.lordzintick.pixel_krush.core.util.input.Input;
+import com.github.lordzintick.pixel_krush.core.util.input.InputQueue;
+import com.github.lordzintick.pixel_krush.core.util.input.InputRecording;
+import com.github.lordzintick.pixel_krush.core.util.input.InputReplay;
 import com.github.lordzintick.pixel_krush.core.util.input.Keybind;
+import com.github.lordzintick.pixel_krush.core.util.input.KeybindTable;
+import com.github.lordzintick.pixel_krush.core.util.profile.Profiler;
+import com.github.lordzintick.pixel_krush.core.util.profile.ProfilerSection;
+import com.github.lordzintick.pixel_krush.core.ui.api.DebugOverlay;
 import com.github.lordzintick.pixel_krush.core.ui.api.Toast;
 import com.github.lordzintick.pixel_krush.core.util.registry.*;
 
@@ -103,6 +119,10 @@ public abstract class AbstractGame extends ApplicationAdapter {
      * A {@link Registry} of {@link Keybind}s used for input detection.
      */
     private Registry<Keybind> keybindRegistry;
+    /**
+     * The {@link KeybindTable} dispatching input events to the keybinds in the {@link #keybindRegistry}.
+     */
+    private KeybindTable keybindTable;
 
     /**
      * A reference to the batch used to draw UI elements.
@@ -121,6 +141,10 @@ public abstract class AbstractGame extends ApplicationAdapter {
      * A <code>boolean</code> used to keep track of whether the assets have already loaded yet.
      */
     private boolean loadedAssets = false;
+    /**
+     * A <code>boolean</code> used to keep track of whether the game was {@link #createHeadless() created headless}.
+     */
+    private boolean headless = false;
     /**
      * A {@link GameDataHandler} used for data I/O.
      */
@@ -134,6 +158,22 @@ public abstract class AbstractGame extends ApplicationAdapter {
      * The {@link Input} handler of the application.
      */
     private Input input;
+    /**
+     * The {@link GamepadInput} handler of the application.
+     */
+    private GamepadInput gamepadInput;
+    /**
+     * The {@link InputQueue} buffering input events until the start of the next update.
+     */
+    private InputQueue inputQueue;
+    /**
+     * The {@link InputRecording} the input events are currently recorded into, or <code>null</code> if input isn't being recorded.
+     */
+    private volatile InputRecording inputRecording;
+    /**
+     * The {@link InputReplay} feeding a recording into a {@link #createHeadless() headless} game, or <code>null</code> if no input is being replayed.
+     */
+    private InputReplay inputReplay;
     /**
      * Two integers representing the position of the cursor when using gamepad control.
      */
@@ -143,6 +183,10 @@ public abstract class AbstractGame extends ApplicationAdapter {
      * A {@link Random} instance used for random number generation.
      */
     private Random random;
+    /**
+     * The seed the {@link #random} instance was created with, see {@link #setRandomSeed(long)}.
+     */
+    private long randomSeed = System.currentTimeMillis();
     /**
      * A {@link Json} instance used for JSON I/O operations.
      */
@@ -151,7 +195,7 @@ public abstract class AbstractGame extends ApplicationAdapter {
     /**
      * The current {@link BaseScreen Screen} of the game.
      */
-    private BaseScreen screen;
+    private volatile BaseScreen screen;
     /**
      * The camera for the game viewport.
      */
@@ -164,10 +208,87 @@ public abstract class AbstractGame extends ApplicationAdapter {
      * The {@link Toast} that the game is currently displaying.
      */
     public Toast displayingToast = null;
+    /**
+     * Cached splits of textures into equally sized regions, by texture and then by <code>width &lt;&lt; 16 | height</code>.<br>
+     * Entities can be created on the {@link #useSimulationThread() simulation thread}, so every access is synchronized on this map.
+     */
+    private final ObjectMap<Texture, IntMap<TextureRegion[][]>> splitTextures = new ObjectMap<>();
+    /**
+     * The time that has not been simulated yet when using a {@link #useFixedTimestep() fixed timestep}, in seconds.
+     */
+    private float tickAccumulator = 0;
+    /**
+     * How far the current frame lies between the last simulation tick and the next one, from 0 to 1.
+     */
+    private float interpolationAlpha = 1;
+    /**
+     * The amount of simulation ticks the current screen was updated by so far, see {@link #getTick()}.
+     */
+    private volatile long tick = 0;
+    /**
+     * The {@link SimulationThread} updating the current screen, or <code>null</code> if the game doesn't {@link #useSimulationThread() use one}.
+     */
+    private SimulationThread simulationThread;
+    /**
+     * The {@link Profiler} timing the phases of every frame.
+     */
+    private final Profiler profiler = new Profiler();
+    /**
+     * The {@link ProfilerSection} timing {@link #preUpdate()}.
+     */
+    private final ProfilerSection preUpdateSection = profiler.getSection("preUpdate");
+    /**
+     * The {@link ProfilerSection} timing the update of the current screen.
+     */
+    private final ProfilerSection updateSection = profiler.getSection("update");
+    /**
+     * The {@link ProfilerSection} timing the game rendering of the current screen.
+     */
+    private final ProfilerSection renderGameSection = profiler.getSection("renderGame");
+    /**
+     * The {@link ProfilerSection} timing the UI rendering of the current screen.
+     */
+    private final ProfilerSection renderUISection = profiler.getSection("renderUI");
+    /**
+     * The {@link DebugOverlay} drawn over the UI, toggled with the {@link #debugOverlayKeybind}.
+     */
+    private final DebugOverlay debugOverlay = new DebugOverlay(this);
+    /**
+     * The {@link Keybind} toggling the {@link #debugOverlay}, or <code>null</code> if the game didn't opt in with the {@link #getDebugOverlayKey() debug overlay key}.
+     */
+    private Keybind debugOverlayKeybind;
+    /**
+     * The reused builder holding the FPS text, so it isn't concatenated into a new string every frame.
+     */
+    private final CharArray fpsText = new CharArray(16);
 
     @Override
     public final void create() {
-        LOGGER.log("Starting!");
+        boot(false);
+    }
+
+    /**
+     * Creates the game without a window, an OpenGL context or an audio device, for running its simulation with {@link #stepHeadless()}.<br>
+     * Unlike {@link #create()}, this loads all assets at once and finishes initialization right away, so the start screen is ready when this returns.
+     * Textures are only read for their size, audio is silent, the fonts share a built-in font scaled to roughly match the real ones, no batches are created,
+     * and the game data file is neither read nor written.
+     * The {@link HeadlessEnvironment} must be {@link HeadlessEnvironment#install() installed} first, see {@link HeadlessRunner}.
+     */
+    public final void createHeadless() {
+        if (!HeadlessEnvironment.isInstalled())
+            throw new IllegalStateException("Cannot create a headless game before the headless environment is installed");
+        boot(true);
+        assetManager.finishLoading();
+        finishInitialization();
+    }
+
+    /**
+     * Pre-initializes the game and starts loading assets, then calls {@link #initialize()}.
+     * @param headless Whether the game is created {@link #createHeadless() headless}.
+     */
+    private void boot(boolean headless) {
+        this.headless = headless;
+        LOGGER.log(headless ? "Starting headless!" : "Starting!");
         gamepadCursorX = Gdx.graphics.getWidth() / 2;
         gamepadCursorY = Gdx.graphics.getHeight() / 2;
 
@@ -175,45 +296,70 @@ public abstract class AbstractGame extends ApplicationAdapter {
         camera = new OrthographicCamera(2, 2);
         camera.setToOrtho(false, 2, 2);
 
-        LOGGER.log("Initializing render batches...");
         batchRegistry = registryRegistry.register(getGlobalId("batches"), new Registry<>());
-        gameBatch = batchRegistry.register(getGlobalId("game"), new SpriteBatch());
-        uiBatch = batchRegistry.register(getGlobalId("ui"), new SpriteBatch());
-        batchRegistry.register(getGlobalId("background"), new SpriteBatch());
+        if (!headless) {
+            LOGGER.log("Initializing render batches...");
+            gameBatch = batchRegistry.register(getGlobalId("game"), new SpriteBatch());
+            uiBatch = batchRegistry.register(getGlobalId("ui"), new SpriteBatch());
+            batchRegistry.register(getGlobalId("background"), new SpriteBatch());
+        }
 
         LOGGER.log("Building fonts...");
         fontRegistry = registryRegistry.register(getGlobalId("fonts"), new Registry<>());
-        FreeTypeFontGenerator fontGenerator = new FreeTypeFontGenerator(Gdx.files.classpath("Monocraft.ttf"));
-        FreeTypeFontGenerator.FreeTypeFontParameter param = new FreeTypeFontGenerator.FreeTypeFontParameter();
-        param.color = Color.WHITE;
-        param.size = 22;
-        fontRegistry.register(getGlobalId("normal"), fontGenerator.generateFont(param));
-        param.borderColor = Color.BLACK;
-        param.borderWidth = 2;
-        fontRegistry.register(getGlobalId("outlined"), fontGenerator.generateFont(param));
-        param.size = 66;
-        param.borderColor = Color.DARK_GRAY;
-        fontRegistry.register(getGlobalId("mega"), fontGenerator.generateFont(param));
-        fontGenerator.dispose();
+        if (headless) {
+            fontRegistry.register(getGlobalId("normal"), createHeadlessFont(22));
+            fontRegistry.register(getGlobalId("outlined"), createHeadlessFont(22));
+            fontRegistry.register(getGlobalId("mega"), createHeadlessFont(66));
+        } else {
+            FreeTypeFontGenerator fontGenerator = new FreeTypeFontGenerator(Gdx.files.classpath("Monocraft.ttf"));
+            FreeTypeFontGenerator.FreeTypeFontParameter param = new FreeTypeFontGenerator.FreeTypeFontParameter();
+            param.color = Color.WHITE;
+            param.size = 22;
+            fontRegistry.register(getGlobalId("normal"), fontGenerator.generateFont(param));
+            param.borderColor = Color.BLACK;
+            param.borderWidth = 2;
+            fontRegistry.register(getGlobalId("outlined"), fontGenerator.generateFont(param));
+            param.size = 66;
+            param.borderColor = Color.DARK_GRAY;
+            fontRegistry.register(getGlobalId("mega"), fontGenerator.generateFont(param));
+            fontGenerator.dispose();
+        }
 
         LOGGER.log("Loading assets...");
         assetManager = new AssetManager(new LocalFileHandleResolver());
-        assetManager.setLoader(Texture.class, new TextureLoader(new LocalFileHandleResolver()));
-        assetManager.setLoader(com.badlogic.gdx.audio.Sound.class, new SoundLoader(new LocalFileHandleResolver()));
-        assetManager.setLoader(Music.class, new MusicLoader(new LocalFileHandleResolver()));
+        if (headless) {
+            assetManager.setLoader(Texture.class, new HeadlessTextureLoader(new LocalFileHandleResolver()));
+            assetManager.setLoader(com.badlogic.gdx.audio.Sound.class, new SilentAudioLoader<>(new LocalFileHandleResolver(), com.badlogic.gdx.audio.Sound.class));
+            assetManager.setLoader(Music.class, new SilentAudioLoader<>(new LocalFileHandleResolver(), Music.class));
+        } else {
+            assetManager.setLoader(Texture.class, new TextureLoader(new LocalFileHandleResolver()));
+            assetManager.setLoader(com.badlogic.gdx.audio.Sound.class, new SoundLoader(new LocalFileHandleResolver()));
+            assetManager.setLoader(Music.class, new MusicLoader(new LocalFileHandleResolver()));
+        }
         loadAllAssets(Gdx.files.local("textures"));
         loadAllAssets(Gdx.files.local("audio"));
 
         LOGGER.log("Initializing input capturing...");
         input = new Input(this);
-        GamepadInput gamepadInput = new GamepadInput(this);
-        Controllers.addListener(gamepadInput);
-        Gdx.input.setInputProcessor(input);
-        random = new Random(System.currentTimeMillis());
+        gamepadInput = new GamepadInput(this);
+        inputQueue = new InputQueue(this, input, gamepadInput);
+        if (!headless) {
+            Controllers.addListener(gamepadInput);
+            Gdx.input.setInputProcessor(input);
+        }
+        random = new Random(randomSeed);
 
         LOGGER.log("Initializing registries...");
         screenRegistry = registryRegistry.register(getGlobalId("screens"), new Registry<>());
         keybindRegistry = registryRegistry.register(getGlobalId("keybinds"), new Registry<>());
+        keybindTable = new KeybindTable(keybindRegistry);
+        int debugOverlayKey = getDebugOverlayKey();
+        if (debugOverlayKey != Keys.UNKNOWN) {
+            // Both keybinds share the same keys, so rebinding either of them rebinds the toggle on every screen
+            int[] keys = {debugOverlayKey};
+            debugOverlayKeybind = keybindRegistry.register(getGlobalId("debug_overlay"), new Keybind(Keybind.Context.UI, debugOverlay::toggle, keys));
+            keybindRegistry.register(getGlobalId("debug_overlay_game"), new Keybind(Keybind.Context.GAME, debugOverlay::toggle, keys));
+        }
         audioRegistry = registryRegistry.register(getGlobalId("audio"), new Registry<>());
         metadata = registryRegistry.register(getGlobalId("metadata"), new Registry<>());
         gameDataRegistry = registryRegistry.register(getGlobalId("game_data"), new Registry<>());
@@ -224,43 +370,70 @@ public abstract class AbstractGame extends ApplicationAdapter {
         initialize();
     }
 
+    /**
+     * Creates a font for {@link #createHeadless() headless} games from the font built into LibGDX, backed by a texture without image data.
+     * @param size The size of the font to match, in pixels.
+     * @return A new {@link BitmapFont} with roughly the metrics of the real font of that size.
+     */
+    private BitmapFont createHeadlessFont(int size) {
+        BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData(Gdx.files.classpath("com/badlogic/gdx/utils/lsans-15.fnt"), false);
+        data.setScale(size / 15f);
+        return new BitmapFont(data, new TextureRegion(new Texture(new HeadlessTextureData(256, 128))), false);
+    }
+
+    /**
+     * Finishes initialization once all assets are loaded: creates the asset registries, activates the registrars, reads the game data,
+     * and changes to the {@link #getStartScreen() start screen}.
+     */
+    private void finishInitialization() {
+        LOGGER.log("Finishing initialization...");
+        // Initialize asset-related instances
+        loadedAssets = true;
+        LOGGER.log("Loading asset registries...");
+        atlasRegistry = registryRegistry.register(getGlobalId("atlases"), new Registry<>());
+        patchRegistry = registryRegistry.register(getGlobalId("nine_patches"), new Registry<>());
+        cachedTextures = registryRegistry.register(getGlobalId("cached_textures"), new Registry<>());
+        loadAssets();
+        activateRegistrars();
+
+        if (!headless) {
+            // Initialize data file
+            LOGGER.log("Acquiring game data file...");
+            gameDataFile = Gdx.files.local("gameData.json");
+            if (!gameDataFile.exists()) {
+                LOGGER.log("No game data file found. Creating new game data file...");
+                gameDataFile.parent().mkdirs();
+                try {
+                    if (gameDataFile.file().createNewFile()) {
+                        LOGGER.log("Successfully created data file at path " + gameDataFile.file().getAbsolutePath());
+                    }
+                } catch (IOException e) {
+                    LOGGER.log("IOException: " + e.getMessage());
+                }
+                writeGameData();
+                LOGGER.log("Finished creating game data file!");
+            }
+            readGameData();
+        }
+        postInit();
+        changeScreen(getStartScreen());
+        if (!headless && useSimulationThread()) {
+            LOGGER.log("Starting simulation thread...");
+            // Snapshots are recorded right after the ticks, so nothing is interpolated
+            interpolationAlpha = 1;
+            simulationThread = new SimulationThread(this);
+            simulationThread.start();
+        }
+        LOGGER.log("Completed initialization!");
+    }
+
     @Override
     public void render() {
         BitmapFont megaFont = getFont("mega");
 
         if (assetManager.update()) {
-            if (!loadedAssets) {
-                LOGGER.log("Finishing initialization...");
-                // Initialize asset-related instances
-                loadedAssets = true;
-                LOGGER.log("Loading asset registries...");
-                atlasRegistry = registryRegistry.register(getGlobalId("atlases"), new Registry<>());
-                patchRegistry = registryRegistry.register(getGlobalId("nine_patches"), new Registry<>());
-                cachedTextures = registryRegistry.register(getGlobalId("cached_textures"), new Registry<>());
-                loadAssets();
-                activateRegistrars();
-
-                // Initialize data file
-                LOGGER.log("Acquiring game data file...");
-                gameDataFile = Gdx.files.local("gameData.json");
-                if (!gameDataFile.exists()) {
-                    LOGGER.log("No game data file found. Creating new game data file...");
-                    gameDataFile.parent().mkdirs();
-                    try {
-                        if (gameDataFile.file().createNewFile()) {
-                            LOGGER.log("Successfully created data file at path " + gameDataFile.file().getAbsolutePath());
-                        }
-                    } catch (IOException e) {
-                        LOGGER.log("IOException: " + e.getMessage());
-                    }
-                    writeGameData();
-                    LOGGER.log("Finished creating game data file!");
-                }
-                readGameData();
-                postInit();
-                changeScreen(getStartScreen());
-                LOGGER.log("Completed initialization!");
-            }
+            if (!loadedAssets)
+                finishInitialization();
             BitmapFont outlinedFont = getFont("outlined");
 
             // Clear the screen to the background color and update screen objects + the camera
@@ -272,9 +445,16 @@ public abstract class AbstractGame extends ApplicationAdapter {
 
                 Gdx.input.setCursorPosition(gamepadCursorX, gamepadCursorY);
             }
+            profiler.beginFrame();
+            debugOverlay.recordFrame(Gdx.graphics.getDeltaTime());
+            inputQueue.drain();
+            long start = profiler.start();
             preUpdate();
-            if (screen != null && !screen.isPaused()) {
-                screen.update(Gdx.graphics.getDeltaTime());
+            profiler.stop(preUpdateSection, start);
+            if (simulationThread == null && screen != null && !screen.isPaused()) {
+                start = profiler.start();
+                updateScreen(Gdx.graphics.getDeltaTime());
+                profiler.stop(updateSection, start);
             }
             update();
             camera.update();
@@ -284,14 +464,26 @@ public abstract class AbstractGame extends ApplicationAdapter {
 
             // Render the current screen
             gameBatch.begin();
-            screen.renderGame(Gdx.graphics.getDeltaTime());
+            start = profiler.start();
+            if (simulationThread != null) {
+                simulationThread.draw(gameBatch);
+            } else {
+                screen.renderGame(Gdx.graphics.getDeltaTime());
+            }
             gameRender();
             gameBatch.end();
+            profiler.stop(renderGameSection, start);
 
             uiBatch.begin();
+            start = profiler.start();
             screen.renderUI(Gdx.graphics.getDeltaTime());
             uiRender();
-            outlinedFont.draw(uiBatch, "FPS: " + Gdx.graphics.getFramesPerSecond(), 40, Gdx.graphics.getHeight() - outlinedFont.getLineHeight() * 2);
+            profiler.stop(renderUISection, start);
+            fpsText.setLength(0);
+            fpsText.append("FPS: ").append(Gdx.graphics.getFramesPerSecond());
+            outlinedFont.draw(uiBatch, fpsText, 40, Gdx.graphics.getHeight() - outlinedFont.getLineHeight() * 2);
+            if (debugOverlay.isVisible())
+                debugOverlay.render(uiBatch, outlinedFont, 40, Gdx.graphics.getHeight() - outlinedFont.getLineHeight() * 3);
             outlinedFont.setColor(Color.GOLD);
 
             if (screen.isPaused()) {
@@ -306,6 +498,8 @@ public abstract class AbstractGame extends ApplicationAdapter {
             }
 
             uiBatch.end();
+            debugOverlay.endFrame(uiBatch);
+            profiler.endFrame();
         } else {
             ScreenUtils.clear(Color.BLACK);
 
@@ -319,6 +513,196 @@ public abstract class AbstractGame extends ApplicationAdapter {
         }
     }
 
+    /**
+     * Updates the current screen, either once with the frame's delta time or, when using a {@link #useFixedTimestep() fixed timestep},
+     * as many times as there are whole ticks in the accumulated time, up to {@link #getMaxCatchUpTicks()}.
+     * @param deltaTime The time since the last frame was rendered.
+     */
+    private void updateScreen(float deltaTime) {
+        if (!useFixedTimestep()) {
+            interpolationAlpha = 1;
+            tickScreen(screen, deltaTime);
+            return;
+        }
+
+        float tickDelta = getTickDelta();
+        int maxTicks = getMaxCatchUpTicks();
+        tickAccumulator += deltaTime;
+
+        int ticks = 0;
+        while (tickAccumulator >= tickDelta && ticks < maxTicks) {
+            tickScreen(screen, tickDelta);
+            tickAccumulator -= tickDelta;
+            ticks++;
+        }
+
+        // Drop the remaining backlog after a spike instead of spiralling into ever longer frames
+        if (tickAccumulator >= tickDelta)
+            tickAccumulator %= tickDelta;
+        interpolationAlpha = tickAccumulator / tickDelta;
+    }
+
+    /**
+     * Advances a {@link #createHeadless() headless} game by one tick of {@link #getTickDelta()} seconds, without rendering anything.<br>
+     * Calls {@link #preUpdate()}, updates the current screen unless it is paused, then calls {@link #update()}, like a frame of {@link #render()} would.
+     * When {@link #replayInput(InputRecording) replaying input}, the events recorded before this tick are fed into the input handlers first.
+     */
+    public final void stepHeadless() {
+        if (!headless)
+            throw new IllegalStateException("Cannot step a game that wasn't created headless");
+
+        if (inputReplay != null)
+            inputReplay.apply(tick);
+        inputQueue.drain();
+        profiler.beginFrame();
+        long start = profiler.start();
+        preUpdate();
+        profiler.stop(preUpdateSection, start);
+        if (screen != null && !screen.isPaused()) {
+            start = profiler.start();
+            tickScreen(screen, getTickDelta());
+            profiler.stop(updateSection, start);
+        }
+        update();
+        profiler.endFrame();
+    }
+
+    /**
+     * Updates a screen by one simulation tick and counts it, see {@link #getTick()}.
+     * @param screen The screen to update, which is the current screen.
+     * @param deltaTime The length of the tick, in seconds.
+     */
+    void tickScreen(BaseScreen screen, float deltaTime) {
+        screen.update(deltaTime);
+        tick++;
+    }
+
+    /**
+     * Gets the amount of simulation ticks the current screen was updated by so far.<br>
+     * Ticks where the screen is paused aren't counted. Without a {@link #useFixedTimestep() fixed timestep}, every frame is one tick.
+     * @return The index of the next tick.
+     */
+    public final long getTick() {return tick;}
+
+    /**
+     * Starts recording the input events into a new {@link InputRecording}, stamped with the {@link #getTick() tick} they happened before.<br>
+     * To be able to replay the session exactly, recording must start before the first tick, for example in {@link #postInit()},
+     * and the game must use a {@link #useFixedTimestep() fixed timestep} or a {@link #useSimulationThread() simulation thread},
+     * so every tick has the same length as in the replay.
+     * With a simulation thread, events are stamped with the tick that was current when the render thread handled them,
+     * so a tick that was running at that moment can make a replay apply them one tick early.
+     * @return The recording the events are recorded into.
+     */
+    public final InputRecording startRecording() {
+        if (inputRecording != null)
+            throw new IllegalStateException("Input is already being recorded");
+        if (tick > 0)
+            throw new IllegalStateException("Cannot start recording input after the first tick");
+        inputRecording = new InputRecording(randomSeed, getTickRate());
+        return inputRecording;
+    }
+
+    /**
+     * Stops recording the input events and {@link InputRecording#end(long) ends} the recording at the current tick.
+     * @return The finished recording, ready to be {@link InputRecording#writeTo(FileHandle) written} and {@link #replayInput(InputRecording) replayed}.
+     */
+    public final InputRecording stopRecording() {
+        if (inputRecording == null)
+            throw new IllegalStateException("Input is not being recorded");
+        InputRecording recording = inputRecording;
+        inputRecording = null;
+        recording.end(tick);
+        return recording;
+    }
+
+    /**
+     * Gets the {@link InputRecording} the input events are currently recorded into.
+     * @return The active recording, or <code>null</code> if input isn't being recorded.
+     */
+    public final InputRecording getInputRecording() {return inputRecording;}
+
+    /**
+     * Gets the {@link InputQueue} buffering input events until the start of the next update, for example to configure coalescing.
+     * @return The input queue of the game.
+     */
+    public final InputQueue getInputQueue() {return inputQueue;}
+
+    /**
+     * Gets the {@link InputReplay} feeding a recording into this game.
+     * @return The active replay, or <code>null</code> if no input is being {@link #replayInput(InputRecording) replayed}.
+     */
+    public final InputReplay getInputReplay() {return inputReplay;}
+
+    /**
+     * Replays a recorded session into this {@link #createHeadless() headless} game: every {@link #stepHeadless() step} feeds the events recorded before that tick into the input handlers.<br>
+     * The game must be set up like the recorded one, with the recording's {@link #setRandomSeed(long) random seed} set before it was created,
+     * and stepped by the recording's {@link InputRecording#getLength() length}, see {@link HeadlessRunner#replay(java.util.function.Supplier, InputRecording)}.
+     * @param recording The {@link InputRecording} to replay.
+     */
+    public final void replayInput(InputRecording recording) {
+        if (!headless)
+            throw new IllegalStateException("Cannot replay input into a game that wasn't created headless");
+        if (recording.getTickRate() != getTickRate())
+            throw new IllegalArgumentException("Input recording has a tick rate of " + recording.getTickRate() + ", but the game has a tick rate of " + getTickRate());
+        inputReplay = new InputReplay(recording, inputQueue);
+    }
+
+    /**
+     * Checks whether the game was {@link #createHeadless() created headless}.
+     * @return Whether the game runs without a window, an OpenGL context or an audio device.
+     */
+    public final boolean isHeadless() {return headless;}
+
+    /**
+     * Gets how far the current frame lies between the last simulation tick and the next one.<br>
+     * Used to interpolate rendered positions when using a {@link #useFixedTimestep() fixed timestep}, see {@link AbstractGameObject#getRenderX()}.
+     * When using a {@link #useSimulationThread() simulation thread}, the game rendering is recorded right after the ticks, so this is always 1 as well.
+     * @return The interpolation alpha, from 0 to 1. Always 1 when not using a fixed timestep.
+     */
+    public final float getInterpolationAlpha() {return interpolationAlpha;}
+
+    /**
+     * Gets whether the current screen is updated on a {@link #useSimulationThread() simulation thread}.
+     * @return Whether the simulation thread was started.
+     */
+    public final boolean isSimulationThreadRunning() {return simulationThread != null;}
+
+    /**
+     * Gets the length of one simulation tick when using a {@link #useFixedTimestep() fixed timestep}.
+     * @return The length of one tick, in seconds.
+     */
+    public final float getTickDelta() {return 1f / getTickRate();}
+
+    /**
+     * Gets the batch that game rendering should be drawn into, see {@link BaseScreen#renderGame(float)}.<br>
+     * On the {@link #useSimulationThread() simulation thread}, this is the batch recording the frame for the render thread, everywhere else it is the <code>game</code> batch.
+     * @return The {@link Batch} to draw game elements with.
+     */
+    public final Batch getGameRenderBatch() {
+        if (simulationThread != null && Thread.currentThread() == simulationThread)
+            return simulationThread.getRecorder();
+        return gameBatch;
+    }
+
+    /**
+     * Gets the {@link Profiler} timing the phases of every frame: <code>preUpdate</code>, <code>update</code>, <code>collision</code>,
+     * the update and render of every {@link com.github.lordzintick.pixel_krush.core.api.ecs.sys.AbstractSystem system} type, <code>renderGame</code> and <code>renderUI</code>.<br>
+     * It is disabled by default, see {@link Profiler#setEnabled(boolean)}.
+     * @return The game's profiler.
+     */
+    public final Profiler getProfiler() {return profiler;}
+
+    /**
+     * Gets the {@link DebugOverlay} drawn over the UI.
+     * @return The game's debug overlay.
+     */
+    public final DebugOverlay getDebugOverlay() {return debugOverlay;}
+    /**
+     * Gets the {@link Keybind} toggling the {@link DebugOverlay}, which can be {@link Keybind#rebind(int, int) rebound} like any other keybind.
+     * @return The keybind toggling the overlay, or <code>null</code> if the {@link #getDebugOverlayKey() debug overlay key} is {@link Keys#UNKNOWN}.
+     */
+    public final Keybind getDebugOverlayKeybind() {return debugOverlayKeybind;}
+
     @Override
     public void resize(int width, int height) {
         if (width == 0 || height == 0) return;
@@ -329,14 +713,23 @@ public abstract class AbstractGame extends ApplicationAdapter {
     @Override
     public void dispose() {
         LOGGER.log("Shutting down...");
+        if (simulationThread != null) {
+            LOGGER.log("Stopping simulation thread...");
+            simulationThread.shutdown();
+        }
         LOGGER.log("Freeing batches and fonts...");
         batchRegistry.forEachEntry((id, batch) -> batch.dispose());
+        debugOverlay.dispose();
         fontRegistry.forEachEntry((id, font) -> font.dispose());
         LOGGER.log("Releasing cached assets...");
         screenRegistry.forEachEntry((id, screenl) -> screenl.dispose());
+        synchronized (splitTextures) {
+            splitTextures.clear();
+        }
 
         assetManager.dispose();
-        writeGameData();
+        if (!headless)
+            writeGameData();
         LOGGER.log("Deinitialization Complete! Goodbye!");
     }
 
@@ -364,6 +757,23 @@ public abstract class AbstractGame extends ApplicationAdapter {
      */
     public Random getRandom() {return random;}
 
+    /**
+     * Gets the seed the {@link #getRandom() random} instance was created with.
+     * @return The random seed of the game.
+     */
+    public final long getRandomSeed() {return randomSeed;}
+
+    /**
+     * Sets the seed of the {@link #getRandom() random} instance, so the random numbers of the game can be reproduced.<br>
+     * Should be called before the game is created, so the random numbers used during initialization are covered as well.
+     * @param seed The new random seed.
+     */
+    public final void setRandomSeed(long seed) {
+        randomSeed = seed;
+        if (random != null)
+            random.setSeed(seed);
+    }
+
     /**
      * Gets an asset at a specified path, or throws an exception if none is found.
      * @param path The path to get the asset at.
@@ -487,6 +897,47 @@ public abstract class AbstractGame extends ApplicationAdapter {
         }
     }
 
+    /**
+     * Splits a texture into regions of the specified size, caching the result so every later call with the same arguments returns the same array.<br>
+     * Used by {@link TextureArrayComponent}, so spawning many entities with the same spritesheet only splits it once.
+     * Note that the returned arrays and regions are shared by every caller, so neither the arrays nor the regions in them may be modified;
+     * copy a region with {@link TextureRegion#TextureRegion(TextureRegion)} before changing it.<br>
+     * The split is kept until the texture is {@link #releaseSplitTexture(Texture) released} or the game is disposed.
+     * @param texture The {@link Texture} to split.
+     * @param width The width of a region.
+     * @param height The height of a region.
+     * @return The split regions, in the format of {@link TextureRegion#split(Texture, int, int)}.
+     */
+    public final TextureRegion[][] getSplitTexture(Texture texture, int width, int height) {
+        synchronized (splitTextures) {
+            IntMap<TextureRegion[][]> splits = splitTextures.get(texture);
+            if (splits == null) {
+                splits = new IntMap<>(4);
+                splitTextures.put(texture, splits);
+            }
+
+            int key = width << 16 | height & 0xFFFF;
+            TextureRegion[][] regions = splits.get(key);
+            if (regions == null) {
+                regions = TextureRegion.split(texture, width, height);
+                splits.put(key, regions);
+            }
+
+            return regions;
+        }
+    }
+
+    /**
+     * Removes every cached {@link #getSplitTexture(Texture, int, int) split} of a texture, so the texture is not kept alive by the cache.<br>
+     * Call this when unloading or disposing a texture that was split.
+     * @param texture The {@link Texture} whose splits to remove.
+     */
+    public final void releaseSplitTexture(Texture texture) {
+        synchronized (splitTextures) {
+            splitTextures.remove(texture);
+        }
+    }
+
     /**
      * Registers an {@link IGameDataSerializer} with the specified name, allowing it to read/write to the game data file.
      * @param name The name of the data serializer.
@@ -648,6 +1099,11 @@ public abstract class AbstractGame extends ApplicationAdapter {
      * @return A {@link Keybind} with the specified name.
      */
     public Keybind getKeybind(String name) {return keybindRegistry.getOrThrow(getId(name));}
+    /**
+     * Gets the {@link KeybindTable} used to find the keybinds bound to a key, kept up to date with the registered keybinds.
+     * @return The keybind table of the game.
+     */
+    public final KeybindTable getKeybindTable() {return keybindTable;}
 
     /**
      * Gets the current screen the game is on.
@@ -779,6 +1235,45 @@ public abstract class AbstractGame extends ApplicationAdapter {
      */
     protected void postInit() {}
 
+    /**
+     * Used to define whether the current screen is updated in fixed-length ticks instead of once per frame with the frame's delta time.<br>
+     * With a fixed timestep, the simulation does not depend on the frame rate, and a frame spike is split into several ticks instead of one big step.
+     * @return Whether to use a fixed timestep. Defaults to <code>false</code>.
+     */
+    protected boolean useFixedTimestep() {return false;}
+
+    /**
+     * Used to define how many simulation ticks happen per second when using a {@link #useFixedTimestep() fixed timestep}.
+     * @return The tick rate, in ticks per second. Defaults to 60.
+     */
+    protected int getTickRate() {return 60;}
+
+    /**
+     * Used to define the maximum amount of ticks simulated in one frame when using a {@link #useFixedTimestep() fixed timestep}.<br>
+     * Any time left over after that is dropped, so the game slows down instead of freezing when it can't keep up.
+     * @return The maximum amount of ticks per frame. Defaults to 5.
+     */
+    protected int getMaxCatchUpTicks() {return 5;}
+
+    /**
+     * Used to define whether the current screen is updated on its own thread instead of the render thread.<br>
+     * The simulation thread runs fixed-length ticks at the {@link #getTickRate() tick rate} and records the screen's {@link BaseScreen#renderGame(float) game rendering} after them,
+     * which the render thread then replays every frame, so slow ticks and slow frames no longer hold each other up.
+     * Input is still {@link InputQueue#drain() handled} on the render thread, so widget clicks, hovering, scroll listeners and {@link Keybind.Context#UI UI} keybinds run there,
+     * while the actions of {@link Keybind.Context#GAME GAME} keybinds are {@link InputQueue#runGameActions() run} on the simulation thread at the start of its next tick.
+     * UI rendering, input handling and the {@link #update()} hooks happen on the render thread, so anything they share with the simulation must be thread-safe.
+     * @return Whether to use a simulation thread. Defaults to <code>false</code>.
+     */
+    protected boolean useSimulationThread() {return false;}
+
+    /**
+     * Used to define the key that toggles the {@link DebugOverlay}.<br>
+     * The toggle is opt-in: override this to register it as a {@link Keybind} on both {@link Keybind.Context UI and game} screens,
+     * so it goes through the {@link InputQueue} and is recorded and replayed like any other input.
+     * @return The {@link Keys key code} of the toggle key, or {@link Keys#UNKNOWN} to disable the toggle. Defaults to {@link Keys#UNKNOWN}.
+     */
+    protected int getDebugOverlayKey() {return Keys.UNKNOWN;}
+
     /**
      * Called every frame, before the current screen is updated.
      */
@@ -799,9 +1294,10 @@ public abstract class AbstractGame extends ApplicationAdapter {
     protected void uiRender() {}
 
     /**
-     * A wrapper class around {@link Json.Serializable} used to read and write JSON using {@link IGameDataSerializer}s.
+     * A wrapper class around {@link Json.Serializable} used to read and write JSON using {@link IGameDataSerializer}s.<br>
+     * Package-private so the game data benchmarks can drive it without a game file.
      */
-    private static final class GameDataHandler implements Json.Serializable {
+    static final class GameDataHandler implements Json.Serializable {
         /**
          * An {@link ArrayList} storing all of the {@link IGameDataSerializer}s stored in this {@link GameDataHandler}.
          */
@@ -810,7 +1306,7 @@ public abstract class AbstractGame extends ApplicationAdapter {
         /**
          * Constructs a new {@link GameDataHandler}.
          */
-        private GameDataHandler() {}
+        GameDataHandler() {}
 
         /**
          * Clears the serializer list and updates it with the values from the provided registry.
@@ -1,12 +1,26 @@
 package com.github.lordzintick.pixel_krush.core.api;
 
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Pool;
 import com.github.lordzintick.pixel_krush.core.util.IUpdateable;
 
 /**
  * An abstract class representing the base for all physical game objects
  */
-public abstract class AbstractGameObject extends PositionedRenderable implements IUpdateable {
+public abstract class AbstractGameObject extends PositionedRenderable implements IUpdateable, Pool.Poolable {
+    /**
+     * The {@link #collisionLayer} of objects that never collide with anything.
+     */
+    public static final int LAYER_NONE = 0;
+    /**
+     * The {@link #collisionLayer} every object is on by default.
+     */
+    public static final int LAYER_DEFAULT = 1;
+    /**
+     * A {@link #collisionMask} that includes every layer.
+     */
+    public static final int MASK_ALL = -1;
+
     /**
      * The width of the game object.
      */
@@ -30,6 +44,27 @@ public abstract class AbstractGameObject extends PositionedRenderable implements
      * A {@link Rectangle} used for collision detection representing the hitbox of this object.
      */
     public Rectangle collisionRect;
+    /**
+     * A bitfield of the collision layers this object is on.<br>
+     * Objects on {@link #LAYER_NONE} are skipped by collision detection entirely.
+     */
+    public int collisionLayer = LAYER_DEFAULT;
+    /**
+     * A bitfield of the collision layers this object can collide with.
+     * Two objects can only collide if each one's layer is in the other's mask, see {@link #canCollideWith(AbstractGameObject)}.
+     */
+    public int collisionMask = MASK_ALL;
+    /**
+     * The {@link GameObjectHandle generational handle} issued to this object by its screen, or {@link GameObjectHandle#NONE} if it is not in a screen.
+     */
+    long handle = GameObjectHandle.NONE;
+    /**
+     * The position of this object before its last update, used to {@link #getRenderX() interpolate} its rendered position.
+     */
+    public float prevX, /**
+     * The y position of this object before its last update.
+     */
+ prevY;
 
     /**
      * Constructs a new game object in the provided screen.
@@ -50,7 +85,19 @@ public abstract class AbstractGameObject extends PositionedRenderable implements
     }
 
     /**
-     * Called when this object is removed from the game/disposed.
+     * Gets whether this object and another object can collide at all, based on their {@link #collisionLayer layers} and {@link #collisionMask masks}.<br>
+     * This is checked by the broadphase before any rectangle math.
+     * @param other The other object.
+     * @return Whether each object's layer intersects the other object's mask.
+     */
+    public final boolean canCollideWith(AbstractGameObject other) {
+        return (collisionLayer & other.collisionMask) != 0 && (other.collisionLayer & collisionMask) != 0;
+    }
+
+    /**
+     * Called when this object is removed from the game/disposed.<br>
+     * Objects of a type with a {@link GameObjectPool} registered to their screen are {@link #reset() reset} instead when they are removed,
+     * and only disposed once their pool drops them, since they are reused afterward.
      */
     public void dispose() {}
 
@@ -60,6 +107,50 @@ public abstract class AbstractGameObject extends PositionedRenderable implements
      */
     public void collide(AbstractGameObject other) {}
 
+    /**
+     * Called when this object is returned to its {@link GameObjectPool} after leaving the screen, to clear any state that would otherwise leak into its next spawn.
+     * Pooled objects are not {@link #dispose() disposed} when they leave the screen, so this is their release hook.<br>
+     * The default implementation clears the removal state and position, so make sure that this is always called from inheritors!
+     */
+    @Override
+    public void reset() {
+        this.shouldRemove = false;
+        this.x = 0;
+        this.y = 0;
+        this.collisionRect.set(0, 0, width, height);
+        snapInterpolation();
+    }
+
+    /**
+     * Called when this object is taken out of its {@link GameObjectPool} by {@link BaseScreen#spawn(Class)}, before it is added to the screen.<br>
+     * Used to define how a reused object returns to the state of a freshly constructed one. There is no default implementation of this.
+     */
+    public void reinit() {}
+
+    /**
+     * Gets the x position to render this object at, between its position before and after the last update by the game's {@link AbstractGame#getInterpolationAlpha() interpolation alpha}.
+     * @return The interpolated x position. Equal to {@link #x} when the game does not use a fixed timestep.
+     */
+    public final float getRenderX() {
+        return prevX + (x - prevX) * screen.game.getInterpolationAlpha();
+    }
+
+    /**
+     * Gets the y position to render this object at, between its position before and after the last update by the game's {@link AbstractGame#getInterpolationAlpha() interpolation alpha}.
+     * @return The interpolated y position. Equal to {@link #y} when the game does not use a fixed timestep.
+     */
+    public final float getRenderY() {
+        return prevY + (y - prevY) * screen.game.getInterpolationAlpha();
+    }
+
+    /**
+     * Makes the rendered position jump straight to the current position, for example after teleporting this object.
+     */
+    public final void snapInterpolation() {
+        this.prevX = x;
+        this.prevY = y;
+    }
+
     /**
      * Queues this object to be removed from the game.<br>
      * Note that this happens <i>before</i> removal, not <i>after</i> removal like {@link AbstractGameObject#dispose()}.
@@ -71,4 +162,11 @@ public abstract class AbstractGameObject extends PositionedRenderable implements
      * @return Whether this object is queued for removal from the game.
      */
     public final boolean shouldRemove() {return shouldRemove;}
+
+    /**
+     * Gets the {@link GameObjectHandle generational handle} of this object.<br>
+     * Handles are issued when the object enters its screen's {@link BaseScreen#objects object list}, and stop resolving once it leaves it.
+     * @return The handle of this object, or {@link GameObjectHandle#NONE} if it is not in a screen.
+     */
+    public final long getHandle() {return handle;}
 }
@@ -1,24 +1,67 @@
 package com.github.lordzintick.pixel_krush.core.api;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector4;
-import com.github.lordzintick.pixel_krush.core.impl.Particle;
+import com.github.lordzintick.pixel_krush.core.api.ecs.ArchetypeStorage;
+import com.github.lordzintick.pixel_krush.core.api.ecs.Entity;
+import com.github.lordzintick.pixel_krush.core.api.ecs.sys.AbstractWorldSystem;
+import com.github.lordzintick.pixel_krush.core.api.ecs.sys.SystemScheduler;
+import com.github.lordzintick.pixel_krush.core.api.ecs.sys.WorldEffectsSystem;
+import com.github.lordzintick.pixel_krush.core.api.particle.ParticleEngine;
 
 /**
  * An abstract class representing the base of all "game" screens, that is to say they are part of the physical game and not part of any UI menu
  */
 public abstract class AbstractGameScreen extends BaseScreen {
+    /**
+     * The {@link ArchetypeStorage} holding the components of every {@link Entity} in this screen that uses archetype storage.
+     */
+    public final ArchetypeStorage archetypes = new ArchetypeStorage();
+    /**
+     * The {@link SystemScheduler} running this screen's {@link AbstractWorldSystem world systems} over its {@link #archetypes}.
+     */
+    public final SystemScheduler scheduler = new SystemScheduler(archetypes);
+    /**
+     * The {@link ParticleEngine} holding every particle in this screen.
+     */
+    public final ParticleEngine particles = new ParticleEngine();
 
     /**
-     * Constructs a new {@link AbstractGameScreen} with the provided {@link AbstractGame}
+     * Constructs a new {@link AbstractGameScreen} with the provided {@link AbstractGame} and registers the default world systems.
      * @param game The {@link AbstractGame} instance that this screen is for
      */
     public AbstractGameScreen(AbstractGame game) {
         super(game);
+        scheduler.register(game.getId("effects"), new WorldEffectsSystem(this));
+        registerSystems();
     }
 
     /**
+     * Called to register this screen's {@link AbstractWorldSystem world systems} to the {@link #scheduler}.
+     */
+    protected void registerSystems() {}
+
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        particles.update(deltaTime);
+        scheduler.update(deltaTime);
+    }
+
+    @Override
+    public void renderGame(float deltaTime) {
+        super.renderGame(deltaTime);
+        Batch batch = game.getGameRenderBatch();
+        particles.render(batch);
+        scheduler.render(batch, deltaTime);
+    }
+
+    /**
+     * Spawns a particle in this screen's {@link #particles particle engine}.
+     * Particles are drawn after every game object of the screen, see {@link ParticleEngine}.<br>
+     * The velocity is copied, so the same {@link Vector4} can be reused for every particle.
      * @param frames A list of {@link TextureRegion}s representing the frames of animation visually for this particle.
      * @param x The x position of the particle
      * @param y The y position of the particle
@@ -28,12 +71,26 @@ public abstract class AbstractGameScreen extends BaseScreen {
      * @param lifeTime The amount of time, in seconds, that the particle should exist for.
      */
     public void addParticle(TextureRegion[] frames, float x, float y, Vector4 velocity, float scale, float frameTime, float lifeTime) {
-        if (Math.abs(x) >= Gdx.graphics.getWidth() * 2 || Math.abs(y) >= Gdx.graphics.getWidth() * 2 || x == 0 || y == 0) return;
+        addParticle(frames, x, y, velocity.x, velocity.y, velocity.z, velocity.w, scale, frameTime, lifeTime);
+    }
+
+    /**
+     * Spawns a particle in this screen's {@link #particles particle engine}.
+     * Particles are drawn after every game object of the screen, see {@link ParticleEngine}.
+     * @param frames A list of {@link TextureRegion}s representing the frames of animation visually for this particle.
+     * @param x The x position of the particle
+     * @param y The y position of the particle
+     * @param velocityX The horizontal velocity of the particle, per second.
+     * @param velocityY The vertical velocity of the particle, per second.
+     * @param velocityScale The change in scale of the particle, per second.
+     * @param velocityAngle The change in angle of the particle, in degrees per second.
+     * @param scale The scale of the particle from its textures' original size.
+     * @param frameTime The time between frames of animation for the particle, in seconds.
+     * @param lifeTime The amount of time, in seconds, that the particle should exist for.
+     */
+    public void addParticle(TextureRegion[] frames, float x, float y, float velocityX, float velocityY, float velocityScale, float velocityAngle, float scale, float frameTime, float lifeTime) {
+        if (Math.abs(x) >= Gdx.graphics.getWidth() * 2 || Math.abs(y) >= Gdx.graphics.getWidth() * 2) return;
 
-        Particle particle = new Particle(this, frames, scale, frameTime, lifeTime);
-        particle.x = x;
-        particle.y = y;
-        particle.velocity = velocity;
-        objects.add(particle);
+        particles.spawn(frames, x, y, velocityX, velocityY, velocityScale, velocityAngle, scale, frameTime, lifeTime);
     }
 }
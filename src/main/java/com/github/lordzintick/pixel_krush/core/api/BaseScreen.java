@@ -2,16 +2,31 @@ package com.github.lordzintick.pixel_krush.core.api;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.github.lordzintick.pixel_krush.core.api.collision.Broadphase;
+import com.github.lordzintick.pixel_krush.core.api.collision.SpatialHashBroadphase;
+import com.github.lordzintick.pixel_krush.core.api.collision.SweepAndPruneBroadphase;
 import com.github.lordzintick.pixel_krush.core.util.IUpdateable;
 import com.github.lordzintick.pixel_krush.core.util.audio.Sound;
 import com.github.lordzintick.pixel_krush.core.util.Logger;
+import com.github.lordzintick.pixel_krush.core.util.Nullable;
+import com.github.lordzintick.pixel_krush.core.util.profile.ProfilerSection;
+import com.github.lordzintick.pixel_krush.core.util.registry.IllegalRegistrationException;
 import com.github.lordzintick.pixel_krush.core.util.registry.LazyList;
-import com.github.lordzintick.pixel_krush.core.impl.Particle;
 import com.github.lordzintick.pixel_krush.core.ui.api.Widget;
+import com.github.lordzintick.pixel_krush.core.ui.api.WidgetGroup;
+import com.github.lordzintick.pixel_krush.core.ui.api.WidgetIndex;
+import com.github.lordzintick.pixel_krush.core.ui.api.WidgetList;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * An abstract screen class from which {@link AbstractGameScreen} and {@link AbstractUIScreen} extend
@@ -22,11 +37,17 @@ public abstract class BaseScreen implements IUpdateable {
      */
     public final AbstractGame game;
     /**
-     * A list of UI {@link Widget}s on the screen.
+     * A list of UI {@link Widget}s on the screen.<br>
+     * Widgets nested in a {@link WidgetGroup} are not in this list, only the group containing them.
      */
-    public final ArrayList<Widget> widgets = new ArrayList<>();
+    public final WidgetList widgets = new WidgetList();
     /**
-     * A {@link LazyList} of {@link AbstractGameObject}s in the screen.
+     * The {@link WidgetIndex} used to find the {@link #widgets} under the cursor.
+     */
+    private final WidgetIndex widgetIndex = new WidgetIndex(widgets);
+    /**
+     * A {@link LazyList} of {@link AbstractGameObject}s in the screen.<br>
+     * Uses {@link LazyList.Mode#ORDERED} mode, since objects are rendered in list order.
      */
     public final LazyList<AbstractGameObject> objects = new LazyList<>();
     /**
@@ -37,6 +58,46 @@ public abstract class BaseScreen implements IUpdateable {
      * The index of background music it is playing, or -1 if no song is playing.
      */
     private int playingIndex = -1;
+    /**
+     * The {@link Broadphase} used to find colliding objects, or <code>null</code> if it wasn't created yet.
+     */
+    private Broadphase broadphase;
+    /**
+     * A reusable array of the objects that take part in the current collision pass.
+     */
+    private final Array<AbstractGameObject> colliders = new Array<>(false, 64);
+    /**
+     * The consumer passed to the {@link Broadphase}, stored to avoid allocating it every update.
+     */
+    private final BiConsumer<AbstractGameObject, AbstractGameObject> collisionHandler = this::handlePair;
+    /**
+     * The {@link ProfilerSection} timing the collision pass, see {@link AbstractGame#getProfiler()}.
+     */
+    private final ProfilerSection collisionSection;
+    /**
+     * The amount of candidate pairs the {@link Broadphase} reported in the last update.
+     */
+    private int collisionChecks = 0;
+    /**
+     * The object in every slot of the handle table, or <code>null</code> for free slots.
+     */
+    private AbstractGameObject[] handleSlots = new AbstractGameObject[64];
+    /**
+     * The current generation of every slot of the handle table.
+     */
+    private int[] handleGenerations = new int[64];
+    /**
+     * The amount of slots of the handle table that have been used so far.
+     */
+    private int handleSlotCount = 0;
+    /**
+     * The indices of freed slots of the handle table, waiting to be reused.
+     */
+    private final IntArray freeHandleSlots = new IntArray();
+    /**
+     * The {@link GameObjectPool}s registered to this screen, by the type of object they hold.
+     */
+    private final ObjectMap<Class<?>, GameObjectPool<?>> pools = new ObjectMap<>();
 
     /**
      * Constructs a new {@link BaseScreen} with the provided {@link AbstractGame} and adds the initial widgets to it.
@@ -44,6 +105,19 @@ public abstract class BaseScreen implements IUpdateable {
      */
     protected BaseScreen(AbstractGame game) {
         this.game = game;
+        this.collisionSection = game.getProfiler().getSection("collision");
+        objects.setFlushListener(new LazyList.FlushListener<AbstractGameObject>() {
+            @Override
+            public void onAdded(AbstractGameObject value) {
+                issueHandle(value);
+            }
+
+            @Override
+            public void onRemoved(AbstractGameObject value) {
+                releaseHandle(value);
+                freeToPool(value);
+            }
+        });
         addWidgets();
         populateInitialObjects();
     }
@@ -147,52 +221,271 @@ public abstract class BaseScreen implements IUpdateable {
      */
     public boolean isPaused() {return paused;}
 
+    /**
+     * Used to define the {@link Broadphase} this screen uses to find colliding objects.<br>
+     * Called once, before the first collision check. Defaults to a {@link SpatialHashBroadphase} with the default cell size;
+     * screens full of slowly moving objects can return a {@link SweepAndPruneBroadphase} instead.
+     * @return A new broadphase for this screen.
+     */
+    protected Broadphase createBroadphase() {
+        return new SpatialHashBroadphase();
+    }
+
+    /**
+     * Gets the {@link Broadphase} this screen uses to find colliding objects, creating it if it doesn't exist yet.
+     * @return The broadphase of this screen.
+     */
+    public final Broadphase getBroadphase() {
+        if (broadphase == null)
+            broadphase = createBroadphase();
+
+        return broadphase;
+    }
+
+    /**
+     * Replaces the {@link Broadphase} this screen uses to find colliding objects.
+     * @param broadphase The new broadphase.
+     */
+    public final void setBroadphase(Broadphase broadphase) {
+        if (this.broadphase != null)
+            this.broadphase.clear();
+        this.broadphase = broadphase;
+    }
+
     @Override
     public void update(float deltaTime) {
+        colliders.clear();
         Iterator<AbstractGameObject> iterator = objects.iterator();
         while (iterator.hasNext()) {
             AbstractGameObject gameObject = iterator.next();
             if (gameObject.shouldRemove) {
                 iterator.remove();
-                gameObject.dispose();
+                // Pooled objects are reset and reused instead, their pool disposes them once it drops them
+                if (!pools.containsKey(gameObject.getClass()))
+                    gameObject.dispose();
             } else {
+                gameObject.prevX = gameObject.x;
+                gameObject.prevY = gameObject.y;
                 gameObject.update(deltaTime);
 
-                if (!(gameObject instanceof Particle)) {
-                    Iterator<AbstractGameObject> iterator1 = objects.iterator();
-                    while (iterator1.hasNext()) {
-                        AbstractGameObject gameObject1 = iterator1.next();
-
-                        if (gameObject == gameObject1
-                                || Math.abs(gameObject.x - gameObject1.x) > Math.max(gameObject.collisionRect.width * gameObject.scale, gameObject1.collisionRect.width * gameObject1.scale)
-                                || Math.abs(gameObject.y - gameObject1.y) > Math.max(gameObject.collisionRect.height * gameObject.scale, gameObject1.collisionRect.height * gameObject1.scale)
-                                || gameObject1 instanceof Particle) continue;
-                        if (gameObject.collisionRect.overlaps(gameObject1.collisionRect)) {
-                            gameObject.collide(gameObject1);
-                            gameObject1.collide(gameObject);
-                        }
-                    }
-                }
+                if (gameObject.collisionLayer != AbstractGameObject.LAYER_NONE)
+                    colliders.add(gameObject);
             }
         }
 
+        collisionChecks = 0;
+        long start = game.getProfiler().start();
+        getBroadphase().findPairs(colliders, collisionHandler);
+        game.getProfiler().stop(collisionSection, start);
+        colliders.clear();
+
         objects.flush();
     }
 
     /**
-     * Renders all the game objects and other game-related elements to the screen.
+     * Gets the amount of candidate pairs the {@link Broadphase} reported in the last update, each of which was checked with {@link #collides(AbstractGameObject, AbstractGameObject)}.
+     * @return The amount of collision pair checks in the last update.
+     */
+    public int getCollisionChecks() {return collisionChecks;}
+
+    /**
+     * Used to define whether two objects found by the {@link Broadphase} actually collide.<br>
+     * The default implementation checks whether their positions are close enough for their scaled sizes, and whether their collision rectangles overlap.
+     * @param first The first object.
+     * @param second The second object.
+     * @return Whether the two objects collide.
+     */
+    protected boolean collides(AbstractGameObject first, AbstractGameObject second) {
+        return Math.abs(first.x - second.x) <= Math.max(first.collisionRect.width * first.scale, second.collisionRect.width * second.scale)
+                && Math.abs(first.y - second.y) <= Math.max(first.collisionRect.height * first.scale, second.collisionRect.height * second.scale)
+                && first.collisionRect.overlaps(second.collisionRect);
+    }
+
+    /**
+     * Handles a candidate pair found by the {@link Broadphase}, notifying both objects if they {@link #collides(AbstractGameObject, AbstractGameObject) collide}.
+     * @param first The first object.
+     * @param second The second object.
+     */
+    private void handlePair(AbstractGameObject first, AbstractGameObject second) {
+        collisionChecks++;
+        if (collides(first, second)) {
+            first.collide(second);
+            second.collide(first);
+        }
+    }
+
+    /**
+     * Resolves a {@link GameObjectHandle generational handle} to the object it was issued to.
+     * @param handle The handle to resolve.
+     * @param <T> The type of object to resolve to.
+     * @return The object, or <code>null</code> if it has left this screen or is queued for removal.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked") // Callers pick the type they resolve to, like Registry#getOrNull
+    public final <T extends AbstractGameObject> T resolve(long handle) {
+        int index = GameObjectHandle.index(handle);
+        if (index < 0 || index >= handleSlotCount || handleGenerations[index] != GameObjectHandle.generation(handle)) return null;
+
+        AbstractGameObject object = handleSlots[index];
+        return object == null || object.shouldRemove ? null : (T) object;
+    }
+
+    /**
+     * Gets whether a {@link GameObjectHandle generational handle} still refers to a live object in this screen.
+     * @param handle The handle to check.
+     * @return Whether {@link #resolve(long)} would return an object.
+     */
+    public final boolean isValid(long handle) {
+        return resolve(handle) != null;
+    }
+
+    /**
+     * Registers a {@link GameObjectPool} for objects of the provided type, keeping up to 256 free objects.
+     * @param type The exact type of object to pool.
+     * @param factory The factory creating new objects when the pool is empty.
+     * @param <T> The type of object to pool.
+     * @return The registered pool.
+     */
+    public final <T extends AbstractGameObject> GameObjectPool<T> registerPool(Class<T> type, Supplier<T> factory) {
+        return registerPool(new GameObjectPool<>(type, factory, 16, 256));
+    }
+
+    /**
+     * Registers a {@link GameObjectPool}, so objects of its type are returned to it once they leave this screen.<br>
+     * Removed objects of a pooled type are {@link AbstractGameObject#reset() reset} instead of {@link AbstractGameObject#dispose() disposed}.
+     * @param pool The pool to register.
+     * @param <T> The type of object in the pool.
+     * @return The registered pool.
+     */
+    public final <T extends AbstractGameObject> GameObjectPool<T> registerPool(GameObjectPool<T> pool) {
+        if (pools.containsKey(pool.type))
+            throw new IllegalRegistrationException("A pool for " + pool.type.getSimpleName() + " is already registered!");
+
+        pools.put(pool.type, pool);
+        return pool;
+    }
+
+    /**
+     * Gets the {@link GameObjectPool} registered for a type of object.
+     * @param type The exact type of object.
+     * @param <T> The type of object.
+     * @return The registered pool, or <code>null</code> if there is none.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked") // registerPool only ever maps a type to a pool of that type
+    public final <T extends AbstractGameObject> GameObjectPool<T> getPool(Class<T> type) {
+        return (GameObjectPool<T>) pools.get(type);
+    }
+
+    /**
+     * Takes an object out of the {@link GameObjectPool} registered for its type, {@link AbstractGameObject#reinit() reinitializes} it and queues it to be added to this screen.
+     * @param type The exact type of object to spawn.
+     * @param <T> The type of object to spawn.
+     * @return The spawned object.
+     */
+    public final <T extends AbstractGameObject> T spawn(Class<T> type) {
+        GameObjectPool<T> pool = getPool(type);
+        if (pool == null)
+            throw new IllegalArgumentException("No pool is registered for " + type.getSimpleName());
+
+        T object = pool.obtain();
+        object.reinit();
+        return objects.add(object);
+    }
+
+    /**
+     * Returns an object that left the {@link #objects} list to the {@link GameObjectPool} registered for its type, if there is one.
+     * @param object The object to free.
+     */
+    private void freeToPool(AbstractGameObject object) {
+        GameObjectPool<?> pool = pools.get(object.getClass());
+        if (pool != null)
+            freeToPool(pool, object);
+    }
+
+    /**
+     * Returns an object to a pool, casting it to the type of object in the pool.
+     * @param pool The {@link GameObjectPool} to return the object to.
+     * @param object The object to free, which must be of the pool's type.
+     * @param <T> The type of object in the pool.
+     */
+    private static <T extends AbstractGameObject> void freeToPool(GameObjectPool<T> pool, AbstractGameObject object) {
+        pool.free(pool.type.cast(object));
+    }
+
+    /**
+     * Puts an object that entered the {@link #objects} list into a slot of the handle table, reusing freed slots first.
+     * @param object The object to issue a handle to.
+     */
+    private void issueHandle(AbstractGameObject object) {
+        int index;
+        if (freeHandleSlots.size > 0) {
+            index = freeHandleSlots.pop();
+        } else {
+            index = handleSlotCount++;
+            if (index == handleSlots.length) {
+                handleSlots = Arrays.copyOf(handleSlots, index * 2);
+                handleGenerations = Arrays.copyOf(handleGenerations, index * 2);
+            }
+            handleGenerations[index] = 1;
+        }
+
+        handleSlots[index] = object;
+        object.handle = GameObjectHandle.of(index, handleGenerations[index]);
+        // Objects are positioned before they are added, so they shouldn't be interpolated from wherever they were before
+        object.snapInterpolation();
+    }
+
+    /**
+     * Frees the slot of an object that left the {@link #objects} list, invalidating every handle to it.
+     * @param object The object whose handle to release.
+     */
+    private void releaseHandle(AbstractGameObject object) {
+        if (object.handle == GameObjectHandle.NONE) return;
+
+        int index = GameObjectHandle.index(object.handle);
+        handleSlots[index] = null;
+        // Generation 0 is never issued, so GameObjectHandle.NONE can never resolve
+        if (++handleGenerations[index] == 0) handleGenerations[index] = 1;
+        freeHandleSlots.add(index);
+        object.handle = GameObjectHandle.NONE;
+    }
+
+    /**
+     * Renders all the game objects and other game-related elements to the screen.<br>
+     * Overrides should draw with {@link AbstractGame#getGameRenderBatch()}, as this may be called on the {@link AbstractGame#useSimulationThread() simulation thread}.
      * @param deltaTime The time since the last frame was rendered.
      */
     public void renderGame(float deltaTime) {
-        objects.forEach(gameObject -> gameObject.render(game.getBatch("game"), deltaTime));
+        Batch batch = game.getGameRenderBatch();
+        objects.forEach(gameObject -> gameObject.render(batch, deltaTime));
     }
 
     /**
-     * Renders all the UI widgets and other UI-related elements to the screen.
+     * Gets the {@link WidgetIndex} used to find the widgets under the cursor and track which of them are hovered.
+     * @return The widget index of this screen.
+     */
+    public final WidgetIndex getWidgetIndex() {return widgetIndex;}
+
+    /**
+     * Marks the layout of the widgets as changed, so the {@link WidgetIndex} is rebuilt before the next lookup.<br>
+     * Called by {@link Widget#invalidateLayout()}, which should be preferred after moving or resizing a widget through its fields directly,
+     * since it also lays out the children of a {@link WidgetGroup} again. One of them must be called after such writes, since the index doesn't check the bounds of the widgets.
+     */
+    public final void invalidateWidgetLayout() {widgetIndex.invalidate();}
+
+    /**
+     * Renders all the UI widgets and other UI-related elements to the screen.<br>
+     * Widgets whose layout was {@link Widget#invalidateLayout() invalidated} are {@link Widget#validateLayout() laid out} again first.
      * @param deltaTime The time since the last frame was rendered.
      */
     public void renderUI(float deltaTime) {
-        widgets.forEach(widget -> widget.render(game.getBatch("ui"), deltaTime));
+        SpriteBatch batch = game.getBatch("ui");
+        for (int i = 0; i < widgets.size(); i++) {
+            Widget widget = widgets.get(i);
+            widget.validateLayout();
+            widget.render(batch, deltaTime);
+        }
     }
 
     /**
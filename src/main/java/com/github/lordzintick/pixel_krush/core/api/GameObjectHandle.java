@@ -0,0 +1,56 @@
+package com.github.lordzintick.pixel_krush.core.api;
+
+/**
+ * A utility class for working with generational handles to {@link AbstractGameObject}s.<br>
+ * A handle is a <code>long</code> packing the index of a slot in a {@link BaseScreen}'s handle table together with the generation of that slot.
+ * Every time an object leaves the screen, the generation of its slot is increased, so old handles to it stop resolving even once the slot is reused.<br>
+ * Prefer storing handles over direct references to objects that can be removed, and resolve them with {@link BaseScreen#resolve(long)} when needed.
+ */
+public final class GameObjectHandle {
+    /**
+     * A handle that never resolves to an object.
+     */
+    public static final long NONE = 0L;
+
+    /**
+     * A <code>private</code> constructor, since this class only holds static helpers.
+     */
+    private GameObjectHandle() {}
+
+    /**
+     * Packs a slot index and generation into a handle.
+     * @param index The index of the slot.
+     * @param generation The generation of the slot.
+     * @return The packed handle.
+     */
+    static long of(int index, int generation) {
+        return ((long) generation << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the slot index of a handle.
+     * @param handle The handle.
+     * @return The index of the slot the handle refers to.
+     */
+    public static int index(long handle) {
+        return (int) handle;
+    }
+
+    /**
+     * Gets the generation of a handle.
+     * @param handle The handle.
+     * @return The generation of the slot at the time the handle was issued.
+     */
+    public static int generation(long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    /**
+     * Formats a handle for debugging.
+     * @param handle The handle.
+     * @return A string in the format <code>index:generation</code>.
+     */
+    public static String toString(long handle) {
+        return index(handle) + ":" + generation(handle);
+    }
+}
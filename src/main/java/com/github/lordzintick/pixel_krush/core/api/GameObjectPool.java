@@ -0,0 +1,52 @@
+package com.github.lordzintick.pixel_krush.core.api;
+
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.function.Supplier;
+
+/**
+ * A {@link Pool} of {@link AbstractGameObject}s of one type, registered to a {@link BaseScreen} with {@link BaseScreen#registerPool(Class, Supplier)}.<br>
+ * Objects obtained through {@link BaseScreen#spawn(Class)} are {@link AbstractGameObject#reinit() reinitialized} and added to the screen,
+ * and once they leave the screen's {@link BaseScreen#objects object list}, they are {@link AbstractGameObject#reset() reset} and returned to their pool,
+ * so spawning objects of the same type over and over does not allocate.<br>
+ * Pooled objects are only {@link AbstractGameObject#dispose() disposed} once the pool drops them, because it is full or {@link #clear() cleared}.
+ * @param <T> The type of object in the pool.
+ */
+public class GameObjectPool<T extends AbstractGameObject> extends Pool<T> {
+    /**
+     * The type of object in this pool.
+     */
+    public final Class<T> type;
+    /**
+     * The factory creating new objects when the pool is empty.
+     */
+    private final Supplier<T> factory;
+
+    /**
+     * Constructs a new {@link GameObjectPool} with the provided initial capacity and maximum.
+     * @param type The type of object in the pool.
+     * @param factory The factory creating new objects when the pool is empty.
+     * @param initialCapacity The initial capacity of the free object array.
+     * @param max The maximum amount of free objects to keep. Objects freed while the pool is full are dropped.
+     */
+    public GameObjectPool(Class<T> type, Supplier<T> factory, int initialCapacity, int max) {
+        super(initialCapacity, max);
+        this.type = type;
+        this.factory = factory;
+    }
+
+    @Override
+    protected T newObject() {
+        T object = factory.get();
+        if (object.getClass() != type)
+            throw new IllegalStateException("Pool factory for " + type.getSimpleName() + " created an object of type " + object.getClass().getSimpleName());
+
+        return object;
+    }
+
+    @Override
+    protected void discard(T object) {
+        super.discard(object);
+        object.dispose();
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.lordzintick.pixel_krush.core.api;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.github.lordzintick.pixel_krush.core.api.render.RenderSnapshot;
+import com.github.lordzintick.pixel_krush.core.api.render.SnapshotBatch;
+import com.github.lordzintick.pixel_krush.core.util.profile.ProfilerSection;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A thread that updates the current screen of an {@link AbstractGame} in fixed-length ticks, separately from the render thread.<br>
+ * After every batch of ticks, the screen's {@link BaseScreen#renderGame(float) game rendering} is recorded into a {@link RenderSnapshot} through a {@link SnapshotBatch}.
+ * Two snapshots are used: one is recorded into while the other is replayed by the render thread, and they are swapped when a recording finishes.
+ * This way, a slow tick never stalls a frame, and a slow frame never stalls the simulation.<br>
+ * Input is handled on the render thread, but every tick starts by {@link com.github.lordzintick.pixel_krush.core.util.input.InputQueue#runGameActions() running}
+ * the actions of the {@link com.github.lordzintick.pixel_krush.core.util.input.Keybind.Context#GAME GAME} keybinds pressed since the last tick, so they run between ticks.
+ * Used when the game {@link AbstractGame#useSimulationThread() uses a simulation thread}.
+ */
+final class SimulationThread extends Thread {
+    /**
+     * The game whose current screen is simulated.
+     */
+    private final AbstractGame game;
+    /**
+     * The {@link SnapshotBatch} the screen is rendered into on this thread.
+     */
+    private final SnapshotBatch recorder = new SnapshotBatch();
+    /**
+     * The {@link ProfilerSection} timing the update of the current screen.
+     */
+    private final ProfilerSection updateSection;
+    /**
+     * The lock guarding the {@link #front} snapshot.
+     */
+    private final Object lock = new Object();
+    /**
+     * The last completely recorded snapshot, replayed by the render thread.
+     */
+    private RenderSnapshot front = new RenderSnapshot();
+    /**
+     * The snapshot currently being recorded into.
+     */
+    private RenderSnapshot back = new RenderSnapshot();
+    /**
+     * Whether this thread should keep simulating.
+     */
+    private volatile boolean running = true;
+    /**
+     * The exception or error that stopped this thread, or <code>null</code> if there is none.
+     */
+    private volatile Throwable failure;
+
+    /**
+     * Constructs a new {@link SimulationThread} for the provided game.
+     * @param game The {@link AbstractGame} whose current screen to simulate.
+     */
+    SimulationThread(AbstractGame game) {
+        super(AbstractGame.ENGINE_NAME + " Simulation");
+        this.game = game;
+        this.updateSection = game.getProfiler().getSection("update");
+        setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+        float tickDelta = game.getTickDelta();
+        long tickNanos = (long) (1_000_000_000L / (double) game.getTickRate());
+        int maxTicks = game.getMaxCatchUpTicks();
+        long nextTick = System.nanoTime();
+
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                if (now < nextTick) {
+                    LockSupport.parkNanos(nextTick - now);
+                    continue;
+                }
+
+                int ticks = 0;
+                while (now >= nextTick && ticks < maxTicks) {
+                    game.getInputQueue().runGameActions();
+                    BaseScreen screen = game.getScreen();
+                    if (screen != null && !screen.isPaused()) {
+                        long start = game.getProfiler().start();
+                        game.tickScreen(screen, tickDelta);
+                        game.getProfiler().stop(updateSection, start);
+                    }
+                    nextTick += tickNanos;
+                    ticks++;
+                }
+
+                // Drop the remaining backlog after a spike instead of spiralling into ever longer batches of ticks
+                if (now >= nextTick)
+                    nextTick = now + tickNanos;
+                record(ticks * tickDelta);
+            }
+        } catch (Throwable e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Records the current screen's game rendering into the back snapshot and publishes it.
+     * @param deltaTime The time simulated since the last recording, which is the length of all ticks of the last batch, in seconds.
+     */
+    private void record(float deltaTime) {
+        BaseScreen screen = game.getScreen();
+        back.clear();
+        if (screen != null) {
+            recorder.setTarget(back);
+            recorder.begin();
+            try {
+                screen.renderGame(deltaTime);
+            } finally {
+                recorder.end();
+            }
+        }
+
+        synchronized (lock) {
+            RenderSnapshot published = back;
+            back = front;
+            front = published;
+        }
+    }
+
+    /**
+     * Replays the last completely recorded snapshot into a batch.<br>
+     * Rethrows the exception or error that stopped this thread, if there is one, so it isn't silently swallowed.
+     * @param batch The {@link Batch} to replay into. Must be between {@link Batch#begin()} and {@link Batch#end()}.
+     */
+    void draw(Batch batch) {
+        if (failure != null)
+            throw new IllegalStateException("The simulation thread has stopped", failure);
+
+        synchronized (lock) {
+            front.draw(batch);
+        }
+    }
+
+    /**
+     * Gets the batch the current screen is rendered into on this thread.
+     * @return The {@link SnapshotBatch} recording the screen's game rendering.
+     */
+    Batch getRecorder() {return recorder;}
+
+    /**
+     * Stops this thread and waits for its current ticks to finish.
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(this);
+        try {
+            join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
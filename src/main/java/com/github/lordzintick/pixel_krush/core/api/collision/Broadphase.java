@@ -0,0 +1,28 @@
+package com.github.lordzintick.pixel_krush.core.api.collision;
+
+import com.badlogic.gdx.utils.Array;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameObject;
+import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
+
+import java.util.function.BiConsumer;
+
+/**
+ * An interface representing the first, coarse step of the collision detection in a {@link BaseScreen}.<br>
+ * A broadphase narrows all objects in the screen down to the pairs that <i>might</i> collide, based on their {@link AbstractGameObject#collisionRect collision rectangles},
+ * so the screen only has to run the exact overlap test on those instead of on every possible pair.
+ */
+public interface Broadphase {
+    /**
+     * Updates this broadphase with the current collision rectangles of the provided objects, then runs a consumer once for every pair of objects that might collide.<br>
+     * Every pair is reported exactly once, in no particular order within the pair,
+     * and pairs that {@link AbstractGameObject#canCollideWith(AbstractGameObject) can't collide} because of their layers and masks are never reported.
+     * @param objects The objects to check for collisions. Must not contain the same object twice.
+     * @param pairConsumer The consumer to run for every candidate pair.
+     */
+    void findPairs(Array<AbstractGameObject> objects, BiConsumer<AbstractGameObject, AbstractGameObject> pairConsumer);
+
+    /**
+     * Clears all objects from this broadphase, releasing the references it holds to them.
+     */
+    void clear();
+}
@@ -0,0 +1,144 @@
+package com.github.lordzintick.pixel_krush.core.api.collision;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameObject;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link Broadphase} that sorts objects into the cells of a uniform grid, and only reports pairs of objects that share a cell.<br>
+ * The grid is rebuilt every time it is queried, but the cell arrays are reused between updates, so it doesn't allocate once it has warmed up.<br>
+ * Works best when the {@link #cellSize} is about the size of a typical object; much larger objects are put into many cells.
+ */
+public class SpatialHashBroadphase implements Broadphase {
+    /**
+     * The default {@link #cellSize}.
+     */
+    public static final float DEFAULT_CELL_SIZE = 64f;
+
+    /**
+     * The width and height of every cell in the grid.
+     */
+    public final float cellSize;
+    /**
+     * The objects in every non-empty cell, by {@link #key(int, int) cell key}.
+     */
+    private final LongMap<Array<AbstractGameObject>> cells = new LongMap<>();
+    /**
+     * The keys of the non-empty cells, in the order they were filled.
+     */
+    private final LongArray usedKeys = new LongArray(false, 64);
+    /**
+     * The cell arrays of the non-empty cells, in the same order as the {@link #usedKeys}.
+     */
+    private final Array<Array<AbstractGameObject>> usedCells = new Array<>(false, 64);
+    /**
+     * Cleared cell arrays waiting to be reused.
+     */
+    private final Array<Array<AbstractGameObject>> freeCells = new Array<>(false, 64);
+
+    /**
+     * Constructs a new {@link SpatialHashBroadphase} with the {@link #DEFAULT_CELL_SIZE default cell size}.
+     */
+    public SpatialHashBroadphase() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link SpatialHashBroadphase} with the provided cell size.
+     * @param cellSize The width and height of every cell in the grid.
+     */
+    public SpatialHashBroadphase(float cellSize) {
+        if (cellSize <= 0)
+            throw new IllegalArgumentException("Cell size must be positive, got " + cellSize);
+        this.cellSize = cellSize;
+    }
+
+    @Override
+    public void findPairs(Array<AbstractGameObject> objects, BiConsumer<AbstractGameObject, AbstractGameObject> pairConsumer) {
+        clear();
+        for (int i = 0; i < objects.size; i++) {
+            insert(objects.get(i));
+        }
+
+        for (int c = 0; c < usedCells.size; c++) {
+            long key = usedKeys.get(c);
+            int cellX = (int) (key >> 32);
+            int cellY = (int) key;
+            Array<AbstractGameObject> cell = usedCells.get(c);
+
+            for (int i = 0; i < cell.size; i++) {
+                AbstractGameObject first = cell.get(i);
+                for (int j = i + 1; j < cell.size; j++) {
+                    AbstractGameObject second = cell.get(j);
+                    if (!first.canCollideWith(second)) continue;
+                    // Objects spanning several cells share more than one of them, so only report the pair from the lowest shared cell
+                    if (Math.max(minCell(first.collisionRect.x), minCell(second.collisionRect.x)) == cellX
+                            && Math.max(minCell(first.collisionRect.y), minCell(second.collisionRect.y)) == cellY) {
+                        pairConsumer.accept(first, second);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < usedCells.size; i++) {
+            Array<AbstractGameObject> cell = usedCells.get(i);
+            cell.clear();
+            freeCells.add(cell);
+        }
+
+        usedCells.clear();
+        usedKeys.clear();
+        cells.clear();
+    }
+
+    /**
+     * Adds an object to every cell its collision rectangle touches.
+     * @param object The object to add.
+     */
+    private void insert(AbstractGameObject object) {
+        Rectangle rect = object.collisionRect;
+        int minX = minCell(rect.x), maxX = minCell(rect.x + rect.width);
+        int minY = minCell(rect.y), maxY = minCell(rect.y + rect.height);
+
+        for (int cellX = minX; cellX <= maxX; cellX++) {
+            for (int cellY = minY; cellY <= maxY; cellY++) {
+                long key = key(cellX, cellY);
+                Array<AbstractGameObject> cell = cells.get(key);
+                if (cell == null) {
+                    cell = freeCells.size > 0 ? freeCells.pop() : new Array<>(false, 8);
+                    cells.put(key, cell);
+                    usedKeys.add(key);
+                    usedCells.add(cell);
+                }
+
+                cell.add(object);
+            }
+        }
+    }
+
+    /**
+     * Gets the cell coordinate a world coordinate lies in.
+     * @param coordinate The world coordinate.
+     * @return The coordinate of the cell containing it.
+     */
+    private int minCell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * Packs two cell coordinates into a single key.
+     * @param cellX The x coordinate of the cell.
+     * @param cellY The y coordinate of the cell.
+     * @return The key of the cell.
+     */
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.lordzintick.pixel_krush.core.api.collision;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameObject;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link Broadphase} that keeps all objects sorted by the left edge of their collision rectangle, and sweeps over that list
+ * to only report pairs whose rectangles overlap on the x axis (and on the y axis).<br>
+ * The sorted list is kept between updates and fixed up with an insertion sort, so when objects only move a little every frame,
+ * it is already almost sorted and updating it is close to linear in the amount of objects.<br>
+ * Works best for scenes of many slowly moving objects, and does not depend on a cell size like {@link SpatialHashBroadphase}.
+ */
+public class SweepAndPruneBroadphase implements Broadphase {
+    /**
+     * All tracked objects, sorted by the x coordinate of their collision rectangle as of the last update.
+     */
+    private final Array<AbstractGameObject> sorted = new Array<>(true, 64, AbstractGameObject[]::new);
+    /**
+     * The objects that are currently in the {@link #sorted} list.
+     */
+    private final ObjectSet<AbstractGameObject> tracked = new ObjectSet<>();
+    /**
+     * A reusable set of the objects passed to the current update.
+     */
+    private final ObjectSet<AbstractGameObject> present = new ObjectSet<>();
+
+    @Override
+    public void findPairs(Array<AbstractGameObject> objects, BiConsumer<AbstractGameObject, AbstractGameObject> pairConsumer) {
+        sync(objects);
+        sort();
+
+        AbstractGameObject[] items = sorted.items;
+        int size = sorted.size;
+        for (int i = 0; i < size; i++) {
+            Rectangle first = items[i].collisionRect;
+            float maxX = first.x + first.width;
+
+            for (int j = i + 1; j < size; j++) {
+                Rectangle second = items[j].collisionRect;
+                // Every following object starts even further right, so none of them can overlap either
+                if (second.x > maxX) break;
+                if (items[i].canCollideWith(items[j])
+                        && second.y <= first.y + first.height && first.y <= second.y + second.height)
+                    pairConsumer.accept(items[i], items[j]);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        sorted.clear();
+        tracked.clear();
+        present.clear();
+    }
+
+    /**
+     * Removes objects that are no longer passed to this broadphase from the sorted list, and appends new ones to its end.
+     * @param objects The objects of the current update.
+     */
+    private void sync(Array<AbstractGameObject> objects) {
+        present.clear();
+        for (int i = 0; i < objects.size; i++) {
+            present.add(objects.get(i));
+        }
+
+        int kept = 0;
+        AbstractGameObject[] items = sorted.items;
+        for (int i = 0; i < sorted.size; i++) {
+            AbstractGameObject object = items[i];
+            if (present.contains(object)) {
+                items[kept++] = object;
+            } else {
+                tracked.remove(object);
+            }
+        }
+        sorted.truncate(kept);
+
+        for (int i = 0; i < objects.size; i++) {
+            AbstractGameObject object = objects.get(i);
+            if (tracked.add(object))
+                sorted.add(object);
+        }
+
+        present.clear();
+    }
+
+    /**
+     * Insertion sorts the objects by the x coordinate of their collision rectangle.<br>
+     * Since the list was sorted on the last update, every object usually only moves a few places, if at all.
+     */
+    private void sort() {
+        AbstractGameObject[] items = sorted.items;
+        for (int i = 1; i < sorted.size; i++) {
+            AbstractGameObject object = items[i];
+            float x = object.collisionRect.x;
+            int j = i - 1;
+            while (j >= 0 && items[j].collisionRect.x > x) {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = object;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs;
+
+import com.github.lordzintick.pixel_krush.core.api.ecs.comp.AbstractComponent;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+
+import java.util.Arrays;
+
+/**
+ * A group of {@link Entity Entities} that all have exactly the same set of components.<br>
+ * Components are stored in columns, one array per component ID, where every row is one entity. This lets a system walk over
+ * a single component of every entity in the archetype in one tight loop instead of being called once per entity.<br>
+ * Archetypes are created and filled by an {@link ArchetypeStorage}; entities only end up here if they opt in with {@link Entity#useArchetypeStorage()}.
+ */
+public final class Archetype {
+    /**
+     * The initial amount of rows an archetype can hold before its columns have to grow.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The sorted {@link Identifier#getIndex() indices} of the component IDs in this archetype.
+     */
+    private final int[] signature;
+    /**
+     * The component IDs in this archetype, in the same order as the {@link #signature}.
+     */
+    private final Identifier[] componentIds;
+    /**
+     * The component columns, indexed by column and then by row.
+     */
+    private final AbstractComponent[][] columns;
+    /**
+     * The component views of the entities in this archetype, indexed by row.
+     */
+    private ArchetypeComponentView[] views;
+    /**
+     * The amount of rows (entities) currently in this archetype.
+     */
+    private int size = 0;
+
+    /**
+     * Constructs a new, empty {@link Archetype} with the provided signature.
+     * @param signature The sorted {@link Identifier#getIndex() indices} of the component IDs in the archetype.
+     */
+    Archetype(int[] signature) {
+        this.signature = signature;
+        this.componentIds = new Identifier[signature.length];
+        for (int i = 0; i < signature.length; i++) {
+            componentIds[i] = Identifier.byIndex(signature[i]);
+        }
+
+        this.columns = new AbstractComponent[signature.length][INITIAL_CAPACITY];
+        this.views = new ArchetypeComponentView[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Gets the amount of entities in this archetype.
+     * @return The amount of rows in this archetype.
+     */
+    public int size() {return size;}
+
+    /**
+     * Gets the amount of components every entity in this archetype has.
+     * @return The amount of columns in this archetype.
+     */
+    public int componentCount() {return signature.length;}
+
+    /**
+     * Gets the component ID stored in a certain column.
+     * @param column The column to get the component ID of.
+     * @return The {@link Identifier} of the components stored in the column.
+     */
+    public Identifier getComponentId(int column) {return componentIds[column];}
+
+    /**
+     * Gets the column a certain component ID is stored in.
+     * @param id The {@link Identifier} of the component to find.
+     * @return The column of the component, or a negative number if this archetype does not have the component.
+     */
+    public int columnOf(Identifier id) {
+        return Arrays.binarySearch(signature, id.getIndex());
+    }
+
+    /**
+     * Gets whether the entities in this archetype have a component with the provided ID.
+     * @param id The {@link Identifier} of the component to check for.
+     * @return Whether this archetype has a column for the component.
+     */
+    public boolean has(Identifier id) {
+        return columnOf(id) >= 0;
+    }
+
+    /**
+     * Gets the raw array backing a column.<br>
+     * Only the first {@link #size()} entries are valid, and the array may be replaced when entities are added, so don't hold on to it across frames.
+     * @param column The column to get.
+     * @return The array of components stored in the column.
+     */
+    public AbstractComponent[] column(int column) {
+        return columns[column];
+    }
+
+    /**
+     * Gets a single component from this archetype.
+     * @param column The column of the component.
+     * @param row The row of the entity.
+     * @param <T> The type of component to get.
+     * @return The component at the provided column and row.
+     */
+    @SuppressWarnings("unchecked") // Callers pick the type of the column they read, like Registry#getOrNull
+    public <T extends AbstractComponent> T get(int column, int row) {
+        return (T) columns[column][row];
+    }
+
+    /**
+     * Gets the entity stored in a certain row.
+     * @param row The row of the entity.
+     * @return The {@link Entity} at the provided row.
+     */
+    public Entity getEntity(int row) {
+        return views[row].parent;
+    }
+
+    /**
+     * Gets the signature of this archetype.
+     * @return The sorted {@link Identifier#getIndex() indices} of the component IDs in this archetype.
+     */
+    int[] signature() {return signature;}
+
+    /**
+     * Gets whether this archetype has every component in the provided signature.
+     * @param required A sorted array of {@link Identifier#getIndex() identifier indices}.
+     * @return Whether the required signature is a subset of this archetype's signature.
+     */
+    boolean matches(int[] required) {
+        int i = 0;
+        for (int index : required) {
+            while (i < signature.length && signature[i] < index) i++;
+            if (i == signature.length || signature[i] != index) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Sets a single component in this archetype.
+     * @param column The column of the component.
+     * @param row The row of the entity.
+     * @param component The new component.
+     */
+    void set(int column, int row, AbstractComponent component) {
+        columns[column][row] = component;
+    }
+
+    /**
+     * Adds a new, empty row for the provided entity.<br>
+     * The caller is responsible for filling in every column of the new row.
+     * @param view The component view of the entity to add.
+     * @return The row of the added entity.
+     */
+    int add(ArchetypeComponentView view) {
+        if (size == views.length) {
+            int capacity = size * 2;
+            views = Arrays.copyOf(views, capacity);
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], capacity);
+            }
+        }
+
+        views[size] = view;
+        return size++;
+    }
+
+    /**
+     * Removes a row by moving the last row into its place.
+     * @param row The row to remove.
+     */
+    void remove(int row) {
+        int last = --size;
+        if (row != last) {
+            views[row] = views[last];
+            views[row].row = row;
+            for (AbstractComponent[] column : columns) {
+                column[row] = column[last];
+            }
+        }
+
+        views[last] = null;
+        for (AbstractComponent[] column : columns) {
+            column[last] = null;
+        }
+    }
+}
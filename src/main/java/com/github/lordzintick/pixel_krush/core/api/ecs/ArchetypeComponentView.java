@@ -0,0 +1,262 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.github.lordzintick.pixel_krush.core.api.ecs.comp.AbstractComponent;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+import com.github.lordzintick.pixel_krush.core.util.Nullable;
+import com.github.lordzintick.pixel_krush.core.util.Pair;
+import com.github.lordzintick.pixel_krush.core.util.registry.IllegalRegistrationException;
+import com.github.lordzintick.pixel_krush.core.util.registry.Registry;
+import com.github.lordzintick.pixel_krush.core.util.registry.RegistryError;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * The {@link Entity#components} registry of an entity that uses {@link Entity#useArchetypeStorage() archetype storage}.<br>
+ * Until the entity is attached to an {@link ArchetypeStorage}, its components are kept in two small pending arrays; afterwards they live in the columns of its {@link Archetype}.
+ * Either way, this class keeps the whole {@link Registry} API working as a view over that storage.<br>
+ * Methods that have to return the backing map's collections copy the components into the (otherwise unused) map first.
+ * The copy is kept until the components change, so only the first of those calls after a change pays for it; still, prefer {@link #getOrNull(Identifier)} and {@link #forEachEntry(BiConsumer)}.
+ */
+final class ArchetypeComponentView extends Registry<AbstractComponent> {
+    /**
+     * The parent {@link Entity} of the components in this view.
+     */
+    final Entity parent;
+    /**
+     * The IDs of the components that are not in an archetype yet.
+     */
+    Identifier[] pendingIds = new Identifier[8];
+    /**
+     * The components that are not in an archetype yet, in the same order as the {@link #pendingIds}.
+     */
+    AbstractComponent[] pendingValues = new AbstractComponent[8];
+    /**
+     * The amount of pending components.
+     */
+    int pendingSize = 0;
+
+    /**
+     * The storage this view is attached to, or <code>null</code> if it is detached.
+     */
+    ArchetypeStorage storage;
+    /**
+     * The archetype the components are stored in, or <code>null</code> if this view is detached.
+     */
+    Archetype archetype;
+    /**
+     * The row of the parent entity in its {@link #archetype}.
+     */
+    int row = -1;
+    /**
+     * The {@link #getModificationCount() modification count} the backing map was last {@link #materialize() materialized} at, or -1 if it never was.
+     */
+    private int materializedAt = -1;
+
+    /**
+     * Constructs a new, detached {@link ArchetypeComponentView} for the provided entity.
+     * @param parent The parent {@link Entity} of the components.
+     */
+    ArchetypeComponentView(Entity parent) {
+        super(0);
+        this.parent = parent;
+    }
+
+    /**
+     * Gets whether this view is currently attached to an {@link ArchetypeStorage}.
+     * @return Whether the components live in an archetype.
+     */
+    boolean isAttached() {return archetype != null;}
+
+    /**
+     * Attaches this view to a storage, moving the pending components into an archetype.
+     * @param storage The {@link ArchetypeStorage} to attach to.
+     */
+    void attach(ArchetypeStorage storage) {
+        if (archetype == null)
+            storage.attach(this);
+    }
+
+    /**
+     * Detaches this view from its storage, moving the components back into the pending arrays.
+     */
+    void detach() {
+        if (archetype != null)
+            storage.detach(this);
+    }
+
+    /**
+     * Called by the {@link ArchetypeStorage} once the pending components have been moved into an archetype.
+     * @param storage The storage this view is now attached to.
+     * @param archetype The archetype the components are now stored in.
+     * @param row The row of the parent entity in the archetype.
+     */
+    void attached(ArchetypeStorage storage, Archetype archetype, int row) {
+        this.storage = storage;
+        this.archetype = archetype;
+        this.row = row;
+        Arrays.fill(pendingIds, 0, pendingSize, null);
+        Arrays.fill(pendingValues, 0, pendingSize, null);
+        pendingSize = 0;
+    }
+
+    /**
+     * Called by the {@link ArchetypeStorage} before the components are moved back into the pending arrays.
+     */
+    void detached() {
+        this.storage = null;
+        this.archetype = null;
+        this.row = -1;
+    }
+
+    /**
+     * Appends a component to the pending arrays.
+     * @param id The ID of the component.
+     * @param component The component.
+     */
+    void putPending(Identifier id, AbstractComponent component) {
+        if (pendingSize == pendingIds.length) {
+            pendingIds = Arrays.copyOf(pendingIds, pendingSize * 2);
+            pendingValues = Arrays.copyOf(pendingValues, pendingSize * 2);
+        }
+
+        pendingIds[pendingSize] = id;
+        pendingValues[pendingSize] = component;
+        pendingSize++;
+    }
+
+    /**
+     * Finds a component in the pending arrays.
+     * @param id The ID of the component.
+     * @return The index of the component in the pending arrays, or -1 if it is not pending.
+     */
+    private int pendingIndexOf(Identifier id) {
+        for (int i = 0; i < pendingSize; i++) {
+            if (pendingIds[i] == id) return i;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public <R extends AbstractComponent> R register(Identifier id, R value) {
+        if (containsID(id))
+            throw new IllegalRegistrationException("Identifier " + id + " is already registered to another object!");
+
+        if (archetype == null) {
+            putPending(id, value);
+        } else {
+            storage.migrate(this, id, value);
+        }
+        markModified();
+        return value;
+    }
+
+    @Override
+    public <R extends AbstractComponent> R override(Identifier id, R value) {
+        if (archetype == null) {
+            int index = pendingIndexOf(id);
+            if (index < 0)
+                throw new IllegalRegistrationException("Cannot override a registry object that does not exist");
+            pendingValues[index] = value;
+        } else {
+            int column = archetype.columnOf(id);
+            if (column < 0)
+                throw new IllegalRegistrationException("Cannot override a registry object that does not exist");
+            archetype.set(column, row, value);
+        }
+        markModified();
+        return value;
+    }
+
+    @Override
+    public boolean containsID(Identifier id) {
+        return archetype == null ? pendingIndexOf(id) >= 0 : archetype.has(id);
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked") // Same unchecked contract as Registry#getOrNull
+    public <R extends AbstractComponent> R getOrNull(Identifier id) {
+        if (archetype == null) {
+            int index = pendingIndexOf(id);
+            return index < 0 ? null : (R) pendingValues[index];
+        }
+
+        int column = archetype.columnOf(id);
+        return column < 0 ? null : archetype.get(column, row);
+    }
+
+    @Override
+    public void forEachEntry(BiConsumer<Identifier, AbstractComponent> entryConsumer) {
+        if (archetype == null) {
+            for (int i = 0; i < pendingSize; i++) {
+                entryConsumer.accept(pendingIds[i], pendingValues[i]);
+            }
+        } else {
+            for (int i = 0; i < archetype.componentCount(); i++) {
+                entryConsumer.accept(archetype.getComponentId(i), archetype.get(i, row));
+            }
+        }
+    }
+
+    /**
+     * Copies the components into the backing map, so the inherited methods that read it directly see the current state.<br>
+     * Does nothing if no component was registered or overridden since the last copy. Moving between archetypes keeps the same components, so it doesn't invalidate the copy.
+     */
+    private void materialize() {
+        if (materializedAt == getModificationCount()) return;
+
+        map.clear();
+        forEachEntry(map::put);
+        materializedAt = getModificationCount();
+    }
+
+    @Override
+    public ObjectMap.Values<AbstractComponent> valueCollection() {
+        materialize();
+        return super.valueCollection();
+    }
+
+    @Override
+    public Array<Identifier> idArray() {
+        materialize();
+        return super.idArray();
+    }
+
+    @Override
+    public <R extends AbstractComponent> List<R> list() {
+        materialize();
+        return super.list();
+    }
+
+    @Override
+    public Optional<Identifier> getId(AbstractComponent value) {
+        materialize();
+        return super.getId(value);
+    }
+
+    @Override
+    public Identifier getIdOrError(AbstractComponent value) throws RegistryError {
+        materialize();
+        return super.getIdOrError(value);
+    }
+
+    @Nullable
+    @Override
+    public <R extends AbstractComponent> Identifier getIdOrNull(R value) {
+        materialize();
+        return super.getIdOrNull(value);
+    }
+
+    @Override
+    public Collection<Pair<Identifier, AbstractComponent>> pairCollection() {
+        materialize();
+        return super.pairCollection();
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs;
+
+import com.badlogic.gdx.utils.Array;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+
+import java.util.Arrays;
+
+/**
+ * A reusable query for all {@link Archetype}s in an {@link ArchetypeStorage} that have a certain set of components.<br>
+ * The matching archetypes are cached, and since archetypes are never removed from a storage, only newly created archetypes have to be checked on later calls.<br>
+ * Create queries once (for example in a field) and reuse them every frame.
+ */
+public final class ArchetypeQuery {
+    /**
+     * The component IDs required by this query, in the order they were provided.
+     */
+    private final Identifier[] ids;
+    /**
+     * The sorted {@link Identifier#getIndex() indices} of the required component IDs.
+     */
+    private final int[] required;
+    /**
+     * The cached archetypes that match this query.
+     */
+    private final Array<Archetype> matches = new Array<>(false, 8);
+    /**
+     * The storage the cached matches belong to.
+     */
+    private ArchetypeStorage cachedStorage;
+    /**
+     * The amount of archetypes in the {@link #cachedStorage} that have already been checked.
+     */
+    private int checkedArchetypes = 0;
+
+    /**
+     * Constructs a new {@link ArchetypeQuery} requiring the provided component IDs.
+     * @param ids The component IDs an archetype needs to have to match.
+     */
+    private ArchetypeQuery(Identifier[] ids) {
+        this.ids = ids.clone();
+        this.required = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            required[i] = ids[i].getIndex();
+        }
+
+        Arrays.sort(required);
+    }
+
+    /**
+     * Creates a new {@link ArchetypeQuery} matching archetypes that have every one of the provided components.
+     * @param ids The component IDs to require.
+     * @return A new query for the provided component IDs.
+     */
+    public static ArchetypeQuery of(Identifier... ids) {
+        return new ArchetypeQuery(ids);
+    }
+
+    /**
+     * Gets the amount of component IDs this query requires.
+     * @return The amount of required component IDs.
+     */
+    public int size() {return ids.length;}
+
+    /**
+     * Gets one of the component IDs this query requires.
+     * @param index The index of the ID, in the order the IDs were provided to {@link #of(Identifier...)}.
+     * @return The required component ID at the provided index.
+     */
+    public Identifier getId(int index) {return ids[index];}
+
+    /**
+     * Gets the column in an archetype that holds one of this query's components.
+     * @param archetype A matching {@link Archetype}.
+     * @param index The index of the ID, in the order the IDs were provided to {@link #of(Identifier...)}.
+     * @return The column of the component in the provided archetype.
+     */
+    public int column(Archetype archetype, int index) {
+        return archetype.columnOf(ids[index]);
+    }
+
+    /**
+     * Gets all archetypes in a storage that match this query.
+     * @param storage The {@link ArchetypeStorage} to search.
+     * @return The cached array of matching archetypes. Do not modify it.
+     */
+    public Array<Archetype> matching(ArchetypeStorage storage) {
+        if (storage != cachedStorage) {
+            cachedStorage = storage;
+            checkedArchetypes = 0;
+            matches.clear();
+        }
+
+        int count = storage.archetypeCount();
+        for (; checkedArchetypes < count; checkedArchetypes++) {
+            Archetype archetype = storage.getArchetype(checkedArchetypes);
+            if (archetype.matches(required)) {
+                matches.add(archetype);
+            }
+        }
+
+        return matches;
+    }
+}
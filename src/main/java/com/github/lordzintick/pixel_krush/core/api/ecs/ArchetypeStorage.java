@@ -0,0 +1,233 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.github.lordzintick.pixel_krush.core.api.ecs.comp.AbstractComponent;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A screen-wide store of {@link Archetype}s, used by {@link Entity Entities} that opt in with {@link Entity#useArchetypeStorage()}.<br>
+ * Entities with the same set of components share the same archetype and thus the same column arrays, and systems can
+ * iterate over every matching archetype with an {@link ArchetypeQuery} instead of being called once per entity.
+ */
+public final class ArchetypeStorage {
+    /**
+     * All archetypes in this storage, in creation order.
+     */
+    private final Array<Archetype> archetypes = new Array<>();
+    /**
+     * All archetypes in this storage, bucketed by the hash of their signature.
+     */
+    private final IntMap<Array<Archetype>> bySignature = new IntMap<>();
+    /**
+     * A scratch array used to build signatures without allocating.
+     */
+    private int[] scratch = new int[16];
+    /**
+     * Whether structural changes are currently deferred, see {@link #beginDeferred()}.
+     */
+    private volatile boolean deferred = false;
+    /**
+     * The component views whose detaching was deferred, in request order.
+     */
+    private final Array<ArchetypeComponentView> deferredDetaches = new Array<>(false, 16);
+
+    /**
+     * Gets the amount of archetypes in this storage.
+     * @return The amount of archetypes created so far.
+     */
+    public int archetypeCount() {return archetypes.size;}
+
+    /**
+     * Gets an archetype by its creation order.
+     * @param index The index of the archetype.
+     * @return The {@link Archetype} at the provided index.
+     */
+    public Archetype getArchetype(int index) {return archetypes.get(index);}
+
+    /**
+     * Gets the amount of entities stored in all archetypes.
+     * @return The total amount of entities in this storage.
+     */
+    public int entityCount() {
+        int count = 0;
+        for (Archetype archetype : archetypes) {
+            count += archetype.size();
+        }
+
+        return count;
+    }
+
+    /**
+     * Runs a consumer for every non-empty archetype that matches a query.
+     * @param query The {@link ArchetypeQuery} to match archetypes against.
+     * @param consumer The consumer to run for every matching archetype.
+     */
+    public void forEach(ArchetypeQuery query, Consumer<Archetype> consumer) {
+        Array<Archetype> matches = query.matching(this);
+        for (int i = 0; i < matches.size; i++) {
+            Archetype archetype = matches.get(i);
+            if (archetype.size() > 0) {
+                consumer.accept(archetype);
+            }
+        }
+    }
+
+    /**
+     * Starts deferring structural changes, so archetypes can safely be iterated from several threads at once.<br>
+     * While deferring, entities that get removed stay in their archetype until {@link #applyDeferred()} is called,
+     * and adding components to attached entities throws an {@link IllegalStateException}.
+     */
+    public void beginDeferred() {
+        deferred = true;
+    }
+
+    /**
+     * Stops deferring structural changes and applies every change that was requested since {@link #beginDeferred()}.
+     */
+    public void applyDeferred() {
+        deferred = false;
+        for (int i = 0; i < deferredDetaches.size; i++) {
+            ArchetypeComponentView view = deferredDetaches.get(i);
+            // The same entity may have been removed more than once
+            if (view.isAttached())
+                detachNow(view);
+        }
+
+        deferredDetaches.clear();
+    }
+
+    /**
+     * Gets whether structural changes are currently deferred.
+     * @return Whether this storage is between {@link #beginDeferred()} and {@link #applyDeferred()}.
+     */
+    public boolean isDeferred() {return deferred;}
+
+    /**
+     * Moves an entity's components from its pending storage into the archetype matching its component set.
+     * @param view The component view of the entity to attach.
+     */
+    void attach(ArchetypeComponentView view) {
+        int count = view.pendingSize;
+        int[] signature = ensureScratch(count);
+        for (int i = 0; i < count; i++) {
+            signature[i] = view.pendingIds[i].getIndex();
+        }
+
+        Archetype archetype = getOrCreate(signature, count);
+        int row = archetype.add(view);
+        for (int i = 0; i < count; i++) {
+            archetype.set(archetype.columnOf(view.pendingIds[i]), row, view.pendingValues[i]);
+        }
+
+        view.attached(this, archetype, row);
+    }
+
+    /**
+     * Removes an entity from its archetype, moving its components back into its pending storage.
+     * @param view The component view of the entity to detach.
+     */
+    void detach(ArchetypeComponentView view) {
+        if (deferred) {
+            synchronized (deferredDetaches) {
+                deferredDetaches.add(view);
+            }
+            return;
+        }
+
+        detachNow(view);
+    }
+
+    /**
+     * Removes an entity from its archetype immediately, moving its components back into its pending storage.
+     * @param view The component view of the entity to detach.
+     */
+    private void detachNow(ArchetypeComponentView view) {
+        Archetype archetype = view.archetype;
+        int row = view.row;
+        view.detached();
+        for (int i = 0; i < archetype.componentCount(); i++) {
+            view.putPending(archetype.getComponentId(i), archetype.get(i, row));
+        }
+
+        archetype.remove(row);
+    }
+
+    /**
+     * Moves an attached entity to the archetype that also has a newly added component.
+     * @param view The component view of the entity to move.
+     * @param id The {@link Identifier} of the new component.
+     * @param component The new component.
+     */
+    void migrate(ArchetypeComponentView view, Identifier id, AbstractComponent component) {
+        if (deferred)
+            throw new IllegalStateException("Cannot add component " + id + " to an archetype-stored entity while systems are running");
+
+        detachNow(view);
+        view.putPending(id, component);
+        attach(view);
+    }
+
+    /**
+     * Gets the archetype with the provided signature, creating it if it doesn't exist yet.
+     * @param signature An array whose first <code>count</code> entries are the unsorted component ID indices of the archetype.
+     * @param count The amount of component IDs in the signature.
+     * @return The matching {@link Archetype}.
+     */
+    private Archetype getOrCreate(int[] signature, int count) {
+        Arrays.sort(signature, 0, count);
+        int hash = 1;
+        for (int i = 0; i < count; i++) {
+            hash = 31 * hash + signature[i];
+        }
+
+        Array<Archetype> bucket = bySignature.get(hash);
+        if (bucket == null) {
+            bucket = new Array<>(false, 2);
+            bySignature.put(hash, bucket);
+        }
+
+        for (Archetype archetype : bucket) {
+            int[] existing = archetype.signature();
+            if (existing.length == count && equalsPrefix(existing, signature, count)) {
+                return archetype;
+            }
+        }
+
+        Archetype archetype = new Archetype(Arrays.copyOf(signature, count));
+        bucket.add(archetype);
+        archetypes.add(archetype);
+        return archetype;
+    }
+
+    /**
+     * Compares a full array to the first entries of another.
+     * @param full The full array.
+     * @param prefix The array whose first <code>count</code> entries to compare.
+     * @param count The amount of entries to compare.
+     * @return Whether the arrays are equal for the first <code>count</code> entries.
+     */
+    private static boolean equalsPrefix(int[] full, int[] prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            if (full[i] != prefix[i]) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Makes sure the scratch array can hold the provided amount of entries.
+     * @param count The required amount of entries.
+     * @return The scratch array.
+     */
+    private int[] ensureScratch(int count) {
+        if (scratch.length < count) {
+            scratch = new int[Math.max(count, scratch.length * 2)];
+        }
+
+        return scratch;
+    }
+}
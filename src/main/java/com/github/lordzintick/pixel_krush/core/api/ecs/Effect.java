@@ -34,7 +34,18 @@ public abstract class Effect {
      * @param level The amplifier/intensity of the effect, starting at 1 for normal intensity.
      */
     protected Effect(int spritex, int spritey, AbstractGame game, float time, int level) {
-        this.sprite = game.getCachedAtlas("effects").get(spritex, spritey);
+        this(game.getCachedAtlas("effects").get(spritex, spritey), game, time, level);
+    }
+
+    /**
+     * Constructs a new effect with the provided configuration and icon, for effects whose icon isn't in the "<code>effects</code>" atlas.
+     * @param sprite The {@link TextureRegion} of the effect icon.
+     * @param game The {@link AbstractGame Game} that this effect belongs to.
+     * @param time The time that the effect should be applied for, in seconds.
+     * @param level The amplifier/intensity of the effect, starting at 1 for normal intensity.
+     */
+    protected Effect(TextureRegion sprite, AbstractGame game, float time, int level) {
+        this.sprite = sprite;
         this.game = game;
         this.timeLeft = time;
         this.level = level;
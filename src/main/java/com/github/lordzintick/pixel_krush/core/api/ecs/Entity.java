@@ -8,6 +8,8 @@ import com.github.lordzintick.pixel_krush.core.api.ecs.sys.AbstractSystem;
 import com.github.lordzintick.pixel_krush.core.api.ecs.sys.ColorModifierSystem;
 import com.github.lordzintick.pixel_krush.core.util.Identifier;
 import com.github.lordzintick.pixel_krush.core.util.Logger;
+import com.github.lordzintick.pixel_krush.core.util.Nullable;
+import com.github.lordzintick.pixel_krush.core.util.profile.Profiler;
 import com.github.lordzintick.pixel_krush.core.api.AbstractGameObject;
 import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
 import com.github.lordzintick.pixel_krush.core.util.registry.ImmutableRegistry;
@@ -26,9 +28,10 @@ public abstract class Entity extends AbstractGameObject {
     public final ValueComponent<Color> colorModifier;
 
     /**
-     * A {@link Registry} used to hold all of this entity's {@link AbstractComponent components}.
+     * A {@link Registry} used to hold all of this entity's {@link AbstractComponent components}.<br>
+     * If this entity {@link #useArchetypeStorage() uses archetype storage}, this is a view over the entity's row in its {@link Archetype}.
      */
-    protected final Registry<AbstractComponent> components = new Registry<>();
+    protected final Registry<AbstractComponent> components;
     /**
      * A {@link Registry} used to hold all of this entity's {@link AbstractSystem systems}.
      */
@@ -47,28 +50,68 @@ public abstract class Entity extends AbstractGameObject {
      */
     public Entity(AbstractGameScreen screen, int width, int height) {
         super(screen);
+        components = useArchetypeStorage() ? new ArchetypeComponentView(this) : new Registry<>();
         colorModifier = components.register(getId("color_modifier"), new ValueComponent<>(this, Color.WHITE));
 
         this.width = width;
         this.height = height;
     }
 
+    /**
+     * Used to define whether this entity stores its components in the screen's {@link ArchetypeStorage} instead of in its own {@link Registry}.<br>
+     * Entities with the same set of components then share column arrays, and systems can iterate over them per {@link Archetype}.
+     * The entity joins its archetype on its first update and leaves it when it is removed.<br>
+     * Note that this is called from the constructor, so it should only ever return a constant.
+     * @return Whether this entity uses archetype storage. Defaults to <code>false</code>.
+     */
+    protected boolean useArchetypeStorage() {return false;}
+
     @Override
     public void update(float deltaTime) {
+        if (components instanceof ArchetypeComponentView && !shouldRemove())
+            ((ArchetypeComponentView) components).attach(screen.archetypes);
         this.collisionRect.set(x, y, width * scale, height * scale);
         ticks += deltaTime;
-        systems.forEachEntry((id, system) -> system.update(deltaTime));
+
+        Profiler profiler = screen.game.getProfiler();
+        if (profiler.isEnabled()) {
+            systems.forEachEntry((id, system) -> {
+                long start = profiler.start();
+                system.update(deltaTime);
+                profiler.stop(system.getUpdateSection(profiler), start);
+            });
+        } else {
+            systems.forEachEntry((id, system) -> system.update(deltaTime));
+        }
     }
 
     @Override
     public void render(Batch batch, float deltaTime) {
-        systems.forEachEntry((id, system) -> system.render(batch, deltaTime));
+        Profiler profiler = screen.game.getProfiler();
+        if (profiler.isEnabled()) {
+            systems.forEachEntry((id, system) -> {
+                long start = profiler.start();
+                system.render(batch, deltaTime);
+                profiler.stop(system.getRenderSection(profiler), start);
+            });
+        } else {
+            systems.forEachEntry((id, system) -> system.render(batch, deltaTime));
+        }
     }
 
     @Override
     public void remove() {
         super.remove();
         systems.forEachEntry((id, system) -> system.remove());
+        if (components instanceof ArchetypeComponentView)
+            ((ArchetypeComponentView) components).detach();
+    }
+
+    @Override
+    public void reinit() {
+        super.reinit();
+        ticks = 0;
+        colorModifier.set(Color.WHITE);
     }
 
     /**
@@ -78,6 +121,15 @@ public abstract class Entity extends AbstractGameObject {
      */
     public final Identifier getId(String path) {return screen.game.getId(path);}
 
+    /**
+     * Gets one of this entity's components without copying the component registry.
+     * @param id The identifier of the component to get.
+     * @param <T> The type of component to get.
+     * @return The component registered with the provided ID, or <code>null</code> if there is none.
+     */
+    @Nullable
+    public final <T extends AbstractComponent> T getComponentOrNull(Identifier id) {return components.getOrNull(id);}
+
     /**
      * Queries an {@link ImmutableRegistry} containing all of this entity's components.
      * @return An {@link ImmutableRegistry} of this entity's components.
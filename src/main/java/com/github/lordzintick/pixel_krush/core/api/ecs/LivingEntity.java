@@ -70,7 +70,9 @@ public abstract class LivingEntity extends Entity {
         health = components.register(getId("health"), new RangedFloatComponent(this, getMaxHealth(), 0, getMaxHealth()));
         speed = components.register(getId("speed"), new BiValueComponent<>(this, 1f, 1f));
 
-        systems.register(getId("effects"), new EffectsSystem(this));
+        // Archetype-stored entities have their effects ticked by the screen's WorldEffectsSystem instead
+        if (!useArchetypeStorage())
+            systems.register(getId("effects"), new EffectsSystem(this));
         systems.register(getId("animation"), getAnimationSystem());
     }
 
@@ -147,10 +149,28 @@ public abstract class LivingEntity extends Entity {
         super.render(batch, deltaTime);
         for (int i = 0; i < effectsComponent.size(); i++) {
             Effect effect = effectsComponent.getEffectOrNull(i);
-            batch.draw(effect.sprite, x + (float) width / 2 * scale - 8, y + height * scale + 10 + i * 26, 16, 16);
+            batch.draw(effect.sprite, getRenderX() + (float) width / 2 * scale - 8, getRenderY() + height * scale + 10 + i * 26, 16, 16);
         }
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        effectsComponent.clear();
+    }
+
+    @Override
+    public void reinit() {
+        super.reinit();
+        health.set((float) getMaxHealth());
+        angle.set(0f);
+        moving.set(false);
+        direction.set(Direction.DOWN);
+        animation.frame = 0;
+        animation.animTicks = 0;
+        iframes = 0;
+    }
+
     /**
      * Used to define the maximum health of the entity.
      * @return The maximum health of the entity.
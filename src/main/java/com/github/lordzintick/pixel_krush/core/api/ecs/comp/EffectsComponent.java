@@ -15,7 +15,8 @@ import java.util.concurrent.atomic.AtomicReference;
 public class EffectsComponent extends AbstractComponent {
     /**
      * A {@link LazyList} used to track the actual effects and safely add and remove ones on the fly.<br>
-     * See {@link LazyList#flush()} for more information on how the lazy list works.
+     * See {@link LazyList#flush()} for more information on how the lazy list works.<br>
+     * It keeps the default {@link LazyList.Mode#ORDERED} mode, since {@link LivingEntity} stacks the effect icons in list order.
      */
     private final LazyList<Effect> effects = new LazyList<>();
 
@@ -50,6 +51,19 @@ public class EffectsComponent extends AbstractComponent {
         effects.flush();
     }
 
+    /**
+     * Ends and removes every effect, including effects that are still queued to be added.<br>
+     * Used when the parent {@link Entity} is returned to its pool.
+     */
+    public void clear() {
+        effects.flush();
+        for (int i = 0; i < effects.size(); i++) {
+            removeEffect(effects.get(i));
+        }
+
+        effects.flush();
+    }
+
     /**
      * Gets the size of the effects list.
      * @return The size of the effects list, as an integer.
@@ -0,0 +1,71 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs.comp;
+
+import com.github.lordzintick.pixel_krush.core.api.ecs.Entity;
+import com.github.lordzintick.pixel_krush.core.api.ecs.sys.ParticleEmitterSystem;
+import com.github.lordzintick.pixel_krush.core.api.particle.ParticleEmitter;
+
+/**
+ * A component attaching a shared {@link ParticleEmitter} to an {@link Entity}, holding the per-entity emission state.<br>
+ * Handled by a {@link ParticleEmitterSystem}, which spawns the emitter's particles at the entity's position every update.
+ */
+public class ParticleEmitterComponent extends AbstractComponent {
+    /**
+     * The {@link ParticleEmitter} to spawn particles with.
+     */
+    public ParticleEmitter emitter;
+    /**
+     * The offset of the emitting position from the parent {@link Entity}'s position.
+     */
+    public float offsetX, offsetY;
+    /**
+     * Whether particles are currently spawned at the emitter's rate.
+     */
+    public boolean emitting = true;
+    /**
+     * The fractional amount of particles left over from the last update.
+     */
+    private float carry = 0;
+
+    /**
+     * Constructs a new {@link ParticleEmitterComponent} with the provided emitter and no offset.
+     * @param parent The parent {@link Entity} of this component.
+     * @param emitter The {@link ParticleEmitter} to spawn particles with.
+     */
+    public ParticleEmitterComponent(Entity parent, ParticleEmitter emitter) {
+        this(parent, emitter, 0, 0);
+    }
+
+    /**
+     * Constructs a new {@link ParticleEmitterComponent} with the provided emitter and offset.
+     * @param parent The parent {@link Entity} of this component.
+     * @param emitter The {@link ParticleEmitter} to spawn particles with.
+     * @param offsetX The horizontal offset of the emitting position from the parent's position.
+     * @param offsetY The vertical offset of the emitting position from the parent's position.
+     */
+    public ParticleEmitterComponent(Entity parent, ParticleEmitter emitter, float offsetX, float offsetY) {
+        super(parent);
+        this.emitter = emitter;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+    }
+
+    /**
+     * Spawns the particles due since the last update at the emitter's rate, if {@link #emitting}.
+     * @param deltaTime The time since the last frame was rendered.
+     */
+    public void tick(float deltaTime) {
+        if (!emitting) {
+            carry = 0;
+            return;
+        }
+
+        carry = emitter.emitContinuous(parent.screen, parent.x + offsetX, parent.y + offsetY, deltaTime, carry);
+    }
+
+    /**
+     * Spawns one burst of the emitter's particles at the emitting position.
+     */
+    public void burst() {
+        emitter.burst(parent.screen, parent.x + offsetX, parent.y + offsetY);
+    }
+}
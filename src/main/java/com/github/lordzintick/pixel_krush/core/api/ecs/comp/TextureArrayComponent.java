@@ -2,6 +2,7 @@ package com.github.lordzintick.pixel_krush.core.api.ecs.comp;
 
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
 import com.github.lordzintick.pixel_krush.core.api.TiledAtlas;
 import com.github.lordzintick.pixel_krush.core.api.ecs.Entity;
 
@@ -15,7 +16,8 @@ public class TextureArrayComponent extends AbstractComponent {
     private TextureRegion[][] textureArray;
 
     /**
-     * Constructs a new {@link TextureArrayComponent} by splitting a {@link Texture} into frames.
+     * Constructs a new {@link TextureArrayComponent} by splitting a {@link Texture} into frames.<br>
+     * The split is cached by the game (see {@link AbstractGame#getSplitTexture(Texture, int, int)}), so entities sharing a spritesheet share the same frames.
      * @param parent The parent {@link Entity} of this component.
      * @param texture The base {@link Texture} to split into frames.
      * @param width The width of an image frame.
@@ -23,7 +25,7 @@ public class TextureArrayComponent extends AbstractComponent {
      */
     public TextureArrayComponent(Entity parent, Texture texture, int width, int height) {
         super(parent);
-        this.textureArray = TextureRegion.split(texture, width, height);
+        this.textureArray = parent.screen.game.getSplitTexture(texture, width, height);
     }
 
     /**
@@ -1,12 +1,15 @@
 package com.github.lordzintick.pixel_krush.core.api.ecs.sys;
 
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.utils.Array;
 import com.github.lordzintick.pixel_krush.core.api.ecs.AbstractEntityAttachment;
 import com.github.lordzintick.pixel_krush.core.api.ecs.DependencyException;
 import com.github.lordzintick.pixel_krush.core.api.ecs.Entity;
 import com.github.lordzintick.pixel_krush.core.api.ecs.comp.AbstractComponent;
 import com.github.lordzintick.pixel_krush.core.util.Identifier;
-import com.github.lordzintick.pixel_krush.core.util.registry.ImmutableRegistry;
+import com.github.lordzintick.pixel_krush.core.util.Nullable;
+import com.github.lordzintick.pixel_krush.core.util.profile.Profiler;
+import com.github.lordzintick.pixel_krush.core.util.profile.ProfilerSection;
 import com.github.lordzintick.pixel_krush.core.util.registry.Registry;
 import com.github.lordzintick.pixel_krush.core.util.registry.RegistryError;
 
@@ -18,6 +21,18 @@ public abstract class AbstractSystem extends AbstractEntityAttachment {
      * A {@link Registry} used to uniquely identify and hold all {@link AbstractComponent}s that this system depends on.
      */
     private final Registry<AbstractComponent> dependencies = new Registry<>();
+    /**
+     * The IDs of the dependencies this system only reads, see {@link ComponentAccess}.
+     */
+    private final Array<Identifier> readOnlyDependencies = new Array<>(4);
+    /**
+     * The {@link Profiler} section timing the update of this system, or <code>null</code> if it wasn't resolved yet.
+     */
+    private ProfilerSection updateSection;
+    /**
+     * The {@link Profiler} section timing the render of this system, or <code>null</code> if it wasn't resolved yet.
+     */
+    private ProfilerSection renderSection;
 
     /**
      * Constructs a new {@link AbstractSystem} connected to the provided entity.
@@ -28,18 +43,49 @@ public abstract class AbstractSystem extends AbstractEntityAttachment {
     }
 
     /**
-     * Loads a component with the provided ID as a dependency of this system.
+     * Loads a component with the provided ID as a dependency of this system that it {@link ComponentAccess#READ_WRITE reads and writes}.
      * @param id The identifier of the component to load as a dependency of this system.
      * @param <T> The type of component to load.
      * @return The loaded dependency.
      */
     protected <T extends AbstractComponent> T loadDependency(Identifier id) {
-        ImmutableRegistry<AbstractComponent> components = parent.queryComponents();
-        try {
-            return components.getOrError(id);
-        } catch (RegistryError e) {
+        return loadDependency(id, ComponentAccess.READ_WRITE);
+    }
+
+    /**
+     * Loads a component with the provided ID as a dependency of this system, declaring how this system accesses it.
+     * @param id The identifier of the component to load as a dependency of this system.
+     * @param access How this system accesses the component.
+     * @param <T> The type of component to load.
+     * @return The loaded dependency.
+     */
+    protected <T extends AbstractComponent> T loadDependency(Identifier id, ComponentAccess access) {
+        T component = parent.getComponentOrNull(id);
+        if (component == null)
             throw new DependencyException("Component with id \"" + id + "\" does not exist");
+
+        if (dependencies.containsID(id)) {
+            dependencies.override(id, component);
+        } else {
+            dependencies.register(id, component);
         }
+
+        readOnlyDependencies.removeValue(id, true);
+        if (access == ComponentAccess.READ)
+            readOnlyDependencies.add(id);
+
+        return component;
+    }
+
+    /**
+     * Gets how this system accesses one of its dependencies.
+     * @param id The identifier of the dependency.
+     * @return The {@link ComponentAccess} the dependency was loaded with, or <code>null</code> if this system does not depend on it.
+     */
+    @Nullable
+    public final ComponentAccess getAccess(Identifier id) {
+        if (!dependencies.containsID(id)) return null;
+        return readOnlyDependencies.contains(id, true) ? ComponentAccess.READ : ComponentAccess.READ_WRITE;
     }
 
     /**
@@ -56,6 +102,28 @@ public abstract class AbstractSystem extends AbstractEntityAttachment {
         }
     }
 
+    /**
+     * Gets the section timing the update of this system's type, looking it up in the profiler only on the first call.
+     * @param profiler The {@link Profiler} of the parent entity's game.
+     * @return The {@link Profiler#getUpdateSection(Class) update section} of this system's type.
+     */
+    public final ProfilerSection getUpdateSection(Profiler profiler) {
+        if (updateSection == null)
+            updateSection = profiler.getUpdateSection(getClass());
+        return updateSection;
+    }
+
+    /**
+     * Gets the section timing the render of this system's type, looking it up in the profiler only on the first call.
+     * @param profiler The {@link Profiler} of the parent entity's game.
+     * @return The {@link Profiler#getRenderSection(Class) render section} of this system's type.
+     */
+    public final ProfilerSection getRenderSection(Profiler profiler) {
+        if (renderSection == null)
+            renderSection = profiler.getRenderSection(getClass());
+        return renderSection;
+    }
+
     /**
      * Called every time the parent {@link Entity} is rendered, so the system can do its rendering logic.
      * There is no default implementation of this, so exactly what happens here depends on the system used.
@@ -0,0 +1,176 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs.sys;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
+import com.github.lordzintick.pixel_krush.core.api.ecs.Archetype;
+import com.github.lordzintick.pixel_krush.core.api.ecs.ArchetypeQuery;
+import com.github.lordzintick.pixel_krush.core.api.ecs.Entity;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+
+import java.util.Arrays;
+
+/**
+ * A base class representing a screen-wide "system" in the ECS.<br>
+ * Unlike {@link AbstractSystem}, which is attached to a single {@link Entity}, there is only one instance of a world system per screen.
+ * It declares the components it reads and writes, and the screen's {@link SystemScheduler} calls it once per matching {@link Archetype},
+ * so it processes every matching entity in one batch.<br>
+ * The declared components also decide which systems the scheduler may run at the same time, so a system must never touch a component it did not declare.
+ * A system that touches anything else, like components of other entities, the screen's objects or particles, or that removes entities, must declare itself {@link #exclusive()}.<br>
+ * Only entities that {@link Entity#useArchetypeStorage() use archetype storage} are visible to world systems.
+ */
+public abstract class AbstractWorldSystem {
+    /**
+     * The parent {@link AbstractGameScreen} of this system.
+     */
+    public final AbstractGameScreen screen;
+    /**
+     * The IDs of the components this system only reads.
+     */
+    private Identifier[] reads = new Identifier[0];
+    /**
+     * The IDs of the components this system reads and writes.
+     */
+    private Identifier[] writes = new Identifier[0];
+    /**
+     * Whether this system may touch state it can not declare, so it must never run at the same time as another system.
+     */
+    private boolean exclusive = false;
+    /**
+     * The query matching every archetype with all the components this system reads or writes, or <code>null</code> if it has to be rebuilt.
+     */
+    private ArchetypeQuery query;
+
+    /**
+     * Constructs a new {@link AbstractWorldSystem} for the provided screen.
+     * @param screen The parent {@link AbstractGameScreen} of this system.
+     */
+    protected AbstractWorldSystem(AbstractGameScreen screen) {
+        this.screen = screen;
+    }
+
+    /**
+     * Declares components this system only reads.
+     * @param ids The IDs of the components.
+     */
+    protected final void reads(Identifier... ids) {
+        reads = concat(reads, ids);
+        query = null;
+    }
+
+    /**
+     * Declares components this system reads and writes.
+     * @param ids The IDs of the components.
+     */
+    protected final void writes(Identifier... ids) {
+        writes = concat(writes, ids);
+        query = null;
+    }
+
+    /**
+     * Declares that this system may touch state outside of its declared components, so it conflicts with every other system.<br>
+     * An exclusive system always runs alone, on the thread calling {@link SystemScheduler#update(float)}.
+     */
+    protected final void exclusive() {
+        exclusive = true;
+    }
+
+    /**
+     * Gets whether this system {@link #exclusive() may touch state outside of its declared components}.
+     * @return Whether this system is exclusive.
+     */
+    public final boolean isExclusive() {return exclusive;}
+
+    /**
+     * Gets the IDs of the components this system only reads.
+     * @return A copy of the read-only component IDs.
+     */
+    public final Identifier[] getReads() {return reads.clone();}
+
+    /**
+     * Gets the IDs of the components this system reads and writes.
+     * @return A copy of the written component IDs.
+     */
+    public final Identifier[] getWrites() {return writes.clone();}
+
+    /**
+     * Gets the query matching the archetypes this system runs on.
+     * @return An {@link ArchetypeQuery} requiring every component this system reads or writes.
+     */
+    public final ArchetypeQuery getQuery() {
+        if (query == null)
+            query = ArchetypeQuery.of(concat(reads, writes));
+
+        return query;
+    }
+
+    /**
+     * Gets whether this system and another system can not safely run at the same time,
+     * which is the case if either of them is {@link #exclusive() exclusive}, or if one of them writes a component the other one reads or writes.
+     * @param other The other system.
+     * @return Whether the two systems conflict.
+     */
+    final boolean conflictsWith(AbstractWorldSystem other) {
+        return exclusive || other.exclusive || intersects(writes, other.reads) || intersects(writes, other.writes) || intersects(reads, other.writes);
+    }
+
+    /**
+     * A helper shorthand method that gets the column of a component in an archetype.
+     * @param archetype The {@link Archetype} to look in.
+     * @param id The ID of the component.
+     * @return The column of the component in the archetype.
+     */
+    protected final int column(Archetype archetype, Identifier id) {
+        return archetype.columnOf(id);
+    }
+
+    /**
+     * Called once per update, before this system is run on any archetype.
+     * @param deltaTime The time since the last frame was rendered.
+     */
+    public void beginUpdate(float deltaTime) {}
+
+    /**
+     * Called once per update for every non-empty archetype matching this system's query.
+     * There is no default implementation of this, so exactly what happens here depends on the system used.
+     * @param archetype The matching {@link Archetype} to process.
+     * @param deltaTime The time since the last frame was rendered.
+     */
+    public void update(Archetype archetype, float deltaTime) {}
+
+    /**
+     * Called once per frame for every non-empty archetype matching this system's query, after the screen's game objects are rendered.
+     * There is no default implementation of this, so exactly what happens here depends on the system used.
+     * @param archetype The matching {@link Archetype} to render.
+     * @param batch The {@link Batch} to render with.
+     * @param deltaTime The time since the last frame was rendered.
+     */
+    public void render(Archetype archetype, Batch batch, float deltaTime) {}
+
+    /**
+     * Checks whether two ID arrays share an ID.
+     * @param first The first array.
+     * @param second The second array.
+     * @return Whether any ID is in both arrays.
+     */
+    private static boolean intersects(Identifier[] first, Identifier[] second) {
+        for (Identifier id : first) {
+            for (Identifier other : second) {
+                if (id == other) return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Concatenates two ID arrays.
+     * @param first The first array.
+     * @param second The second array.
+     * @return A new array containing the IDs of both arrays.
+     */
+    private static Identifier[] concat(Identifier[] first, Identifier[] second) {
+        Identifier[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
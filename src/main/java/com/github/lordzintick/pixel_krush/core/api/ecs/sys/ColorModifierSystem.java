@@ -20,7 +20,7 @@ public abstract class ColorModifierSystem extends AbstractSystem {
      */
     public ColorModifierSystem(Entity parent) {
         super(parent);
-        this.colorModifier = loadDependency(parent.getId("color_modifier"));
+        this.colorModifier = loadDependency(parent.getId("color_modifier"), ComponentAccess.READ);
     }
 
     @Override
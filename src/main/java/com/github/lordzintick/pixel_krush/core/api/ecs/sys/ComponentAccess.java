@@ -0,0 +1,19 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs.sys;
+
+/**
+ * An enum representing how a per-entity system accesses one of the components it {@link AbstractSystem#loadDependency(com.github.lordzintick.pixel_krush.core.util.Identifier, ComponentAccess) depends on}.<br>
+ * These are the per-entity counterpart of the {@link AbstractWorldSystem#reads(com.github.lordzintick.pixel_krush.core.util.Identifier...) reads} and
+ * {@link AbstractWorldSystem#writes(com.github.lordzintick.pixel_krush.core.util.Identifier...) writes} the {@link SystemScheduler} groups world systems by.
+ * Per-entity systems run inside their entity's update, so the scheduler never runs them itself,
+ * but a world system taking over their work can declare the same access, see {@link AbstractSystem#getAccess(com.github.lordzintick.pixel_krush.core.util.Identifier)}.
+ */
+public enum ComponentAccess {
+    /**
+     * The system only reads the component, so it can run alongside other systems that read it.
+     */
+    READ,
+    /**
+     * The system reads and writes the component, so no other system using it can run at the same time.
+     */
+    READ_WRITE
+}
@@ -0,0 +1,38 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs.sys;
+
+import com.github.lordzintick.pixel_krush.core.api.ecs.Entity;
+import com.github.lordzintick.pixel_krush.core.api.ecs.comp.ParticleEmitterComponent;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+
+/**
+ * A simple system used to handle a {@link ParticleEmitterComponent}, spawning its particles at the parent {@link Entity}'s position.
+ */
+public class ParticleEmitterSystem extends AbstractSystem {
+    /**
+     * The {@link ParticleEmitterComponent} to spawn particles for.
+     */
+    private final ParticleEmitterComponent emitterComponent;
+
+    /**
+     * Constructs a new {@link ParticleEmitterSystem} for the emitter component with the default ID <code>particle_emitter</code>.
+     * @param parent The parent {@link Entity} of the system.
+     */
+    public ParticleEmitterSystem(Entity parent) {
+        this(parent, parent.getId("particle_emitter"));
+    }
+
+    /**
+     * Constructs a new {@link ParticleEmitterSystem} for the emitter component with the provided ID, so an entity can have several emitters.
+     * @param parent The parent {@link Entity} of the system.
+     * @param componentId The ID of the {@link ParticleEmitterComponent} to handle.
+     */
+    public ParticleEmitterSystem(Entity parent, Identifier componentId) {
+        super(parent);
+        this.emitterComponent = loadDependency(componentId);
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        emitterComponent.tick(deltaTime);
+    }
+}
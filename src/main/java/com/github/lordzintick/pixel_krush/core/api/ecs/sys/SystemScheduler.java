@@ -0,0 +1,349 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs.sys;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
+import com.github.lordzintick.pixel_krush.core.api.ecs.Archetype;
+import com.github.lordzintick.pixel_krush.core.api.ecs.ArchetypeStorage;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+import com.github.lordzintick.pixel_krush.core.util.Nullable;
+import com.github.lordzintick.pixel_krush.core.util.registry.IllegalRegistrationException;
+import com.github.lordzintick.pixel_krush.core.util.registry.Registry;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A screen-level scheduler that runs {@link AbstractWorldSystem}s over the screen's {@link ArchetypeStorage}.<br>
+ * Every system type can only be registered once, and each system is run over all matching archetypes in a single batch.<br>
+ * In {@link ExecutionMode#PARALLEL} mode, the systems are split into stages of systems whose declared components don't conflict,
+ * and the systems of each stage are run at the same time on a {@link ForkJoinPool}. Conflicting systems always run in registration order,
+ * and {@link AbstractWorldSystem#exclusive() exclusive} systems always run alone on the calling thread.
+ * {@link ExecutionMode#SEQUENTIAL} mode runs every system on the calling thread in registration order, which is useful for debugging.<br>
+ * Rendering is always sequential, since a {@link Batch} can only be used from one thread.
+ */
+public final class SystemScheduler {
+    /**
+     * An enum representing how a {@link SystemScheduler} runs its systems.
+     */
+    public enum ExecutionMode {
+        /**
+         * Systems that don't conflict are run at the same time on the scheduler's {@link ForkJoinPool}.
+         */
+        PARALLEL,
+        /**
+         * Every system is run on the calling thread, in registration order.
+         */
+        SEQUENTIAL
+    }
+
+    /**
+     * The {@link ArchetypeStorage} the systems are run over.
+     */
+    private final ArchetypeStorage storage;
+    /**
+     * A {@link Registry} holding all registered systems by ID.
+     */
+    private final Registry<AbstractWorldSystem> registry = new Registry<>();
+    /**
+     * All registered systems, in registration order.
+     */
+    private final Array<AbstractWorldSystem> systems = new Array<>();
+    /**
+     * The types of the registered systems, used to make sure every type is only registered once.
+     */
+    private final ObjectSet<Class<?>> types = new ObjectSet<>();
+    /**
+     * The stages of non-conflicting systems, in execution order, or <code>null</code> if they have to be rebuilt.
+     */
+    private Array<Stage> stages;
+    /**
+     * How this scheduler runs its systems.
+     */
+    private ExecutionMode executionMode = ExecutionMode.PARALLEL;
+    /**
+     * The {@link ForkJoinPool} used to run systems in {@link ExecutionMode#PARALLEL} mode.
+     */
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Constructs a new {@link SystemScheduler} running systems over the provided storage.
+     * @param storage The {@link ArchetypeStorage} to run systems over.
+     */
+    public SystemScheduler(ArchetypeStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Constructs a new {@link SystemScheduler} running systems over the provided screen's {@link AbstractGameScreen#archetypes archetypes}.
+     * @param screen The {@link AbstractGameScreen} to run systems in.
+     */
+    public SystemScheduler(AbstractGameScreen screen) {
+        this(screen.archetypes);
+    }
+
+    /**
+     * Registers a system to this scheduler.
+     * @param id The ID to register the system with.
+     * @param system The system to register.
+     * @param <T> The type of system to register.
+     * @return The registered system.
+     */
+    public <T extends AbstractWorldSystem> T register(Identifier id, T system) {
+        if (types.contains(system.getClass()))
+            throw new IllegalRegistrationException("A system of type " + system.getClass().getSimpleName() + " is already registered!");
+
+        registry.register(id, system);
+        types.add(system.getClass());
+        systems.add(system);
+        stages = null;
+        return system;
+    }
+
+    /**
+     * Gets a registered system by ID.
+     * @param id The ID of the system to get.
+     * @param <T> The type of system to get.
+     * @return The system registered with the provided ID, or <code>null</code> if there is none.
+     */
+    @Nullable
+    public <T extends AbstractWorldSystem> T getOrNull(Identifier id) {
+        return registry.getOrNull(id);
+    }
+
+    /**
+     * Gets whether a system of the provided type is registered.
+     * @param type The class of the system.
+     * @return Whether a system of the provided type is registered.
+     */
+    public boolean has(Class<? extends AbstractWorldSystem> type) {
+        return types.contains(type);
+    }
+
+    /**
+     * Gets the amount of registered systems.
+     * @return The amount of registered systems.
+     */
+    public int size() {return systems.size;}
+
+    /**
+     * Gets how this scheduler runs its systems.
+     * @return The current {@link ExecutionMode}.
+     */
+    public ExecutionMode getExecutionMode() {return executionMode;}
+
+    /**
+     * Sets how this scheduler runs its systems.
+     * @param executionMode The new {@link ExecutionMode}.
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Sets the {@link ForkJoinPool} used to run systems in {@link ExecutionMode#PARALLEL} mode.
+     * Defaults to the {@link ForkJoinPool#commonPool() common pool}.
+     * @param pool The pool to run systems on.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Gets the amount of stages the systems are currently split into.
+     * @return The amount of stages of non-conflicting systems.
+     */
+    public int stageCount() {return getStages().size;}
+
+    /**
+     * Runs the update logic of every system over all of its matching archetypes.<br>
+     * Structural changes to the storage are {@link ArchetypeStorage#beginDeferred() deferred} until every system has run, in both execution modes.
+     * @param deltaTime The time since the last frame was rendered.
+     */
+    public void update(float deltaTime) {
+        if (systems.size == 0) return;
+
+        // Refresh every query's cached matches on this thread, so the systems only read them
+        for (int i = 0; i < systems.size; i++) {
+            systems.get(i).getQuery().matching(storage);
+        }
+
+        storage.beginDeferred();
+        try {
+            if (executionMode == ExecutionMode.SEQUENTIAL || pool.getParallelism() <= 1) {
+                for (int i = 0; i < systems.size; i++) {
+                    runUpdate(systems.get(i), deltaTime);
+                }
+            } else {
+                Array<Stage> stages = getStages();
+                for (int i = 0; i < stages.size; i++) {
+                    stages.get(i).run(deltaTime);
+                }
+            }
+        } finally {
+            storage.applyDeferred();
+        }
+    }
+
+    /**
+     * Runs the render logic of every system over all of its matching archetypes.
+     * @param batch The {@link Batch} to render with.
+     * @param deltaTime The time since the last frame was rendered.
+     */
+    public void render(Batch batch, float deltaTime) {
+        for (int i = 0; i < systems.size; i++) {
+            AbstractWorldSystem system = systems.get(i);
+
+            Array<Archetype> archetypes = system.getQuery().matching(storage);
+            for (int j = 0; j < archetypes.size; j++) {
+                Archetype archetype = archetypes.get(j);
+                if (archetype.size() > 0)
+                    system.render(archetype, batch, deltaTime);
+            }
+        }
+    }
+
+    /**
+     * Runs the update logic of a system over all of its matching archetypes.
+     * @param system The system to run.
+     * @param deltaTime The time since the last frame was rendered.
+     */
+    private void runUpdate(AbstractWorldSystem system, float deltaTime) {
+        system.beginUpdate(deltaTime);
+
+        Array<Archetype> archetypes = system.getQuery().matching(storage);
+        for (int j = 0; j < archetypes.size; j++) {
+            Archetype archetype = archetypes.get(j);
+            if (archetype.size() > 0)
+                system.update(archetype, deltaTime);
+        }
+    }
+
+    /**
+     * Gets the stages of non-conflicting systems, building them if the registered systems changed.<br>
+     * Every system is put into the first stage after the last stage holding a system it conflicts with,
+     * so conflicting systems keep their registration order.
+     * @return The stages, in execution order.
+     */
+    private Array<Stage> getStages() {
+        if (stages != null) return stages;
+
+        Array<Array<AbstractWorldSystem>> grouped = new Array<>();
+        for (AbstractWorldSystem system : systems) {
+            int target = 0;
+            for (int i = grouped.size - 1; i >= 0; i--) {
+                if (conflictsWithAny(system, grouped.get(i))) {
+                    target = i + 1;
+                    break;
+                }
+            }
+
+            if (target == grouped.size)
+                grouped.add(new Array<>());
+            grouped.get(target).add(system);
+        }
+
+        stages = new Array<>(grouped.size);
+        for (Array<AbstractWorldSystem> group : grouped) {
+            stages.add(new Stage(group));
+        }
+
+        return stages;
+    }
+
+    /**
+     * Checks whether a system conflicts with any system of a group.
+     * @param system The system to check.
+     * @param group The group of systems to check against.
+     * @return Whether the system conflicts with any system in the group.
+     */
+    private static boolean conflictsWithAny(AbstractWorldSystem system, Array<AbstractWorldSystem> group) {
+        for (AbstractWorldSystem other : group) {
+            if (system.conflictsWith(other)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * A group of systems that don't conflict with each other and can thus be run at the same time.<br>
+     * The tasks are allocated once and reinitialized every update.
+     */
+    private final class Stage extends RecursiveAction {
+        /**
+         * Stages are never serialized, this only satisfies {@link java.io.Serializable}, which every {@link RecursiveAction} implements.
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * The tasks running the systems of this stage.
+         */
+        private final SystemTask[] tasks;
+
+        /**
+         * Constructs a new {@link Stage} for the provided systems.
+         * @param systems The non-conflicting systems of the stage.
+         */
+        private Stage(Array<AbstractWorldSystem> systems) {
+            this.tasks = new SystemTask[systems.size];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = new SystemTask(systems.get(i));
+            }
+        }
+
+        /**
+         * Runs every system of this stage and waits for all of them to finish.
+         * @param deltaTime The time since the last frame was rendered.
+         */
+        private void run(float deltaTime) {
+            if (tasks.length == 1) {
+                runUpdate(tasks[0].system, deltaTime);
+                return;
+            }
+
+            for (SystemTask task : tasks) {
+                task.reinitialize();
+                task.deltaTime = deltaTime;
+            }
+
+            reinitialize();
+            pool.invoke(this);
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+
+    /**
+     * A reusable task running the update logic of a single system.
+     */
+    private final class SystemTask extends RecursiveAction {
+        /**
+         * Tasks are never serialized, this only satisfies {@link java.io.Serializable}, which every {@link RecursiveAction} implements.
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * The system to run.
+         */
+        private final AbstractWorldSystem system;
+        /**
+         * The time since the last frame was rendered.
+         */
+        private float deltaTime;
+
+        /**
+         * Constructs a new {@link SystemTask} for the provided system.
+         * @param system The system to run.
+         */
+        private SystemTask(AbstractWorldSystem system) {
+            this.system = system;
+        }
+
+        @Override
+        protected void compute() {
+            runUpdate(system, deltaTime);
+        }
+    }
+}
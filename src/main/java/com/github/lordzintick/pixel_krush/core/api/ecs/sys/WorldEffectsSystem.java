@@ -0,0 +1,43 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs.sys;
+
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
+import com.github.lordzintick.pixel_krush.core.api.ecs.Archetype;
+import com.github.lordzintick.pixel_krush.core.api.ecs.comp.AbstractComponent;
+import com.github.lordzintick.pixel_krush.core.api.ecs.comp.EffectsComponent;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+
+/**
+ * The world-level counterpart of {@link EffectsSystem}, ticking the {@link EffectsComponent} of every archetype-stored entity in one batch.<br>
+ * Registered to every {@link AbstractGameScreen} by default, which is why {@link com.github.lordzintick.pixel_krush.core.api.ecs.LivingEntity LivingEntities}
+ * that use archetype storage do not get their own {@link EffectsSystem}.<br>
+ * Effects can change any component of their entity, remove it, and spawn particles and objects, so this system is {@link #exclusive() exclusive}.
+ * That only gives it a stage of its own: the systems registered after it still run at the same time as each other, see {@link SystemScheduler}.
+ */
+public class WorldEffectsSystem extends AbstractWorldSystem {
+    /**
+     * The ID of the {@link EffectsComponent}.
+     */
+    private final Identifier effectsId;
+
+    /**
+     * Constructs a new {@link WorldEffectsSystem} and declares its components.
+     * @param screen The parent {@link AbstractGameScreen} of the system.
+     */
+    public WorldEffectsSystem(AbstractGameScreen screen) {
+        super(screen);
+        this.effectsId = screen.game.getId("effects");
+        writes(effectsId);
+        exclusive();
+    }
+
+    @Override
+    public void update(Archetype archetype, float deltaTime) {
+        AbstractComponent[] effects = archetype.column(column(archetype, effectsId));
+        // Iterate backwards, so an entity removed by one of its effects does not make the loop skip the entity swapped into its row
+        for (int row = archetype.size() - 1; row >= 0; row--) {
+            EffectsComponent effectsComponent = (EffectsComponent) effects[row];
+            effectsComponent.tickAll(deltaTime);
+            effectsComponent.flush();
+        }
+    }
+}
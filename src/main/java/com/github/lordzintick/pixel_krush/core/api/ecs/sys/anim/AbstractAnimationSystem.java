@@ -8,6 +8,7 @@ import com.github.lordzintick.pixel_krush.core.api.ecs.comp.AnimationComponent;
 import com.github.lordzintick.pixel_krush.core.api.ecs.comp.TextureArrayComponent;
 import com.github.lordzintick.pixel_krush.core.api.ecs.comp.ValueComponent;
 import com.github.lordzintick.pixel_krush.core.api.ecs.sys.ColorModifierSystem;
+import com.github.lordzintick.pixel_krush.core.api.ecs.sys.ComponentAccess;
 import com.github.lordzintick.pixel_krush.core.util.Logger;
 
 /**
@@ -38,10 +39,10 @@ public abstract class AbstractAnimationSystem extends ColorModifierSystem {
      */
     public AbstractAnimationSystem(Entity parent) {
         super(parent);
-        textures = loadDependency(parent.getId("textures"));
+        textures = loadDependency(parent.getId("textures"), ComponentAccess.READ);
         animation = loadDependency(parent.getId("animation"));
-        moving = loadDependency(parent.getId("moving"));
-        angle = loadDependency(parent.getId("angle"));
+        moving = loadDependency(parent.getId("moving"), ComponentAccess.READ);
+        angle = loadDependency(parent.getId("angle"), ComponentAccess.READ);
     }
 
     @Override
@@ -56,6 +57,6 @@ public abstract class AbstractAnimationSystem extends ColorModifierSystem {
      * @param texture The {@link TextureRegion} to draw.
      */
     protected void draw(Batch batch, TextureRegion texture) {
-        batch.draw(texture, parent.x, parent.y, (float) parent.width / 2 * parent.scale, (float) parent.height / 2 * parent.scale, parent.width * parent.scale, parent.height * parent.scale, 1, 1, angle.get());
+        batch.draw(texture, parent.getRenderX(), parent.getRenderY(), (float) parent.width / 2 * parent.scale, (float) parent.height / 2 * parent.scale, parent.width * parent.scale, parent.height * parent.scale, 1, 1, angle.get());
     }
 }
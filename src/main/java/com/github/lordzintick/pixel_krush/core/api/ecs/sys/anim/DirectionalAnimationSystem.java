@@ -3,6 +3,7 @@ package com.github.lordzintick.pixel_krush.core.api.ecs.sys.anim;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.github.lordzintick.pixel_krush.core.api.ecs.Entity;
 import com.github.lordzintick.pixel_krush.core.api.ecs.comp.ValueComponent;
+import com.github.lordzintick.pixel_krush.core.api.ecs.sys.ComponentAccess;
 import com.github.lordzintick.pixel_krush.core.util.Direction;
 
 /**
@@ -20,7 +21,7 @@ public class DirectionalAnimationSystem extends AbstractAnimationSystem {
      */
     public DirectionalAnimationSystem(Entity parent) {
         super(parent);
-        direction = loadDependency(parent.getId("direction"));
+        direction = loadDependency(parent.getId("direction"), ComponentAccess.READ);
     }
 
     @Override
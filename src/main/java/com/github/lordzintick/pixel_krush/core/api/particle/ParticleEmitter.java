@@ -0,0 +1,413 @@
+package com.github.lordzintick.pixel_krush.core.api.particle;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Interpolation;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
+import com.github.lordzintick.pixel_krush.core.api.ecs.Entity;
+import com.github.lordzintick.pixel_krush.core.api.ecs.comp.ParticleEmitterComponent;
+
+import java.util.Random;
+
+/**
+ * A reusable, immutable description of how to spawn particles into a {@link ParticleEngine}:
+ * how many to spawn (continuously or in bursts), with what randomized velocity, scale and lifetime, and how their scale and alpha change over their lifetime.<br>
+ * One emitter can be shared by any amount of callers. Spawn bursts directly with {@link #burst(AbstractGameScreen, float, float)},
+ * or attach the emitter to an {@link Entity} with a {@link ParticleEmitterComponent} to spawn particles at its {@link #rate} while following it.<br>
+ * Create new emitters with {@link #builder(TextureRegion[])}.
+ */
+public final class ParticleEmitter {
+    /**
+     * The animation frames of every spawned particle.
+     */
+    public final TextureRegion[] frames;
+    /**
+     * The amount of particles spawned per second while the emitter is running continuously.
+     */
+    public final float rate;
+    /**
+     * The amount of particles spawned by {@link #burst(AbstractGameScreen, float, float)}.
+     */
+    public final int burstCount;
+    /**
+     * The time between animation frames of every spawned particle, in seconds.
+     */
+    public final float frameTime;
+    /**
+     * The range of lifetimes of the spawned particles, in seconds.
+     */
+    private final float minLifeTime, maxLifeTime;
+    /**
+     * The range of horizontal velocities of the spawned particles, per second.
+     */
+    private final float minVelocityX, maxVelocityX;
+    /**
+     * The range of vertical velocities of the spawned particles, per second.
+     */
+    private final float minVelocityY, maxVelocityY;
+    /**
+     * The range of rotation speeds of the spawned particles, in degrees per second.
+     */
+    private final float minSpin, maxSpin;
+    /**
+     * The range of changes in scale of the spawned particles, per second.
+     */
+    private final float minGrowth, maxGrowth;
+    /**
+     * The range of initial scales of the spawned particles.
+     */
+    private final float minScale, maxScale;
+    /**
+     * The maximum horizontal and vertical distance a particle is spawned from the emitting position.
+     */
+    private final float spreadX, spreadY;
+    /**
+     * The curve the scale multiplier follows over a particle's lifetime, going from {@link #scaleFrom} to {@link #scaleTo}.
+     */
+    private final Interpolation scaleCurve;
+    /**
+     * The scale multipliers at the start and end of a particle's lifetime.
+     */
+    private final float scaleFrom, scaleTo;
+    /**
+     * The curve the alpha follows over a particle's lifetime, going from {@link #alphaFrom} to {@link #alphaTo}.
+     */
+    private final Interpolation alphaCurve;
+    /**
+     * The alpha at the start and end of a particle's lifetime.
+     */
+    private final float alphaFrom, alphaTo;
+
+    /**
+     * A <code>private</code> constructor used by {@link ParticleEmitter.Builder} to create a new emitter.
+     * @param builder The builder holding the emitter's configuration.
+     */
+    private ParticleEmitter(Builder builder) {
+        this.frames = builder.frames;
+        this.rate = builder.rate;
+        this.burstCount = builder.burstCount;
+        this.frameTime = builder.frameTime;
+        this.minLifeTime = builder.minLifeTime;
+        this.maxLifeTime = builder.maxLifeTime;
+        this.minVelocityX = builder.minVelocityX;
+        this.maxVelocityX = builder.maxVelocityX;
+        this.minVelocityY = builder.minVelocityY;
+        this.maxVelocityY = builder.maxVelocityY;
+        this.minSpin = builder.minSpin;
+        this.maxSpin = builder.maxSpin;
+        this.minGrowth = builder.minGrowth;
+        this.maxGrowth = builder.maxGrowth;
+        this.minScale = builder.minScale;
+        this.maxScale = builder.maxScale;
+        this.spreadX = builder.spreadX;
+        this.spreadY = builder.spreadY;
+        this.scaleCurve = builder.scaleCurve;
+        this.scaleFrom = builder.scaleFrom;
+        this.scaleTo = builder.scaleTo;
+        this.alphaCurve = builder.alphaCurve;
+        this.alphaFrom = builder.alphaFrom;
+        this.alphaTo = builder.alphaTo;
+    }
+
+    /**
+     * Spawns {@link #burstCount} particles at the provided position.
+     * @param screen The {@link AbstractGameScreen} to spawn the particles in.
+     * @param x The x position to spawn the particles around.
+     * @param y The y position to spawn the particles around.
+     */
+    public void burst(AbstractGameScreen screen, float x, float y) {
+        emit(screen, x, y, burstCount);
+    }
+
+    /**
+     * Spawns the provided amount of particles at the provided position.<br>
+     * The engine is grown at most once for the whole batch, so this does not allocate once the engine has room.
+     * @param screen The {@link AbstractGameScreen} to spawn the particles in.
+     * @param x The x position to spawn the particles around.
+     * @param y The y position to spawn the particles around.
+     * @param count The amount of particles to spawn.
+     */
+    public void emit(AbstractGameScreen screen, float x, float y, int count) {
+        if (count <= 0) return;
+
+        ParticleEngine engine = screen.particles;
+        Random random = screen.game.getRandom();
+        engine.ensureCapacity(engine.size() + count);
+        for (int i = 0; i < count; i++) {
+            engine.spawn(this, frames,
+                    x + range(random, -spreadX, spreadX), y + range(random, -spreadY, spreadY),
+                    range(random, minVelocityX, maxVelocityX), range(random, minVelocityY, maxVelocityY),
+                    range(random, minGrowth, maxGrowth), range(random, minSpin, maxSpin),
+                    range(random, minScale, maxScale), frameTime, range(random, minLifeTime, maxLifeTime));
+        }
+    }
+
+    /**
+     * Spawns the particles due over a period of time at this emitter's {@link #rate}, carrying fractional particles over to the next call.
+     * @param screen The {@link AbstractGameScreen} to spawn the particles in.
+     * @param x The x position to spawn the particles around.
+     * @param y The y position to spawn the particles around.
+     * @param deltaTime The time since the last call, in seconds.
+     * @param carry The fractional amount of particles left over from the last call.
+     * @return The fractional amount of particles left over from this call, to pass to the next call.
+     */
+    public float emitContinuous(AbstractGameScreen screen, float x, float y, float deltaTime, float carry) {
+        float due = carry + rate * deltaTime;
+        int count = (int) due;
+        emit(screen, x, y, count);
+        return due - count;
+    }
+
+    /**
+     * Gets the scale multiplier of a particle at a point in its lifetime.
+     * @param progress The age of the particle divided by its lifetime, from 0 to 1.
+     * @return The scale multiplier to draw the particle with.
+     */
+    public float scaleAt(float progress) {
+        return scaleCurve.apply(scaleFrom, scaleTo, progress);
+    }
+
+    /**
+     * Gets the alpha of a particle at a point in its lifetime.
+     * @param progress The age of the particle divided by its lifetime, from 0 to 1.
+     * @return The alpha to draw the particle with.
+     */
+    public float alphaAt(float progress) {
+        return alphaCurve.apply(alphaFrom, alphaTo, progress);
+    }
+
+    /**
+     * Picks a random value in a range.
+     * @param random The {@link Random} to use.
+     * @param min The minimum value.
+     * @param max The maximum value.
+     * @return A random value between <code>min</code> and <code>max</code>.
+     */
+    private static float range(Random random, float min, float max) {
+        return min == max ? min : min + random.nextFloat() * (max - min);
+    }
+
+    /**
+     * @param frames The animation frames of the particles of the {@link ParticleEmitter} that will result from the builder.
+     * @return A newly created {@link ParticleEmitter.Builder} for simple initialization of an emitter.
+     */
+    public static Builder builder(TextureRegion[] frames) {return new Builder(frames);}
+
+    /**
+     * A builder class used to create a {@link ParticleEmitter} easily and straightforwardly.<br>
+     * By default, an emitter spawns non-moving particles of scale 1 that live for one second, with no continuous rate and a burst of one particle.
+     */
+    public static final class Builder {
+        /**
+         * The animation frames of the spawned particles.
+         */
+        private final TextureRegion[] frames;
+        /**
+         * See {@link ParticleEmitter#rate}.
+         */
+        private float rate = 0;
+        /**
+         * See {@link ParticleEmitter#burstCount}.
+         */
+        private int burstCount = 1;
+        /**
+         * See {@link ParticleEmitter#frameTime}.
+         */
+        private float frameTime = 0.1f;
+        /**
+         * See {@link ParticleEmitter#minLifeTime}.
+         */
+        private float minLifeTime = 1, maxLifeTime = 1;
+        /**
+         * See {@link ParticleEmitter#minVelocityX}.
+         */
+        private float minVelocityX = 0, maxVelocityX = 0;
+        /**
+         * See {@link ParticleEmitter#minVelocityY}.
+         */
+        private float minVelocityY = 0, maxVelocityY = 0;
+        /**
+         * See {@link ParticleEmitter#minSpin}.
+         */
+        private float minSpin = 0, maxSpin = 0;
+        /**
+         * See {@link ParticleEmitter#minGrowth}.
+         */
+        private float minGrowth = 0, maxGrowth = 0;
+        /**
+         * See {@link ParticleEmitter#minScale}.
+         */
+        private float minScale = 1, maxScale = 1;
+        /**
+         * See {@link ParticleEmitter#spreadX}.
+         */
+        private float spreadX = 0, spreadY = 0;
+        /**
+         * See {@link ParticleEmitter#scaleCurve}.
+         */
+        private Interpolation scaleCurve = Interpolation.linear;
+        /**
+         * See {@link ParticleEmitter#scaleFrom}.
+         */
+        private float scaleFrom = 1, scaleTo = 1;
+        /**
+         * See {@link ParticleEmitter#alphaCurve}.
+         */
+        private Interpolation alphaCurve = Interpolation.linear;
+        /**
+         * See {@link ParticleEmitter#alphaFrom}.
+         */
+        private float alphaFrom = 1, alphaTo = 1;
+
+        /**
+         * A <code>private</code> constructor used by {@link ParticleEmitter#builder(TextureRegion[])} for constructing a new builder.
+         * @param frames The animation frames of the spawned particles.
+         */
+        private Builder(TextureRegion[] frames) {
+            if (frames == null || frames.length == 0)
+                throw new IllegalArgumentException("A particle emitter needs at least one frame");
+            this.frames = frames;
+        }
+
+        /**
+         * Sets the amount of particles spawned per second while the emitter is running continuously.
+         * @param particlesPerSecond The continuous spawn rate.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder rate(float particlesPerSecond) {
+            this.rate = particlesPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets the amount of particles spawned per burst.
+         * @param count The amount of particles per burst.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder burst(int count) {
+            this.burstCount = count;
+            return this;
+        }
+
+        /**
+         * Sets the time between animation frames of the spawned particles.
+         * @param frameTime The time between frames, in seconds.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder frameTime(float frameTime) {
+            this.frameTime = frameTime;
+            return this;
+        }
+
+        /**
+         * Sets the range of lifetimes of the spawned particles.
+         * @param min The minimum lifetime, in seconds.
+         * @param max The maximum lifetime, in seconds.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder lifeTime(float min, float max) {
+            this.minLifeTime = min;
+            this.maxLifeTime = max;
+            return this;
+        }
+
+        /**
+         * Sets the range of velocities of the spawned particles.
+         * @param minX The minimum horizontal velocity, per second.
+         * @param maxX The maximum horizontal velocity, per second.
+         * @param minY The minimum vertical velocity, per second.
+         * @param maxY The maximum vertical velocity, per second.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder velocity(float minX, float maxX, float minY, float maxY) {
+            this.minVelocityX = minX;
+            this.maxVelocityX = maxX;
+            this.minVelocityY = minY;
+            this.maxVelocityY = maxY;
+            return this;
+        }
+
+        /**
+         * Sets the range of rotation speeds of the spawned particles.
+         * @param min The minimum rotation speed, in degrees per second.
+         * @param max The maximum rotation speed, in degrees per second.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder spin(float min, float max) {
+            this.minSpin = min;
+            this.maxSpin = max;
+            return this;
+        }
+
+        /**
+         * Sets the range of changes in scale of the spawned particles. Particles are removed once their scale reaches 0.
+         * @param min The minimum change in scale, per second.
+         * @param max The maximum change in scale, per second.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder growth(float min, float max) {
+            this.minGrowth = min;
+            this.maxGrowth = max;
+            return this;
+        }
+
+        /**
+         * Sets the range of initial scales of the spawned particles.
+         * @param min The minimum scale relative to the texture's native size.
+         * @param max The maximum scale relative to the texture's native size.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder scale(float min, float max) {
+            this.minScale = min;
+            this.maxScale = max;
+            return this;
+        }
+
+        /**
+         * Sets how far from the emitting position particles can spawn.
+         * @param x The maximum horizontal distance.
+         * @param y The maximum vertical distance.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder spread(float x, float y) {
+            this.spreadX = x;
+            this.spreadY = y;
+            return this;
+        }
+
+        /**
+         * Sets the curve of the scale multiplier over a particle's lifetime.
+         * @param curve The {@link Interpolation} to follow.
+         * @param from The scale multiplier at the start of a particle's lifetime.
+         * @param to The scale multiplier at the end of a particle's lifetime.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder scaleCurve(Interpolation curve, float from, float to) {
+            this.scaleCurve = curve;
+            this.scaleFrom = from;
+            this.scaleTo = to;
+            return this;
+        }
+
+        /**
+         * Sets the curve of the alpha over a particle's lifetime.
+         * @param curve The {@link Interpolation} to follow.
+         * @param from The alpha at the start of a particle's lifetime.
+         * @param to The alpha at the end of a particle's lifetime.
+         * @return The newly modified {@link Builder} instance.
+         */
+        public Builder alphaCurve(Interpolation curve, float from, float to) {
+            this.alphaCurve = curve;
+            this.alphaFrom = from;
+            this.alphaTo = to;
+            return this;
+        }
+
+        /**
+         * Builds this builder into a new {@link ParticleEmitter} based on this builder's configuration.
+         * @return The newly built {@link ParticleEmitter} resulting from this builder's configuration.
+         */
+        public ParticleEmitter build() {
+            return new ParticleEmitter(this);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.github.lordzintick.pixel_krush.core.api.particle;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
+
+import java.util.Arrays;
+
+/**
+ * A per-screen particle system that stores every particle as one slot in a set of parallel, preallocated arrays instead of as a game object.<br>
+ * Particles are updated and drawn in one tight loop each, dead particles are removed by moving the last particle into their slot,
+ * and the arrays are only ever grown, so spawning and removing particles does not allocate once the engine has warmed up.<br>
+ * Every {@link AbstractGameScreen} has its own engine in {@link AbstractGameScreen#particles}.<br>
+ * Particles are not game objects, so they are no longer drawn interleaved with the screen's objects:
+ * the screen draws all of them after every game object, and removing a particle changes the order the remaining ones are drawn in.
+ */
+public final class ParticleEngine {
+    /**
+     * The default amount of particles the engine has room for before growing.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+    /**
+     * The default maximum amount of live particles.
+     */
+    public static final int DEFAULT_MAX_PARTICLES = 1 << 17;
+
+    /**
+     * The maximum amount of live particles. Particles spawned while the engine is full are dropped.
+     */
+    private final int maxParticles;
+    /**
+     * The amount of live particles.
+     */
+    private int size = 0;
+
+    /**
+     * The animation frames of every particle.
+     */
+    private TextureRegion[][] frames;
+    /**
+     * The position of every particle.
+     */
+    private float[] x, y;
+    /**
+     * The velocity of every particle, per second.
+     */
+    private float[] velocityX, velocityY, velocityScale, velocityAngle;
+    /**
+     * The current scale and angle of every particle.
+     */
+    private float[] scale, angle;
+    /**
+     * The age and the total lifetime of every particle, in seconds.
+     */
+    private float[] age, lifeTime;
+    /**
+     * The time between animation frames and the time since the last frame change of every particle, in seconds.
+     */
+    private float[] frameTime, animTime;
+    /**
+     * The current animation frame of every particle.
+     */
+    private int[] frame;
+    /**
+     * The {@link ParticleEmitter} that spawned every particle, or <code>null</code> for particles without lifetime curves.
+     */
+    private ParticleEmitter[] emitters;
+    /**
+     * The scale and alpha every particle is drawn with, after applying its emitter's lifetime curves.
+     */
+    private float[] drawScale, alpha;
+
+    /**
+     * Constructs a new {@link ParticleEngine} with the {@link #DEFAULT_CAPACITY default capacity} and {@link #DEFAULT_MAX_PARTICLES maximum}.
+     */
+    public ParticleEngine() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_PARTICLES);
+    }
+
+    /**
+     * Constructs a new {@link ParticleEngine} with the provided capacity and maximum.
+     * @param initialCapacity The amount of particles to preallocate room for.
+     * @param maxParticles The maximum amount of live particles.
+     */
+    public ParticleEngine(int initialCapacity, int maxParticles) {
+        if (initialCapacity <= 0 || maxParticles < initialCapacity)
+            throw new IllegalArgumentException("Invalid particle capacity " + initialCapacity + " (max " + maxParticles + ")");
+
+        this.maxParticles = maxParticles;
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Gets the amount of live particles.
+     * @return The amount of particles currently in the engine.
+     */
+    public int size() {return size;}
+
+    /**
+     * Gets the amount of particles the engine has room for without growing.
+     * @return The current capacity of the particle arrays.
+     */
+    public int capacity() {return x.length;}
+
+    /**
+     * Gets the maximum amount of live particles.
+     * @return The maximum amount of particles in this engine.
+     */
+    public int getMaxParticles() {return maxParticles;}
+
+    /**
+     * Makes sure the engine has room for the provided amount of particles, so a big burst doesn't grow the arrays in the middle of a frame.
+     * @param capacity The amount of particles to have room for. Capped at the {@link #getMaxParticles() maximum}.
+     */
+    public void ensureCapacity(int capacity) {
+        capacity = Math.min(capacity, maxParticles);
+        if (capacity > x.length)
+            allocate(capacity);
+    }
+
+    /**
+     * Spawns a new particle.
+     * @param frames An array of {@link TextureRegion}s representing the animation frames of the particle. The array is shared, not copied.
+     * @param x The x position of the particle.
+     * @param y The y position of the particle.
+     * @param velocityX The horizontal velocity of the particle, per second.
+     * @param velocityY The vertical velocity of the particle, per second.
+     * @param velocityScale The change in scale of the particle, per second.
+     * @param velocityAngle The change in angle of the particle, in degrees per second.
+     * @param scale The initial scale of the particle relative to its texture's native size.
+     * @param frameTime The time between frames of animation for the particle, in seconds.
+     * @param lifeTime The amount of time, in seconds, that the particle should exist for.
+     * @return The slot of the new particle, or -1 if the engine is full and the particle was dropped.
+     */
+    public int spawn(TextureRegion[] frames, float x, float y, float velocityX, float velocityY, float velocityScale, float velocityAngle, float scale, float frameTime, float lifeTime) {
+        return spawn(null, frames, x, y, velocityX, velocityY, velocityScale, velocityAngle, scale, frameTime, lifeTime);
+    }
+
+    /**
+     * Spawns a new particle whose scale and alpha follow the lifetime curves of a {@link ParticleEmitter}.
+     * @param emitter The emitter whose curves to apply, or <code>null</code> for none.
+     * @param frames An array of {@link TextureRegion}s representing the animation frames of the particle. The array is shared, not copied.
+     * @param x The x position of the particle.
+     * @param y The y position of the particle.
+     * @param velocityX The horizontal velocity of the particle, per second.
+     * @param velocityY The vertical velocity of the particle, per second.
+     * @param velocityScale The change in scale of the particle, per second.
+     * @param velocityAngle The change in angle of the particle, in degrees per second.
+     * @param scale The initial scale of the particle relative to its texture's native size.
+     * @param frameTime The time between frames of animation for the particle, in seconds.
+     * @param lifeTime The amount of time, in seconds, that the particle should exist for.
+     * @return The slot of the new particle, or -1 if the engine is full and the particle was dropped.
+     */
+    public int spawn(ParticleEmitter emitter, TextureRegion[] frames, float x, float y, float velocityX, float velocityY, float velocityScale, float velocityAngle, float scale, float frameTime, float lifeTime) {
+        if (size == this.x.length) {
+            if (size == maxParticles) return -1;
+            allocate(Math.min(size * 2, maxParticles));
+        }
+
+        int i = size++;
+        this.frames[i] = frames;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.velocityX[i] = velocityX;
+        this.velocityY[i] = velocityY;
+        this.velocityScale[i] = velocityScale;
+        this.velocityAngle[i] = velocityAngle;
+        this.scale[i] = scale;
+        this.angle[i] = 0;
+        this.age[i] = 0;
+        this.lifeTime[i] = lifeTime;
+        this.frameTime[i] = frameTime;
+        this.animTime[i] = 0;
+        this.frame[i] = 0;
+        this.emitters[i] = emitter;
+        this.drawScale[i] = emitter == null ? scale : scale * emitter.scaleAt(0);
+        this.alpha[i] = emitter == null ? 1 : emitter.alphaAt(0);
+        return i;
+    }
+
+    /**
+     * Moves, animates and ages every particle, removing the ones that outlived their lifetime or shrank to nothing.
+     * @param deltaTime The time since the last frame was rendered.
+     */
+    public void update(float deltaTime) {
+        int i = 0;
+        while (i < size) {
+            float newAge = age[i] + deltaTime;
+            float newScale = Math.max(0, scale[i] + velocityScale[i] * deltaTime);
+            if (newAge >= lifeTime[i] || newScale <= 0) {
+                // The last particle is moved into this slot, so it has to be updated before moving on
+                remove(i);
+                continue;
+            }
+
+            age[i] = newAge;
+            scale[i] = newScale;
+            x[i] += velocityX[i] * deltaTime;
+            y[i] += velocityY[i] * deltaTime;
+            angle[i] += velocityAngle[i] * deltaTime;
+
+            ParticleEmitter emitter = emitters[i];
+            if (emitter == null) {
+                drawScale[i] = newScale;
+            } else {
+                float progress = newAge / lifeTime[i];
+                drawScale[i] = newScale * emitter.scaleAt(progress);
+                alpha[i] = emitter.alphaAt(progress);
+            }
+
+            animTime[i] += deltaTime;
+            if (animTime[i] >= frameTime[i]) {
+                animTime[i] = 0;
+                frame[i] = frame[i] >= frames[i].length - 1 ? 0 : frame[i] + 1;
+            }
+
+            i++;
+        }
+    }
+
+    /**
+     * Draws every particle, in no particular order.
+     * @param batch The {@link Batch} to draw with.
+     */
+    public void render(Batch batch) {
+        Color color = batch.getColor();
+        float red = color.r, green = color.g, blue = color.b, batchAlpha = color.a;
+        float currentAlpha = 1;
+
+        for (int i = 0; i < size; i++) {
+            // Only touch the batch color when it actually changes, since most particles are fully opaque
+            if (alpha[i] != currentAlpha) {
+                currentAlpha = alpha[i];
+                batch.setColor(red, green, blue, batchAlpha * currentAlpha);
+            }
+
+            TextureRegion region = frames[i][frame[i]];
+            batch.draw(region, x[i], y[i], 0, 0, region.getRegionWidth(), region.getRegionHeight(), drawScale[i], drawScale[i], angle[i]);
+        }
+
+        if (currentAlpha != 1)
+            batch.setColor(red, green, blue, batchAlpha);
+    }
+
+    /**
+     * Removes every particle.
+     */
+    public void clear() {
+        Arrays.fill(frames, 0, size, null);
+        Arrays.fill(emitters, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Removes a particle by moving the last particle into its slot.
+     * @param i The slot of the particle to remove.
+     */
+    private void remove(int i) {
+        int last = --size;
+        if (i != last) {
+            frames[i] = frames[last];
+            x[i] = x[last];
+            y[i] = y[last];
+            velocityX[i] = velocityX[last];
+            velocityY[i] = velocityY[last];
+            velocityScale[i] = velocityScale[last];
+            velocityAngle[i] = velocityAngle[last];
+            scale[i] = scale[last];
+            angle[i] = angle[last];
+            age[i] = age[last];
+            lifeTime[i] = lifeTime[last];
+            frameTime[i] = frameTime[last];
+            animTime[i] = animTime[last];
+            frame[i] = frame[last];
+            emitters[i] = emitters[last];
+            drawScale[i] = drawScale[last];
+            alpha[i] = alpha[last];
+        }
+
+        frames[last] = null;
+        emitters[last] = null;
+    }
+
+    /**
+     * Grows (or initially allocates) every particle array to the provided capacity, keeping the live particles.
+     * @param capacity The new capacity.
+     */
+    private void allocate(int capacity) {
+        if (frames == null) {
+            frames = new TextureRegion[capacity][];
+            x = new float[capacity];
+            y = new float[capacity];
+            velocityX = new float[capacity];
+            velocityY = new float[capacity];
+            velocityScale = new float[capacity];
+            velocityAngle = new float[capacity];
+            scale = new float[capacity];
+            angle = new float[capacity];
+            age = new float[capacity];
+            lifeTime = new float[capacity];
+            frameTime = new float[capacity];
+            animTime = new float[capacity];
+            frame = new int[capacity];
+            emitters = new ParticleEmitter[capacity];
+            drawScale = new float[capacity];
+            alpha = new float[capacity];
+            return;
+        }
+
+        frames = Arrays.copyOf(frames, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        velocityScale = Arrays.copyOf(velocityScale, capacity);
+        velocityAngle = Arrays.copyOf(velocityAngle, capacity);
+        scale = Arrays.copyOf(scale, capacity);
+        angle = Arrays.copyOf(angle, capacity);
+        age = Arrays.copyOf(age, capacity);
+        lifeTime = Arrays.copyOf(lifeTime, capacity);
+        frameTime = Arrays.copyOf(frameTime, capacity);
+        animTime = Arrays.copyOf(animTime, capacity);
+        frame = Arrays.copyOf(frame, capacity);
+        emitters = Arrays.copyOf(emitters, capacity);
+        drawScale = Arrays.copyOf(drawScale, capacity);
+        alpha = Arrays.copyOf(alpha, capacity);
+    }
+}
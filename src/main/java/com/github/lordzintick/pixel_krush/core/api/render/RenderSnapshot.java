@@ -0,0 +1,94 @@
+package com.github.lordzintick.pixel_krush.core.api.render;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+
+import java.util.Arrays;
+
+/**
+ * A recorded frame of game rendering: every quad drawn into a {@link SnapshotBatch}, in the vertex format of {@link Batch},
+ * grouped into runs of consecutive quads with the same {@link Texture}.<br>
+ * Snapshots are recorded on the simulation thread and replayed into the real batch on the render thread, see {@link #draw(Batch)}.
+ * Their arrays are only ever grown, so recording a frame doesn't allocate once the snapshot has warmed up.
+ */
+public final class RenderSnapshot {
+    /**
+     * The amount of floats per quad in the {@link Batch} vertex format.
+     */
+    public static final int QUAD_SIZE = 20;
+
+    /**
+     * The recorded vertices.
+     */
+    private float[] vertices = new float[QUAD_SIZE * 256];
+    /**
+     * The amount of recorded floats in the {@link #vertices} array.
+     */
+    private int vertexCount = 0;
+    /**
+     * The texture of every run of quads.
+     */
+    private Texture[] textures = new Texture[16];
+    /**
+     * The index in the {@link #vertices} array at which every run of quads ends.
+     */
+    private int[] runEnds = new int[16];
+    /**
+     * The amount of runs of quads.
+     */
+    private int runCount = 0;
+
+    /**
+     * Removes every recorded quad.
+     */
+    public void clear() {
+        Arrays.fill(textures, 0, runCount, null);
+        vertexCount = 0;
+        runCount = 0;
+    }
+
+    /**
+     * Gets the amount of recorded quads.
+     * @return The amount of quads in this snapshot.
+     */
+    public int quadCount() {return vertexCount / QUAD_SIZE;}
+
+    /**
+     * Records vertices drawn with a texture.
+     * @param texture The {@link Texture} the vertices are drawn with.
+     * @param source The array holding the vertices, in the {@link Batch} vertex format.
+     * @param offset The index of the first vertex float in the source array.
+     * @param count The amount of floats to record, a multiple of {@link #QUAD_SIZE}.
+     */
+    public void add(Texture texture, float[] source, int offset, int count) {
+        if (vertexCount + count > vertices.length)
+            vertices = Arrays.copyOf(vertices, Math.max(vertices.length * 2, vertexCount + count));
+        System.arraycopy(source, offset, vertices, vertexCount, count);
+        vertexCount += count;
+
+        if (runCount > 0 && textures[runCount - 1] == texture) {
+            runEnds[runCount - 1] = vertexCount;
+            return;
+        }
+
+        if (runCount == textures.length) {
+            textures = Arrays.copyOf(textures, runCount * 2);
+            runEnds = Arrays.copyOf(runEnds, runCount * 2);
+        }
+        textures[runCount] = texture;
+        runEnds[runCount] = vertexCount;
+        runCount++;
+    }
+
+    /**
+     * Replays every recorded quad into a batch.
+     * @param batch The {@link Batch} to draw with, which must be between {@link Batch#begin()} and {@link Batch#end()}.
+     */
+    public void draw(Batch batch) {
+        int start = 0;
+        for (int i = 0; i < runCount; i++) {
+            batch.draw(textures[i], vertices, start, runEnds[i] - start);
+            start = runEnds[i];
+        }
+    }
+}
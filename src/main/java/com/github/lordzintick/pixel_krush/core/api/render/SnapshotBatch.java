@@ -0,0 +1,327 @@
+package com.github.lordzintick.pixel_krush.core.api.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * A {@link Batch} that doesn't draw anything, but records every quad into a {@link RenderSnapshot} instead.<br>
+ * It builds the same vertices a {@link com.badlogic.gdx.graphics.g2d.SpriteBatch SpriteBatch} would, without touching OpenGL, so it can be used from any thread.
+ * The snapshot can then be replayed into a real batch on the render thread.<br>
+ * Only the color and the drawn quads are recorded. Blending, shader and matrix changes are ignored, as the snapshot is always replayed with the state of the batch it is drawn into.
+ */
+public final class SnapshotBatch implements Batch {
+    /**
+     * A scratch array holding the vertices of the quad being drawn.
+     */
+    private final float[] quad = new float[RenderSnapshot.QUAD_SIZE];
+    /**
+     * The current color of this batch.
+     */
+    private final Color color = new Color(1, 1, 1, 1);
+    /**
+     * The current color of this batch, packed into a float.
+     */
+    private float colorPacked = Color.WHITE_FLOAT_BITS;
+    /**
+     * The projection matrix of this batch. Stored, but not applied.
+     */
+    private final Matrix4 projectionMatrix = new Matrix4();
+    /**
+     * The transform matrix of this batch. Stored, but not applied.
+     */
+    private final Matrix4 transformMatrix = new Matrix4();
+    /**
+     * The snapshot quads are recorded into, or <code>null</code> if none was set.
+     */
+    private RenderSnapshot target;
+    /**
+     * Whether this batch is between {@link #begin()} and {@link #end()}.
+     */
+    private boolean drawing = false;
+
+    /**
+     * Sets the snapshot quads are recorded into.
+     * @param target The {@link RenderSnapshot} to record into.
+     */
+    public void setTarget(RenderSnapshot target) {
+        this.target = target;
+    }
+
+    @Override
+    public void begin() {
+        if (drawing)
+            throw new IllegalStateException("SnapshotBatch.end must be called before begin.");
+        if (target == null)
+            throw new IllegalStateException("SnapshotBatch has no target snapshot.");
+        drawing = true;
+    }
+
+    @Override
+    public void end() {
+        if (!drawing)
+            throw new IllegalStateException("SnapshotBatch.begin must be called before end.");
+        drawing = false;
+    }
+
+    @Override
+    public void setColor(Color tint) {
+        color.set(tint);
+        colorPacked = tint.toFloatBits();
+    }
+
+    @Override
+    public void setColor(float r, float g, float b, float a) {
+        color.set(r, g, b, a);
+        colorPacked = color.toFloatBits();
+    }
+
+    @Override
+    public Color getColor() {return color;}
+
+    @Override
+    public void setPackedColor(float packedColor) {
+        Color.abgr8888ToColor(color, packedColor);
+        colorPacked = packedColor;
+    }
+
+    @Override
+    public float getPackedColor() {return colorPacked;}
+
+    @Override
+    public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+        float invWidth = 1f / texture.getWidth(), invHeight = 1f / texture.getHeight();
+        float u = srcX * invWidth, v = (srcY + srcHeight) * invHeight;
+        float u2 = (srcX + srcWidth) * invWidth, v2 = srcY * invHeight;
+        if (flipX) {float tmp = u; u = u2; u2 = tmp;}
+        if (flipY) {float tmp = v; v = v2; v2 = tmp;}
+
+        corners(x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+        uvs(u, v, u, v2, u2, v2, u2, v);
+        record(texture);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+        draw(texture, x, y, 0, 0, width, height, 1, 1, 0, srcX, srcY, srcWidth, srcHeight, flipX, flipY);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+        draw(texture, x, y, 0, 0, srcWidth, srcHeight, 1, 1, 0, srcX, srcY, srcWidth, srcHeight, false, false);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+        corners(x, y, 0, 0, width, height, 1, 1, 0);
+        uvs(u, v, u, v2, u2, v2, u2, v);
+        record(texture);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y) {
+        draw(texture, x, y, texture.getWidth(), texture.getHeight());
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height) {
+        draw(texture, x, y, width, height, 0, 1, 1, 0);
+    }
+
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        checkDrawing();
+        target.add(texture, spriteVertices, offset, count);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y) {
+        draw(region, x, y, region.getRegionWidth(), region.getRegionHeight());
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float width, float height) {
+        draw(region, x, y, 0, 0, width, height, 1, 1, 0);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation) {
+        corners(x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+        uvs(region.getU(), region.getV2(), region.getU(), region.getV(), region.getU2(), region.getV(), region.getU2(), region.getV2());
+        record(region.getTexture());
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, boolean clockwise) {
+        corners(x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+        if (clockwise) {
+            uvs(region.getU2(), region.getV2(), region.getU(), region.getV2(), region.getU(), region.getV(), region.getU2(), region.getV());
+        } else {
+            uvs(region.getU(), region.getV(), region.getU2(), region.getV(), region.getU2(), region.getV2(), region.getU(), region.getV2());
+        }
+        record(region.getTexture());
+    }
+
+    @Override
+    public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+        quad[X1] = transform.m02;
+        quad[Y1] = transform.m12;
+        quad[X2] = transform.m01 * height + transform.m02;
+        quad[Y2] = transform.m11 * height + transform.m12;
+        quad[X3] = transform.m00 * width + transform.m01 * height + transform.m02;
+        quad[Y3] = transform.m10 * width + transform.m11 * height + transform.m12;
+        quad[X4] = transform.m00 * width + transform.m02;
+        quad[Y4] = transform.m10 * width + transform.m12;
+        uvs(region.getU(), region.getV2(), region.getU(), region.getV(), region.getU2(), region.getV(), region.getU2(), region.getV2());
+        record(region.getTexture());
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void disableBlending() {}
+
+    @Override
+    public void enableBlending() {}
+
+    @Override
+    public void setBlendFunction(int srcFunc, int dstFunc) {}
+
+    @Override
+    public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {}
+
+    @Override
+    public int getBlendSrcFunc() {return GL20.GL_SRC_ALPHA;}
+
+    @Override
+    public int getBlendDstFunc() {return GL20.GL_ONE_MINUS_SRC_ALPHA;}
+
+    @Override
+    public int getBlendSrcFuncAlpha() {return GL20.GL_SRC_ALPHA;}
+
+    @Override
+    public int getBlendDstFuncAlpha() {return GL20.GL_ONE_MINUS_SRC_ALPHA;}
+
+    @Override
+    public Matrix4 getProjectionMatrix() {return projectionMatrix;}
+
+    @Override
+    public Matrix4 getTransformMatrix() {return transformMatrix;}
+
+    @Override
+    public void setProjectionMatrix(Matrix4 projection) {
+        projectionMatrix.set(projection);
+    }
+
+    @Override
+    public void setTransformMatrix(Matrix4 transform) {
+        transformMatrix.set(transform);
+    }
+
+    @Override
+    public void setShader(ShaderProgram shader) {}
+
+    @Override
+    public ShaderProgram getShader() {return null;}
+
+    @Override
+    public boolean isBlendingEnabled() {return true;}
+
+    @Override
+    public boolean isDrawing() {return drawing;}
+
+    @Override
+    public void dispose() {}
+
+    /**
+     * Computes the corner positions of a scaled and rotated quad into the scratch {@link #quad}, the same way a {@link com.badlogic.gdx.graphics.g2d.SpriteBatch SpriteBatch} does.
+     * @param x The x position of the quad.
+     * @param y The y position of the quad.
+     * @param originX The x origin of scaling and rotation, relative to the quad's position.
+     * @param originY The y origin of scaling and rotation, relative to the quad's position.
+     * @param width The width of the quad.
+     * @param height The height of the quad.
+     * @param scaleX The horizontal scale of the quad.
+     * @param scaleY The vertical scale of the quad.
+     * @param rotation The rotation of the quad, in degrees.
+     */
+    private void corners(float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation) {
+        float worldOriginX = x + originX, worldOriginY = y + originY;
+        float fx = -originX * scaleX, fy = -originY * scaleY;
+        float fx2 = (width - originX) * scaleX, fy2 = (height - originY) * scaleY;
+
+        if (rotation != 0) {
+            float cos = MathUtils.cosDeg(rotation), sin = MathUtils.sinDeg(rotation);
+            float x1 = cos * fx - sin * fy, y1 = sin * fx + cos * fy;
+            float x2 = cos * fx - sin * fy2, y2 = sin * fx + cos * fy2;
+            float x3 = cos * fx2 - sin * fy2, y3 = sin * fx2 + cos * fy2;
+            quad[X1] = x1 + worldOriginX;
+            quad[Y1] = y1 + worldOriginY;
+            quad[X2] = x2 + worldOriginX;
+            quad[Y2] = y2 + worldOriginY;
+            quad[X3] = x3 + worldOriginX;
+            quad[Y3] = y3 + worldOriginY;
+            quad[X4] = x1 + (x3 - x2) + worldOriginX;
+            quad[Y4] = y3 - (y2 - y1) + worldOriginY;
+        } else {
+            quad[X1] = fx + worldOriginX;
+            quad[Y1] = fy + worldOriginY;
+            quad[X2] = fx + worldOriginX;
+            quad[Y2] = fy2 + worldOriginY;
+            quad[X3] = fx2 + worldOriginX;
+            quad[Y3] = fy2 + worldOriginY;
+            quad[X4] = fx2 + worldOriginX;
+            quad[Y4] = fy + worldOriginY;
+        }
+    }
+
+    /**
+     * Writes the texture coordinates of the four corners into the scratch {@link #quad}.
+     * @param u1 The u coordinate of the bottom left corner.
+     * @param v1 The v coordinate of the bottom left corner.
+     * @param u2 The u coordinate of the top left corner.
+     * @param v2 The v coordinate of the top left corner.
+     * @param u3 The u coordinate of the top right corner.
+     * @param v3 The v coordinate of the top right corner.
+     * @param u4 The u coordinate of the bottom right corner.
+     * @param v4 The v coordinate of the bottom right corner.
+     */
+    private void uvs(float u1, float v1, float u2, float v2, float u3, float v3, float u4, float v4) {
+        quad[U1] = u1;
+        quad[V1] = v1;
+        quad[U2] = u2;
+        quad[V2] = v2;
+        quad[U3] = u3;
+        quad[V3] = v3;
+        quad[U4] = u4;
+        quad[V4] = v4;
+    }
+
+    /**
+     * Applies the current color to the scratch {@link #quad} and records it into the target snapshot.
+     * @param texture The {@link Texture} of the quad.
+     */
+    private void record(Texture texture) {
+        checkDrawing();
+        quad[C1] = colorPacked;
+        quad[C2] = colorPacked;
+        quad[C3] = colorPacked;
+        quad[C4] = colorPacked;
+        target.add(texture, quad, 0, RenderSnapshot.QUAD_SIZE);
+    }
+
+    /**
+     * Makes sure this batch is between {@link #begin()} and {@link #end()}.
+     */
+    private void checkDrawing() {
+        if (!drawing)
+            throw new IllegalStateException("SnapshotBatch.begin must be called before draw.");
+    }
+}
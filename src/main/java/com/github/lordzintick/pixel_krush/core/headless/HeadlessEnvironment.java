@@ -0,0 +1,126 @@
+package com.github.lordzintick.pixel_krush.core.headless;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Files;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * A {@link Gdx} environment for running games without a window, an OpenGL context or an audio device.<br>
+ * {@link Gdx#graphics}, {@link Gdx#gl} and {@link Gdx#input} are replaced with proxies where every call does nothing and returns a default value,
+ * except for the screen size and delta time, which are fixed at {@link #WIDTH}x{@link #HEIGHT} and {@link #DELTA_TIME}.
+ * {@link Gdx#app} logs to the standard streams, and {@link Gdx#files} reads from the working directory like the desktop backend does.
+ */
+public final class HeadlessEnvironment {
+    /**
+     * The width of the headless screen.
+     */
+    public static final int WIDTH = 1280;
+    /**
+     * The height of the headless screen.
+     */
+    public static final int HEIGHT = 720;
+    /**
+     * The delta time reported by the headless graphics, in seconds.
+     */
+    public static final float DELTA_TIME = 1f / 60;
+
+    /**
+     * Whether the headless environment was already installed.
+     */
+    private static boolean installed = false;
+
+    private HeadlessEnvironment() {}
+
+    /**
+     * Installs the headless environment, if it isn't installed yet.<br>
+     * The {@link Gdx} fields are global, so every game in the JVM shares the same environment, which is why none of it holds any state.
+     */
+    public static synchronized void install() {
+        if (installed) return;
+
+        // Math like the camera's matrices is native, so the natives are needed even without a window
+        GdxNativesLoader.load();
+        Gdx.app = logging(noOp(Application.class));
+        Gdx.graphics = noOp(Graphics.class);
+        Gdx.gl = Gdx.gl20 = noOp(GL20.class);
+        Gdx.input = noOp(Input.class);
+        if (Gdx.files == null)
+            Gdx.files = new Lwjgl3Files();
+        installed = true;
+    }
+
+    /**
+     * Checks whether the headless environment was installed.
+     * @return Whether {@link #install()} was called.
+     */
+    public static synchronized boolean isInstalled() {return installed;}
+
+    /**
+     * Creates a proxy of an interface where every call does nothing and returns a default value.<br>
+     * Calls querying the screen size or delta time return the headless values instead.
+     * @param type The interface to proxy.
+     * @param <T> The type of the interface.
+     * @return The proxied interface.
+     */
+    public static <T> T noOp(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(HeadlessEnvironment.class.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode": return System.identityHashCode(proxy);
+                case "equals": return proxy == args[0];
+                case "toString": return "Headless" + type.getSimpleName();
+                case "getWidth":
+                case "getBackBufferWidth": return WIDTH;
+                case "getHeight":
+                case "getBackBufferHeight": return HEIGHT;
+                case "getDeltaTime": return DELTA_TIME;
+                case "getFramesPerSecond": return Math.round(1 / DELTA_TIME);
+            }
+            return defaultValue(method.getReturnType());
+        }));
+    }
+
+    /**
+     * Wraps an {@link Application} so its logging methods print to {@link System#out} and {@link System#err}.
+     * @param delegate The application handling every other call.
+     * @return The logging application.
+     */
+    private static Application logging(Application delegate) {
+        return (Application) Proxy.newProxyInstance(HeadlessEnvironment.class.getClassLoader(), new Class<?>[] {Application.class}, (proxy, method, args) -> {
+            String name = method.getName();
+            if (args != null && args.length >= 2 && (name.equals("log") || name.equals("error") || name.equals("debug"))) {
+                String line = "[" + args[0] + "] " + args[1];
+                if (name.equals("error")) {
+                    System.err.println(line);
+                    if (args.length > 2) ((Throwable) args[2]).printStackTrace();
+                } else {
+                    System.out.println(line);
+                }
+                return null;
+            }
+            return method.invoke(delegate, args);
+        });
+    }
+
+    /**
+     * Gets the default value of a type, as it would be for an uninitialized field.
+     * @param type The type to get the default value of.
+     * @return <code>null</code> for reference types and <code>void</code>, otherwise the zero value of the primitive.
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type == long.class) return 0L;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        return 0;
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.lordzintick.pixel_krush.core.headless;
+
+import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
+import com.github.lordzintick.pixel_krush.core.util.input.InputRecording;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Runs the simulation of a game without a window, an OpenGL context or an audio device, for tests, benchmarks, servers and batch simulations.<br>
+ * A runner {@link #boot(Supplier) boots} its game {@link AbstractGame#createHeadless() headless}, then {@link #step() steps} it one tick at a time,
+ * updating the current screen exactly like a real frame would, minus the rendering.
+ * Games don't share any state besides the {@link HeadlessEnvironment}, so many of them can {@link #runParallel(int, IntFunction, int, Function) run in parallel} in the same JVM.
+ * @param <T> The type of game being run.
+ */
+public final class HeadlessRunner<T extends AbstractGame> {
+    /**
+     * The game being run.
+     */
+    private final T game;
+    /**
+     * The amount of ticks the game was stepped by.
+     */
+    private long ticks = 0;
+    /**
+     * The recording being replayed, or <code>null</code> if the game isn't {@link #replay(Supplier, InputRecording) replaying} one.
+     */
+    private InputRecording recording;
+
+    /**
+     * Constructs a new {@link HeadlessRunner} for an already created game.
+     * @param game The game to run.
+     */
+    private HeadlessRunner(T game) {
+        this.game = game;
+    }
+
+    /**
+     * Installs the {@link HeadlessEnvironment}, then creates a game and {@link AbstractGame#createHeadless() initializes it headless}.<br>
+     * The game's assets are loaded from the working directory, like they would be by the desktop backend.
+     * @param factory A {@link Supplier} creating the game.
+     * @param <T> The type of game to run.
+     * @return A new {@link HeadlessRunner} running the game, on its start screen.
+     */
+    public static <T extends AbstractGame> HeadlessRunner<T> boot(Supplier<T> factory) {
+        HeadlessEnvironment.install();
+        T game = factory.get();
+        game.createHeadless();
+        return new HeadlessRunner<>(game);
+    }
+
+    /**
+     * Boots a game to replay a recorded session: the game is created with the recording's {@link AbstractGame#setRandomSeed(long) random seed}
+     * and {@link AbstractGame#replayInput(InputRecording) replays} the recorded input as it is stepped.<br>
+     * Stepping the runner by the recording's {@link InputRecording#getLength() length}, see {@link #stepToEnd()}, reproduces the session.
+     * @param factory A {@link Supplier} creating the game, set up like the game the session was recorded in.
+     * @param recording The {@link InputRecording} to replay.
+     * @param <T> The type of game to run.
+     * @return A new {@link HeadlessRunner} running the game, on its start screen.
+     */
+    public static <T extends AbstractGame> HeadlessRunner<T> replay(Supplier<T> factory, InputRecording recording) {
+        if (!recording.isEnded())
+            throw new IllegalArgumentException("Cannot replay an input recording that wasn't ended");
+        HeadlessRunner<T> runner = boot(() -> {
+            T game = factory.get();
+            game.setRandomSeed(recording.getSeed());
+            return game;
+        });
+        runner.getGame().replayInput(recording);
+        runner.recording = recording;
+        return runner;
+    }
+
+    /**
+     * Boots several games and steps each of them on its own thread, then collects a result from each.<br>
+     * Any exception thrown while booting, stepping or collecting from a game is rethrown here once all games have finished.
+     * @param instances The amount of games to run.
+     * @param factory A function creating the game with the provided index, for example to give every instance a different setup.
+     * @param ticks The amount of ticks to step every game by.
+     * @param collector A function collecting the result of a game after it has been stepped.
+     * @param <T> The type of game to run.
+     * @param <R> The type of the collected results.
+     * @return The collected results, in the order of the indices of the games.
+     */
+    public static <T extends AbstractGame, R> List<R> runParallel(int instances, IntFunction<T> factory, int ticks, Function<T, R> collector) {
+        HeadlessEnvironment.install();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(instances, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<R>> futures = new ArrayList<>(instances);
+            for (int i = 0; i < instances; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    HeadlessRunner<T> runner = boot(() -> factory.apply(index));
+                    try {
+                        runner.step(ticks);
+                        return collector.apply(runner.getGame());
+                    } finally {
+                        runner.dispose();
+                    }
+                }));
+            }
+
+            List<R> results = new ArrayList<>(instances);
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException("Headless game failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for headless games", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Steps the game by one tick, see {@link AbstractGame#stepHeadless()}.
+     */
+    public void step() {
+        game.stepHeadless();
+        ticks++;
+    }
+
+    /**
+     * Steps the game by the provided amount of ticks.
+     * @param ticks The amount of ticks to step by.
+     */
+    public void step(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Steps the game until its {@link AbstractGame#getTick() tick} reaches the end of the recording being {@link #replay(Supplier, InputRecording) replayed}.
+     */
+    public void stepToEnd() {
+        if (recording == null)
+            throw new IllegalStateException("Cannot step to the end of a game that isn't replaying a recording");
+        long tick = game.getTick();
+        while (tick < recording.getLength()) {
+            step();
+            if (game.getTick() == tick && game.getInputReplay().isFinished())
+                throw new IllegalStateException("Replay stalled at tick " + tick + " of " + recording.getLength() + ", the game is paused with no input left to resume it");
+            tick = game.getTick();
+        }
+    }
+
+    /**
+     * Gets the game being run.
+     * @return The game of this runner.
+     */
+    public T getGame() {return game;}
+
+    /**
+     * Gets the amount of ticks the game was stepped by.
+     * @return The amount of ticks stepped since the game was booted.
+     */
+    public long getTicks() {return ticks;}
+
+    /**
+     * Gets the simulated time since the game was booted.
+     * @return The amount of ticks stepped multiplied by the {@link AbstractGame#getTickDelta() tick delta}, in seconds.
+     */
+    public float getTime() {return ticks * game.getTickDelta();}
+
+    /**
+     * Disposes the game, releasing its assets and screens.
+     */
+    public void dispose() {
+        game.dispose();
+    }
+}
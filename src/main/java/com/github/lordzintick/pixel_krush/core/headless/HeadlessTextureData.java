@@ -0,0 +1,59 @@
+package com.github.lordzintick.pixel_krush.core.headless;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+
+/**
+ * A {@link TextureData} with a size, but no image data, consumed without any upload.<br>
+ * Used for the {@link Texture}s of headless games, which only need the size of a texture to split it into regions and lay out what uses them.
+ */
+public final class HeadlessTextureData implements TextureData {
+    /**
+     * The size of the texture.
+     */
+    private final int width, height;
+
+    /**
+     * Constructs a new {@link HeadlessTextureData} of the provided size.
+     * @param width The width of the texture.
+     * @param height The height of the texture.
+     */
+    public HeadlessTextureData(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public TextureDataType getType() {return TextureDataType.Custom;}
+
+    @Override
+    public boolean isPrepared() {return true;}
+
+    @Override
+    public void prepare() {}
+
+    @Override
+    public Pixmap consumePixmap() {return null;}
+
+    @Override
+    public boolean disposePixmap() {return false;}
+
+    @Override
+    public void consumeCustomData(int target) {}
+
+    @Override
+    public int getWidth() {return width;}
+
+    @Override
+    public int getHeight() {return height;}
+
+    @Override
+    public Pixmap.Format getFormat() {return Pixmap.Format.RGBA8888;}
+
+    @Override
+    public boolean useMipMaps() {return false;}
+
+    @Override
+    public boolean isManaged() {return false;}
+}
@@ -0,0 +1,64 @@
+package com.github.lordzintick.pixel_krush.core.headless;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.SynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.github.lordzintick.pixel_krush.core.util.AssetException;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * A loader for the {@link Texture}s of headless games, reading only the size of a PNG file from its header instead of decoding and uploading the image.<br>
+ * The loaded textures are backed by {@link HeadlessTextureData}, so they can be split into regions like any other texture, but never drawn.
+ */
+public class HeadlessTextureLoader extends SynchronousAssetLoader<Texture, TextureLoader.TextureParameter> {
+    /**
+     * The 8 bytes every PNG file starts with.
+     */
+    private static final long PNG_SIGNATURE = 0x89504E470D0A1A0AL;
+    /**
+     * The type of the chunk that must directly follow the signature and holds the size of the image, <code>"IHDR"</code>.
+     */
+    private static final int IHDR = 0x49484452;
+
+    /**
+     * Constructs a new {@link HeadlessTextureLoader} with the provided resolver.
+     * @param resolver The {@link FileHandleResolver} used to find texture files.
+     */
+    public HeadlessTextureLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public Texture load(AssetManager assetManager, String fileName, FileHandle file, TextureLoader.TextureParameter parameter) {
+        DataInputStream in = new DataInputStream(file.read());
+        try {
+            // Signature, then the length and type of the IHDR chunk, which starts with the width and height
+            if (in.readLong() != PNG_SIGNATURE)
+                throw new AssetException("File " + fileName + " is not a PNG image");
+            in.readInt();
+            if (in.readInt() != IHDR)
+                throw new AssetException("File " + fileName + " has no IHDR chunk");
+            int width = in.readInt();
+            int height = in.readInt();
+            return new Texture(new HeadlessTextureData(width, height));
+        } catch (IOException e) {
+            throw new AssetException("Could not read the header of " + fileName + ": " + e.getMessage());
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // AssetLoader#getDependencies declares a raw AssetDescriptor, so a parameterized one would not override it
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, TextureLoader.TextureParameter parameter) {
+        return null;
+    }
+}
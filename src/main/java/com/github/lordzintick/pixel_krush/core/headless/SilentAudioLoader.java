@@ -0,0 +1,43 @@
+package com.github.lordzintick.pixel_krush.core.headless;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.SynchronousAssetLoader;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A loader for the audio of headless games, creating a silent {@link com.badlogic.gdx.audio.Sound Sound} or {@link Music} without reading the file.<br>
+ * Every call on the loaded audio does nothing, so {@link com.github.lordzintick.pixel_krush.core.util.audio.Sound Sounds} can be registered and played as usual.
+ * @param <T> The type of audio loaded, either {@link com.badlogic.gdx.audio.Sound Sound} or {@link Music}.
+ */
+public class SilentAudioLoader<T> extends SynchronousAssetLoader<T, AssetLoaderParameters<T>> {
+    /**
+     * The type of audio loaded.
+     */
+    private final Class<T> type;
+
+    /**
+     * Constructs a new {@link SilentAudioLoader} with the provided resolver.
+     * @param resolver The {@link FileHandleResolver} used to find audio files.
+     * @param type The type of audio to load, either {@link com.badlogic.gdx.audio.Sound Sound} or {@link Music}.
+     */
+    public SilentAudioLoader(FileHandleResolver resolver, Class<T> type) {
+        super(resolver);
+        this.type = type;
+    }
+
+    @Override
+    public T load(AssetManager assetManager, String fileName, FileHandle file, AssetLoaderParameters<T> parameter) {
+        return HeadlessEnvironment.noOp(type);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // AssetLoader#getDependencies declares a raw AssetDescriptor, so a parameterized one would not override it
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, AssetLoaderParameters<T> parameter) {
+        return null;
+    }
+}
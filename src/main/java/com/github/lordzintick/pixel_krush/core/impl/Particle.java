@@ -6,10 +6,14 @@ import com.badlogic.gdx.math.Vector4;
 import com.github.lordzintick.pixel_krush.core.api.AbstractGameObject;
 import com.github.lordzintick.pixel_krush.core.util.Logger;
 import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
+import com.github.lordzintick.pixel_krush.core.api.particle.ParticleEngine;
 
 /**
  * An implementation of {@link AbstractGameObject} that provides many utilities for somewhat complex movement and simple animation.
+ * @deprecated Particles spawned with {@link AbstractGameScreen#addParticle} live in the screen's {@link ParticleEngine} instead,
+ * which does not allocate a game object per particle.
  */
+@Deprecated
 public class Particle extends AbstractGameObject {
     /**
      * The velocity of the particle, in the format <code>x, y, scale, angle</code>
@@ -63,6 +67,7 @@ public class Particle extends AbstractGameObject {
         this.scale = scale;
         this.frameTime = frameTime;
         this.lifeTime = lifeTime;
+        this.collisionLayer = LAYER_NONE;
     }
 
     @Override
@@ -0,0 +1,142 @@
+package com.github.lordzintick.pixel_krush.core.ui.api;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
+import com.github.lordzintick.pixel_krush.core.util.Text;
+import com.github.lordzintick.pixel_krush.core.util.UIUtil;
+
+/**
+ * The retained rendering of a {@link Text} owned by a {@link Widget}.<br>
+ * The glyph vertices are built from the {@link Text#getLayout(BitmapFont, float, boolean) layout held by the text}, and only built again when the text laid itself out again,
+ * so deciding when the string, font, alignment, width or wrapping changed is left to the text.
+ * Moving it just translates the existing vertices and changing its color just tints them, so an unchanged label costs a single draw call per frame.
+ * {@link Text#glitchy Glitchy} text changes every frame, so it is always rebuilt.
+ */
+public final class CachedText {
+    /**
+     * The cache holding the glyph vertices, or <code>null</code> if nothing was built yet.
+     */
+    private BitmapFontCache cache;
+    /**
+     * The font of the {@link #cache}.
+     */
+    private BitmapFont font;
+    /**
+     * The font name the {@link #font} is registered with.
+     */
+    private String fontName;
+    /**
+     * The measured width and height of the text when it was last built.
+     */
+    private float measuredWidth, measuredHeight;
+    /**
+     * The text the glyph vertices were last built from, or <code>null</code> if they were glitchy.
+     */
+    private Text builtText;
+    /**
+     * The {@link Text#getLayoutCount() layout count} of the {@link #builtText} when the glyph vertices were built.
+     */
+    private int builtLayouts;
+    /**
+     * The color the text is tinted with.
+     */
+    private final Color color = new Color();
+
+    /**
+     * Rebuilds the text if it changed since it was last built, or moves and tints it if only its position or color changed.
+     * @param game The {@link AbstractGame} to get the font from.
+     * @param text The formatted {@link Text} to build.
+     * @param x The X position to render the text at.
+     * @param y The Y position to render the text at.
+     * @param width The target width to render the text with.
+     * @param wrap Whether to wrap the text if it exceeds the target width.
+     * @return Whether the text had to be rebuilt.
+     */
+    public boolean update(AbstractGame game, Text text, float x, float y, int width, boolean wrap) {
+        if (cache == null || !text.font.equals(fontName)) {
+            font = game.getFont(text.font);
+            fontName = text.font;
+            cache = font.newFontCache();
+            builtText = null;
+        }
+
+        if (!text.glitchy) {
+            GlyphLayout textLayout = text.getLayout(font, width, wrap);
+            if (text == builtText && text.getLayoutCount() == builtLayouts) {
+                if (cache.getX() != x || cache.getY() != y)
+                    cache.setPosition(x, y);
+                if (!color.equals(text.color))
+                    cache.tint(color.set(text.color));
+                return false;
+            }
+
+            // The layout is white and tinted, so color changes don't need a new layout
+            cache.clear();
+            cache.addText(textLayout, 0, 0);
+            measure(textLayout);
+            builtText = text;
+            builtLayouts = text.getLayoutCount();
+        } else {
+            // A new random string every frame, which the text doesn't lay out
+            cache.clear();
+            cache.setColor(Color.WHITE);
+            measure(cache.setText(UIUtil.generateRandomString(text.text.length()), 0, 0, width, text.align, wrap));
+            builtText = null;
+        }
+
+        cache.tint(color.set(text.color));
+        cache.setPosition(x, y);
+        return true;
+    }
+
+    /**
+     * {@link #update(AbstractGame, Text, float, float, int, boolean) Updates} the text and draws it.
+     * @param game The {@link AbstractGame} to get the font from.
+     * @param batch The {@link Batch} to render the text with.
+     * @param text The formatted {@link Text} to render.
+     * @param x The X position to render the text at.
+     * @param y The Y position to render the text at.
+     * @param width The target width to render the text with.
+     * @param wrap Whether to wrap the text if it exceeds the target width.
+     */
+    public void draw(AbstractGame game, Batch batch, Text text, float x, float y, int width, boolean wrap) {
+        update(game, text, x, y, width, wrap);
+        cache.draw(batch);
+    }
+
+    /**
+     * Forces the text to be rebuilt the next time it is updated, for example after the font it uses was replaced.
+     */
+    public void invalidate() {
+        cache = null;
+        font = null;
+        builtText = null;
+        measuredWidth = 0;
+        measuredHeight = 0;
+    }
+
+    /**
+     * Keeps the measured size of a layout the text was built from, since the layout held by the text changes when it is laid out again.
+     * @param layout The layout the text was built from.
+     */
+    private void measure(GlyphLayout layout) {
+        measuredWidth = layout.width;
+        measuredHeight = layout.height;
+    }
+
+    /**
+     * Gets the measured width of the text, as it was last built.
+     * @return The width of the text, or 0 if it wasn't built yet.
+     */
+    public float getWidth() {return measuredWidth;}
+
+    /**
+     * Gets the measured height of the text, as it was last built.
+     * @return The height of the text, or 0 if it wasn't built yet.
+     */
+    public float getHeight() {return measuredHeight;}
+}
@@ -0,0 +1,235 @@
+package com.github.lordzintick.pixel_krush.core.ui.api;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.CharArray;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
+import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * A toggleable overlay drawn in the <code>ui</code> batch, showing a rolling graph of recent frame times and various engine counters:<br>
+ * the amount of objects and particles in the current screen,
+ * the collision pairs checked in the last update,
+ * the render calls of the <code>game</code> and <code>ui</code> batches,
+ * and the heap and garbage collector usage.<br>
+ * The text is built into a reused {@link CharArray}, so drawing the overlay doesn't allocate any strings.
+ */
+public final class DebugOverlay implements Disposable {
+    /**
+     * The amount of frames shown in the frame time graph.
+     */
+    public static final int GRAPH_FRAMES = 240;
+    /**
+     * The height of the frame time graph, in pixels.
+     */
+    public static final float GRAPH_HEIGHT = 80;
+    /**
+     * The frame time shown at the full height of the graph, in milliseconds.
+     */
+    public static final float GRAPH_MAX_MILLIS = 50;
+    /**
+     * The frame time budget of a 60 FPS frame, in milliseconds. Bars above it are drawn in yellow, and bars above twice of it in red.
+     */
+    public static final float FRAME_BUDGET_MILLIS = 1000f / 60;
+
+    /**
+     * The game this overlay is drawn in.
+     */
+    private final AbstractGame game;
+    /**
+     * The frame times of the most recent frames, in milliseconds, as a ring buffer.
+     */
+    private final float[] frameTimes = new float[GRAPH_FRAMES];
+    /**
+     * The index in the {@link #frameTimes} the next frame time is written to.
+     */
+    private int head = 0;
+    /**
+     * The reused builder holding the overlay's text.
+     */
+    private final CharArray text = new CharArray(256);
+    /**
+     * The garbage collectors of the virtual machine.
+     */
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    /**
+     * A white 1x1 texture used to draw the graph, or <code>null</code> if it wasn't created yet.
+     */
+    private Texture pixel;
+    /**
+     * The render calls of the <code>ui</code> batch in the last frame, since they are only known after the batch ended.
+     */
+    private int uiRenderCalls = 0;
+    /**
+     * Whether this overlay is shown.<br>
+     * Volatile, since the {@link com.github.lordzintick.pixel_krush.core.util.input.Keybind.Context#GAME GAME} keybind toggling it runs on the simulation thread if there is one.
+     */
+    private volatile boolean visible = false;
+
+    /**
+     * Constructs a new, hidden {@link DebugOverlay} for the provided game.
+     * @param game The {@link AbstractGame} this overlay is drawn in.
+     */
+    public DebugOverlay(AbstractGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Gets whether this overlay is shown.
+     * @return Whether this overlay is visible.
+     */
+    public boolean isVisible() {return visible;}
+
+    /**
+     * Shows or hides this overlay.
+     * @param visible Whether to show the overlay.
+     */
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    /**
+     * Shows this overlay if it is hidden, or hides it if it is shown.
+     */
+    public void toggle() {
+        visible = !visible;
+    }
+
+    /**
+     * Records the time of a frame into the graph. Called every frame, even while hidden, so the graph is filled when it is shown.
+     * @param deltaTime The time since the last frame was rendered, in seconds.
+     */
+    public void recordFrame(float deltaTime) {
+        frameTimes[head] = deltaTime * 1000;
+        head = (head + 1) % GRAPH_FRAMES;
+    }
+
+    /**
+     * Records the render calls of the <code>ui</code> batch after it ended.
+     * @param uiBatch The <code>ui</code> {@link SpriteBatch}.
+     */
+    public void endFrame(SpriteBatch uiBatch) {
+        uiRenderCalls = uiBatch.renderCalls;
+    }
+
+    /**
+     * Draws this overlay, with its top left corner at the provided position.
+     * @param batch The <code>ui</code> {@link Batch} to draw with.
+     * @param font The {@link BitmapFont} to draw the text with.
+     * @param x The x position of the overlay's left edge.
+     * @param y The y position of the overlay's top edge.
+     */
+    public void render(Batch batch, BitmapFont font, float x, float y) {
+        buildText();
+        font.setColor(Color.WHITE);
+        font.draw(batch, text, x, y);
+        renderGraph(batch, x, y - font.getLineHeight() * 6 - GRAPH_HEIGHT);
+    }
+
+    /**
+     * Builds the overlay's text into the reused {@link #text} builder.
+     */
+    private void buildText() {
+        float last = frameTimes[(head - 1 + GRAPH_FRAMES) % GRAPH_FRAMES];
+        float max = 0;
+        for (float frameTime : frameTimes) {
+            max = Math.max(max, frameTime);
+        }
+
+        text.setLength(0);
+        text.append("frame: ");
+        appendMillis(last);
+        text.append(" ms (max ");
+        appendMillis(max);
+        text.append(" ms)\n");
+
+        BaseScreen screen = game.getScreen();
+        text.append("objects: ").append(screen == null ? 0 : screen.objects.size());
+        text.append("  particles: ").append(screen instanceof AbstractGameScreen ? ((AbstractGameScreen) screen).particles.size() : 0).append('\n');
+        text.append("collision checks: ").append(screen == null ? 0 : screen.getCollisionChecks()).append('\n');
+
+        SpriteBatch gameBatch = game.getBatch("game");
+        SpriteBatch uiBatch = game.getBatch("ui");
+        text.append("render calls: ").append(gameBatch.renderCalls).append(" game, ").append(uiRenderCalls).append(" ui (")
+                .append(gameBatch.totalRenderCalls + uiBatch.totalRenderCalls).append(" total)\n");
+
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        text.append("heap: ").append((int) (used >> 20)).append(" / ").append((int) (runtime.totalMemory() >> 20))
+                .append(" MB (max ").append((int) (runtime.maxMemory() >> 20)).append(" MB)\n");
+
+        long collections = 0, collectionTime = 0;
+        for (int i = 0; i < collectors.size(); i++) {
+            GarbageCollectorMXBean collector = collectors.get(i);
+            collections += Math.max(0, collector.getCollectionCount());
+            collectionTime += Math.max(0, collector.getCollectionTime());
+        }
+        text.append("gc: ").append(collections).append(" collections, ").append(collectionTime).append(" ms");
+    }
+
+    /**
+     * Appends a time in milliseconds with one decimal place to the {@link #text} builder, without going through a {@link String}.
+     * @param millis The time to append, in milliseconds.
+     */
+    private void appendMillis(float millis) {
+        int tenths = Math.round(millis * 10);
+        text.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    /**
+     * Draws the frame time graph, oldest frame first.
+     * @param batch The {@link Batch} to draw with.
+     * @param x The x position of the graph's left edge.
+     * @param y The y position of the graph's bottom edge.
+     */
+    private void renderGraph(Batch batch, float x, float y) {
+        if (pixel == null) {
+            Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+            pixmap.setColor(Color.WHITE);
+            pixmap.fill();
+            pixel = new Texture(pixmap);
+            pixmap.dispose();
+        }
+
+        float previousColor = batch.getPackedColor();
+        batch.setColor(0, 0, 0, 0.5f);
+        batch.draw(pixel, x, y, GRAPH_FRAMES, GRAPH_HEIGHT);
+
+        for (int i = 0; i < GRAPH_FRAMES; i++) {
+            float frameTime = frameTimes[(head + i) % GRAPH_FRAMES];
+            if (frameTime <= 0) continue;
+
+            if (frameTime > FRAME_BUDGET_MILLIS * 2) {
+                batch.setColor(Color.RED);
+            } else if (frameTime > FRAME_BUDGET_MILLIS) {
+                batch.setColor(Color.YELLOW);
+            } else {
+                batch.setColor(Color.GREEN);
+            }
+            batch.draw(pixel, x + i, y, 1, Math.min(frameTime / GRAPH_MAX_MILLIS, 1) * GRAPH_HEIGHT);
+        }
+
+        // Mark the frame budget
+        batch.setColor(Color.WHITE);
+        batch.draw(pixel, x, y + FRAME_BUDGET_MILLIS / GRAPH_MAX_MILLIS * GRAPH_HEIGHT, GRAPH_FRAMES, 1);
+        batch.setPackedColor(previousColor);
+    }
+
+    @Override
+    public void dispose() {
+        if (pixel != null) {
+            pixel.dispose();
+            pixel = null;
+        }
+    }
+}
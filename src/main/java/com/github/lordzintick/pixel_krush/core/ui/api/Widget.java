@@ -5,7 +5,9 @@ import com.github.lordzintick.pixel_krush.core.api.PositionedRenderable;
 import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
 
 /**
- * An abstract base class from which all UI elements extend
+ * An abstract base class from which all UI elements extend<br>
+ * Widgets can be nested in a {@link WidgetGroup}, which positions them relative to itself.
+ * Their {@link #layout()} only reruns when it was {@link #invalidateLayout() invalidated}, so unchanged widgets don't redo any layout work when rendered.
  */
 public abstract class Widget extends PositionedRenderable {
     /**
@@ -31,6 +33,22 @@ public abstract class Widget extends PositionedRenderable {
      * Whether this widget is visible or not.
      */
     public boolean visible = true;
+    /**
+     * The {@link WidgetGroup} containing this widget, or <code>null</code> if it is placed directly on the screen.
+     */
+    WidgetGroup parent;
+    /**
+     * The x position of this widget relative to its {@link #parent}.
+     */
+    float localX;
+    /**
+     * The y position of this widget relative to its {@link #parent}.
+     */
+    float localY;
+    /**
+     * Whether {@link #layout()} must rerun before this widget is rendered or hit-tested.
+     */
+    private boolean layoutDirty = true;
 
     /**
      * Constructs a simple {@link Widget} with no defined width or height.
@@ -52,6 +70,93 @@ public abstract class Widget extends PositionedRenderable {
         this.height = height;
     }
 
+    /**
+     * Moves this widget to a new position and {@link #invalidateLayout() invalidates} its layout.
+     * @param x The new x position, relative to the {@link #getParent() parent} if this widget is in a {@link WidgetGroup}.
+     * @param y The new y position, relative to the {@link #getParent() parent} if this widget is in a {@link WidgetGroup}.
+     */
+    public void setPosition(float x, float y) {
+        localX = x;
+        localY = y;
+        if (parent == null) {
+            this.x = x;
+            this.y = y;
+        }
+        invalidateLayout();
+    }
+
+    /**
+     * Resizes this widget and {@link #invalidateLayout() invalidates} its layout.
+     * @param width The new width.
+     * @param height The new height.
+     */
+    public void setSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+        invalidateLayout();
+    }
+
+    /**
+     * Gets the group containing this widget.
+     * @return The {@link WidgetGroup} this widget is in, or <code>null</code> if it is placed directly on the screen.
+     */
+    public WidgetGroup getParent() {return parent;}
+
+    /**
+     * Marks the layout of this widget as changed, so {@link #layout()} reruns before it is next rendered.<br>
+     * The groups containing it are invalidated as well, along with the screen's {@link WidgetIndex}.
+     * Must be called after changing the fields of a widget directly instead of through {@link #setPosition(float, float)} or {@link #setSize(int, int)}.
+     */
+    public void invalidateLayout() {
+        if (layoutDirty && parent != null) return;
+        layoutDirty = true;
+        if (parent != null) {
+            parent.invalidateLayout();
+        } else {
+            screen.invalidateWidgetLayout();
+        }
+    }
+
+    /**
+     * Checks whether the layout of this widget must be redone.
+     * @return Whether the layout was {@link #invalidateLayout() invalidated} since it was last done.
+     */
+    public boolean needsLayout() {return layoutDirty;}
+
+    /**
+     * Reruns {@link #layout()} if the layout of this widget was {@link #invalidateLayout() invalidated}, and does nothing otherwise.<br>
+     * Called by the screen before the widgets are rendered or hit-tested.
+     */
+    public void validateLayout() {
+        if (!layoutDirty) return;
+        layoutDirty = false;
+        layout();
+    }
+
+    /**
+     * Used to define how this widget lays itself out, for example measuring its text or positioning its children.<br>
+     * Only called when the layout was {@link #invalidateLayout() invalidated}. Does nothing by default.
+     */
+    protected void layout() {}
+
+    /**
+     * Moves this widget to an absolute position computed by its {@link #parent} during layout.
+     * @param x The new absolute x position.
+     * @param y The new absolute y position.
+     */
+    void place(float x, float y) {
+        if (this.x == x && this.y == y) return;
+        this.x = x;
+        this.y = y;
+        layoutDirty = true;
+    }
+
+    /**
+     * Checks whether the cursor is over this widget.
+     * @return Whether the user is hovering over this widget.
+     */
+    public boolean isHovering() {return hovering;}
+
     /**
      * Triggers when the user clicks this {@link Widget}.
      * @param button The mouse button used to click the {@link Widget}.
@@ -65,14 +170,16 @@ public abstract class Widget extends PositionedRenderable {
     public void release(int button) {}
 
     /**
-     * Triggers when the user hovers their mouse over this {@link Widget}.
+     * Triggers when the user moves their mouse onto this {@link Widget}.<br>
+     * Only called when the cursor enters the widget, not on every move over it, see {@link WidgetIndex#updateHover(int, int)}.
      */
     public void hover() {
         hovering = true;
     }
 
     /**
-     * Triggers when the user moves their mouse away from over this {@link Widget}.
+     * Triggers when the user moves their mouse away from over this {@link Widget}.<br>
+     * Only called when the cursor leaves the widget.
      */
     public void unHover() {
         hovering = false;
@@ -0,0 +1,101 @@
+package com.github.lordzintick.pixel_krush.core.ui.api;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.utils.Array;
+import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
+
+/**
+ * An extension of {@link Widget} containing other widgets, which are positioned relative to the group.<br>
+ * Moving the group moves all of its children, and hiding it hides them as well.
+ * Groups can be nested to build up complex menus, and only the branches of the tree that were {@link #invalidateLayout() invalidated} are laid out again.
+ */
+public class WidgetGroup extends Widget {
+    /**
+     * The widgets in this group, in render order.
+     */
+    private final Array<Widget> children = new Array<>(true, 8, Widget[]::new);
+
+    /**
+     * Constructs a new, empty {@link WidgetGroup} at the provided position.
+     * @param screen The {@link BaseScreen} this {@link WidgetGroup} is for.
+     * @param x The initial X position of the group.
+     * @param y The initial Y position of the group.
+     * @param width The width of the group.
+     * @param height The height of the group.
+     */
+    public WidgetGroup(BaseScreen screen, int x, int y, int width, int height) {
+        super(screen, width, height);
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Adds a widget to this group. The current position of the widget is taken as its position relative to the group.
+     * @param child The widget to add.
+     * @param <T> The type of widget to add.
+     * @return The added widget.
+     */
+    public <T extends Widget> T addChild(T child) {
+        if (child.parent != null)
+            throw new IllegalArgumentException("Widget is already in a group!");
+        if (child == this)
+            throw new IllegalArgumentException("A group can't contain itself!");
+
+        child.parent = this;
+        child.localX = child.x;
+        child.localY = child.y;
+        children.add(child);
+        invalidateLayout();
+        return child;
+    }
+
+    /**
+     * Removes a widget from this group. The widget keeps its last absolute position.
+     * @param child The widget to remove.
+     * @return Whether the widget was in this group.
+     */
+    public boolean removeChild(Widget child) {
+        if (!children.removeValue(child, true)) return false;
+
+        child.parent = null;
+        invalidateLayout();
+        return true;
+    }
+
+    /**
+     * Gets the widgets in this group.
+     * @return The children of this group, in render order. Must not be modified directly.
+     */
+    public Array<Widget> getChildren() {return children;}
+
+    @Override
+    public void validateLayout() {
+        if (!needsLayout()) return;
+        super.validateLayout();
+        for (int i = 0; i < children.size; i++) {
+            children.items[i].validateLayout();
+        }
+    }
+
+    /**
+     * Positions every child relative to this group. Children that moved are laid out again.<br>
+     * Overrides can arrange the children differently, for example stacking them, before or instead of calling this.
+     */
+    @Override
+    protected void layout() {
+        for (int i = 0; i < children.size; i++) {
+            Widget child = children.items[i];
+            child.place(x + child.localX, y + child.localY);
+        }
+    }
+
+    @Override
+    public void render(Batch batch, float deltaTime) {
+        super.render(batch, deltaTime);
+        if (!visible) return;
+
+        for (int i = 0; i < children.size; i++) {
+            children.items[i].render(batch, deltaTime);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.lordzintick.pixel_krush.core.ui.api;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
+
+/**
+ * A uniform grid over the {@link Widget}s of a screen, used to find the widgets under the cursor without testing every widget.<br>
+ * Every widget, including the children of {@link WidgetGroup}s, is stored in each {@link #CELL_SIZE cell} its bounds overlap, so a lookup only tests the widgets of a single cell.
+ * The grid is rebuilt lazily when it is {@link #invalidate() invalidated}, when the window height changes, or when the {@link WidgetList} was modified,
+ * so checking whether it is up to date doesn't depend on the amount of widgets.
+ * {@link Widget#invalidateLayout() Invalidating the layout} of any widget invalidates the grid, which happens automatically when widgets are moved or resized
+ * through {@link Widget#setPosition(float, float)} and {@link Widget#setSize(int, int)}, or added to or removed from a group.
+ * Code writing the <code>x</code>, <code>y</code>, <code>width</code> or <code>height</code> of a widget directly must call {@link Widget#invalidateLayout()}
+ * or {@link BaseScreen#invalidateWidgetLayout()} afterwards, otherwise the grid keeps the old bounds.<br>
+ * The index also tracks which widgets are hovered, so {@link Widget#hover()} and {@link Widget#unHover()} are only called when the cursor enters or leaves a widget.
+ */
+public final class WidgetIndex {
+    /**
+     * The width and height of a grid cell, in pixels.
+     */
+    public static final int CELL_SIZE = 64;
+
+    /**
+     * The widgets the index is built from.
+     */
+    private final WidgetList widgets;
+    /**
+     * The widgets overlapping every cell, in the order of the widget list, by {@link #cellKey(int, int) cell key}.
+     */
+    private final IntMap<Array<Widget>> cells = new IntMap<>();
+    /**
+     * The widgets the cursor is currently over.
+     */
+    private final Array<Widget> hovered = new Array<>(false, 8, Widget[]::new);
+    /**
+     * The reused array of widgets returned by {@link #getWidgetsAt(int, int)}.
+     */
+    private final Array<Widget> result = new Array<>(true, 8, Widget[]::new);
+    /**
+     * The widgets in the grid when it was last built.
+     */
+    private final ObjectSet<Widget> indexed = new ObjectSet<>();
+    /**
+     * Whether the grid must be rebuilt before the next lookup.
+     */
+    private boolean dirty = true;
+    /**
+     * The {@link WidgetList#getModificationCount() modification count} of the widget list when the grid was last built.
+     */
+    private int indexedModifications = -1;
+    /**
+     * The window height when the grid was last built.
+     */
+    private int indexedHeight = -1;
+
+    /**
+     * Constructs a new {@link WidgetIndex} over the provided widgets.
+     * @param widgets The widget list of the screen, which the index reads when it is rebuilt.
+     */
+    public WidgetIndex(WidgetList widgets) {
+        this.widgets = widgets;
+    }
+
+    /**
+     * Marks the grid as outdated, so it is rebuilt before the next lookup.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Gets the widgets under a point.
+     * @param screenX The x position of the point, in screen coordinates.
+     * @param screenY The y position of the point, in screen coordinates, from the top of the window.
+     * @return The widgets whose bounds contain the point, in the order of the widget list, with the children of a group following it. The array is reused by the next call, so it must not be kept.
+     */
+    public Array<Widget> getWidgetsAt(int screenX, int screenY) {
+        int height = Gdx.graphics.getHeight();
+        if (isOutdated(height))
+            rebuild(height);
+
+        result.clear();
+        // Widgets are positioned from the bottom of the window, while the cursor is from the top
+        int y = height - screenY;
+        Array<Widget> cell = cells.get(cellKey(Math.floorDiv(screenX, CELL_SIZE), Math.floorDiv(y, CELL_SIZE)));
+        if (cell == null) return result;
+
+        for (int i = 0; i < cell.size; i++) {
+            Widget widget = cell.items[i];
+            if (screenX >= widget.x && screenX <= widget.x + widget.width && y >= widget.y && y <= widget.y + widget.height)
+                result.add(widget);
+        }
+        return result;
+    }
+
+    /**
+     * Updates which widgets are hovered for a new cursor position, calling {@link Widget#hover()} on the widgets the cursor entered
+     * and {@link Widget#unHover()} on the widgets it left.
+     * @param screenX The x position of the cursor, in screen coordinates.
+     * @param screenY The y position of the cursor, in screen coordinates, from the top of the window.
+     */
+    public void updateHover(int screenX, int screenY) {
+        Array<Widget> under = getWidgetsAt(screenX, screenY);
+        for (int i = hovered.size - 1; i >= 0; i--) {
+            Widget widget = hovered.items[i];
+            if (!under.contains(widget, true)) {
+                hovered.removeIndex(i);
+                widget.unHover();
+            }
+        }
+        for (int i = 0; i < under.size; i++) {
+            Widget widget = under.items[i];
+            if (!hovered.contains(widget, true)) {
+                hovered.add(widget);
+                widget.hover();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the grid must be rebuilt, because it was {@link #invalidate() invalidated}, the window height changed,
+     * or the widget list was modified since it was built.
+     * @param height The current window height.
+     * @return Whether the grid is outdated.
+     */
+    private boolean isOutdated(int height) {
+        return dirty || indexedHeight != height || indexedModifications != widgets.getModificationCount();
+    }
+
+    /**
+     * Rebuilds the grid from the current bounds of the widgets, {@link Widget#validateLayout() laying them out} first.
+     * @param height The current window height.
+     */
+    private void rebuild(int height) {
+        for (Array<Widget> cell : cells.values()) {
+            cell.clear();
+        }
+        indexed.clear();
+
+        for (int i = 0; i < widgets.size(); i++) {
+            Widget widget = widgets.get(i);
+            widget.validateLayout();
+            add(widget);
+        }
+
+        // Widgets removed from the screen can't be hovered anymore
+        for (int i = hovered.size - 1; i >= 0; i--) {
+            if (!indexed.contains(hovered.items[i]))
+                hovered.removeIndex(i);
+        }
+
+        dirty = false;
+        indexedHeight = height;
+        indexedModifications = widgets.getModificationCount();
+    }
+
+    /**
+     * Adds a widget and, if it is a {@link WidgetGroup}, all of its children to the cells its bounds overlap.
+     * @param widget The widget to add.
+     */
+    private void add(Widget widget) {
+        indexed.add(widget);
+        int minX = Math.floorDiv((int) Math.floor(widget.x), CELL_SIZE);
+        int minY = Math.floorDiv((int) Math.floor(widget.y), CELL_SIZE);
+        int maxX = Math.floorDiv((int) Math.ceil(widget.x + widget.width), CELL_SIZE);
+        int maxY = Math.floorDiv((int) Math.ceil(widget.y + widget.height), CELL_SIZE);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                int key = cellKey(cx, cy);
+                Array<Widget> cell = cells.get(key);
+                if (cell == null) {
+                    cell = new Array<>(true, 4, Widget[]::new);
+                    cells.put(key, cell);
+                }
+                cell.add(widget);
+            }
+        }
+
+        if (widget instanceof WidgetGroup) {
+            Array<Widget> children = ((WidgetGroup) widget).getChildren();
+            for (int i = 0; i < children.size; i++) {
+                add(children.items[i]);
+            }
+        }
+    }
+
+    /**
+     * Packs the coordinates of a cell into a single key.
+     * @param cx The x coordinate of the cell.
+     * @param cy The y coordinate of the cell.
+     * @return The key of the cell.
+     */
+    private static int cellKey(int cx, int cy) {
+        return cx << 16 | cy & 0xFFFF;
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.lordzintick.pixel_krush.core.ui.api;
+
+import java.util.ArrayList;
+
+/**
+ * The list of {@link Widget}s placed directly on a screen, counting its modifications so the {@link WidgetIndex} can tell when it needs to be rebuilt
+ * without comparing the list to the one it was built from.<br>
+ * Every change is counted, including adding, removing and replacing widgets through the list, its iterators or its sub lists.
+ */
+public final class WidgetList extends ArrayList<Widget> {
+    /**
+     * The serialization version of this list.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The amount of widgets replaced through {@link #set(int, Widget)}, which isn't counted as a structural modification by {@link ArrayList}.
+     */
+    private int replacements = 0;
+
+    @Override
+    public Widget set(int index, Widget widget) {
+        replacements++;
+        return super.set(index, widget);
+    }
+
+    /**
+     * Gets the amount of times this list was modified, used by the {@link WidgetIndex} to tell whether it needs to be rebuilt.
+     * @return The modification count of this list.
+     */
+    public int getModificationCount() {return modCount + replacements;}
+}
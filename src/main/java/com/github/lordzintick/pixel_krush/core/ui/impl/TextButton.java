@@ -6,7 +6,7 @@ import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.NinePatch;
 import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
 import com.github.lordzintick.pixel_krush.core.util.Text;
-import com.github.lordzintick.pixel_krush.core.util.UIUtil;
+import com.github.lordzintick.pixel_krush.core.ui.api.CachedText;
 import com.github.lordzintick.pixel_krush.core.ui.api.Widget;
 
 /**
@@ -29,6 +29,14 @@ public class TextButton extends Widget {
      * The background texture to display when the user is hovering over the button.
      */
  textureHover;
+    /**
+     * The retained rendering of the {@link #label}.
+     */
+    private final CachedText cachedLabel = new CachedText();
+    /**
+     * The offset of the label from the bottom of the button, computed during {@link #layout()}.
+     */
+    private float labelOffset;
 
     /**
      * Initialize the textures needed for rendering
@@ -65,6 +73,11 @@ public class TextButton extends Widget {
         }
     }
 
+    @Override
+    protected void layout() {
+        labelOffset = (float) height / 2 + screen.game.getFont("normal").getLineHeight() / 4;
+    }
+
     @Override
     public void render(Batch batch, float deltaTime) {
         super.render(batch, deltaTime);
@@ -77,7 +90,7 @@ public class TextButton extends Widget {
             texture.draw(batch, x, y, 0, 0, 16, 8, (float) width / 16, (float) height / 8, 0);
         }
 
-        // Use UIUtil to render the text will all of its configured formatting
-        UIUtil.renderText(screen.game, batch, label, x, y - (float) -height / 2 + screen.game.getFont("normal").getLineHeight() / 4, width, true);
+        // The label is only measured again when it changes
+        cachedLabel.draw(screen.game, batch, label, x, y + labelOffset, width, true);
     }
 }
@@ -3,7 +3,7 @@ package com.github.lordzintick.pixel_krush.core.ui.impl;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
 import com.github.lordzintick.pixel_krush.core.util.Text;
-import com.github.lordzintick.pixel_krush.core.util.UIUtil;
+import com.github.lordzintick.pixel_krush.core.ui.api.CachedText;
 import com.github.lordzintick.pixel_krush.core.ui.api.Widget;
 
 /**
@@ -15,6 +15,10 @@ public class TextLabel extends Widget {
      * The {@link Text} to display at the label's location.
      */
     public Text text;
+    /**
+     * The retained rendering of the {@link #text}.
+     */
+    private final CachedText cachedText = new CachedText();
 
     /**
      * Constructs a new {@link TextLabel} displaying the provided {@link Text} at the provided coordinates.
@@ -33,7 +37,7 @@ public class TextLabel extends Widget {
 
     @Override
     public void render(Batch batch, float deltaTime) {
-        // Use UIUtil to render the Text with all of its configured formatting
-        UIUtil.renderText(screen.game, batch, text, x, y, width, false);
+        // The text is only measured again when it changes
+        cachedText.draw(screen.game, batch, text, x, y, width, false);
     }
 }
@@ -0,0 +1,186 @@
+package com.github.lordzintick.pixel_krush.core.util;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least-recently-used cache of {@link GlyphLayout}s, keyed by font, string, target width, alignment and wrapping.<br>
+ * Laying out text is expensive compared to drawing it, so strings drawn or measured every frame, like "PAUSED", are only laid out once.
+ * Layouts are always laid out in white, so they can be drawn in any color by tinting them, see {@link UIUtil#renderText(com.github.lordzintick.pixel_krush.core.api.AbstractGame, com.badlogic.gdx.graphics.g2d.Batch, Text, float, float, int, boolean)}.<br>
+ * Lookups don't allocate once a string is cached. Cached layouts are never changed, and evicted layouts are dropped instead of being reused,
+ * so a layout handed out by {@link #get(BitmapFont, CharSequence, float, int, boolean)} stays valid even after it was evicted.
+ * See {@link UIUtil#getLayout(BitmapFont, CharSequence, float, int, boolean)}.
+ */
+public final class GlyphLayoutCache {
+    /**
+     * The default amount of layouts kept in the cache.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * The most layouts kept in the cache before the least recently used one is evicted.
+     */
+    private final int capacity;
+    /**
+     * The cached layouts, in order of last use.
+     */
+    private final LinkedHashMap<Key, GlyphLayout> layouts;
+    /**
+     * The reused key used to look up layouts.
+     */
+    private final Key lookup = new Key();
+    /**
+     * The amount of lookups that found a cached layout.
+     */
+    private int hits = 0;
+    /**
+     * The amount of lookups that had to lay out the text.
+     */
+    private int misses = 0;
+
+    /**
+     * Constructs a new, empty {@link GlyphLayoutCache}.
+     * @param capacity The most layouts to keep before evicting the least recently used one.
+     */
+    public GlyphLayoutCache(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+
+        this.capacity = capacity;
+        this.layouts = new LinkedHashMap<Key, GlyphLayout>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, GlyphLayout> eldest) {
+                return size() > GlyphLayoutCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the layout of a string, laying it out if it isn't cached yet.<br>
+     * The returned layout is shared with every other caller laying out the same string, so it must not be modified.
+     * @param font The font to lay out the string with.
+     * @param string The string to lay out.
+     * @param width The target width to lay out the string with.
+     * @param align The horizontal alignment of the string, see {@link com.badlogic.gdx.utils.Align}.
+     * @param wrap Whether to wrap the string if it exceeds the target width.
+     * @return The layout of the string.
+     */
+    public synchronized GlyphLayout get(BitmapFont font, CharSequence string, float width, int align, boolean wrap) {
+        GlyphLayout layout = layouts.get(lookup.set(font, string, width, align, wrap));
+        // Don't keep the caller's string alive
+        lookup.string = null;
+        if (layout != null) {
+            hits++;
+            return layout;
+        }
+
+        misses++;
+        layout = new GlyphLayout(font, string, Color.WHITE, width, align, wrap);
+        layouts.put(new Key().set(font, string.toString(), width, align, wrap), layout);
+        return layout;
+    }
+
+    /**
+     * Removes every layout from the cache, for example after fonts were reloaded.
+     */
+    public synchronized void clear() {
+        layouts.clear();
+    }
+
+    /**
+     * Gets the amount of layouts in the cache.
+     * @return The amount of cached layouts.
+     */
+    public synchronized int size() {return layouts.size();}
+
+    /**
+     * Gets the amount of lookups that found a cached layout.
+     * @return The amount of cache hits.
+     */
+    public synchronized int getHits() {return hits;}
+
+    /**
+     * Gets the amount of lookups that had to lay out the text.
+     * @return The amount of cache misses.
+     */
+    public synchronized int getMisses() {return misses;}
+
+    /**
+     * The key of a cached layout. Strings are compared by content, so any {@link CharSequence} can be looked up without converting it first.
+     */
+    private static final class Key {
+        /**
+         * The font the string is laid out with.
+         */
+        private BitmapFont font;
+        /**
+         * The string laid out.
+         */
+        private CharSequence string;
+        /**
+         * The target width the string is laid out with.
+         */
+        private float width;
+        /**
+         * The horizontal alignment of the string.
+         */
+        private int align;
+        /**
+         * Whether the string wraps.
+         */
+        private boolean wrap;
+        /**
+         * The hash of all the other fields.
+         */
+        private int hash;
+
+        /**
+         * Sets all fields of the key.
+         * @param font The font the string is laid out with.
+         * @param string The string laid out.
+         * @param width The target width the string is laid out with.
+         * @param align The horizontal alignment of the string.
+         * @param wrap Whether the string wraps.
+         * @return This key.
+         */
+        private Key set(BitmapFont font, CharSequence string, float width, int align, boolean wrap) {
+            this.font = font;
+            this.string = string;
+            this.width = width;
+            this.align = align;
+            this.wrap = wrap;
+
+            int hash = System.identityHashCode(font);
+            for (int i = 0, n = string.length(); i < n; i++) {
+                hash = 31 * hash + string.charAt(i);
+            }
+            hash = 31 * hash + Float.floatToIntBits(width);
+            hash = 31 * hash + align;
+            this.hash = 31 * hash + (wrap ? 1 : 0);
+            return this;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            if (hash != other.hash || font != other.font || width != other.width || align != other.align || wrap != other.wrap) return false;
+
+            int length = string.length();
+            if (length != other.string.length()) return false;
+            for (int i = 0; i < length; i++) {
+                if (string.charAt(i) != other.string.charAt(i)) return false;
+            }
+            return true;
+        }
+    }
+}
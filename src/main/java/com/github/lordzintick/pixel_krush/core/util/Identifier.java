@@ -1,9 +1,33 @@
 package com.github.lordzintick.pixel_krush.core.util;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
- * A utility class holding a {@link #namespace} and a {@link #path}.
+ * A utility class holding a {@link #namespace} and a {@link #path}.<br>
+ * Identifiers are interned: every <code>namespace:path</code> pair maps to exactly one shared instance, which carries a precomputed hash, a cached string form, and a dense integer {@link #getIndex() index}.<br>
+ * The index can be used to key plain arrays instead of maps, see {@link #byIndex(int)} and {@link #poolSize()}.<br>
+ * Since indices must stay valid, interned identifiers are never evicted: the pool is meant for the fixed set of IDs a game registers,
+ * not for IDs built from unbounded dynamic strings. It holds at most {@link #MAX_POOL_SIZE} identifiers.
  */
-public class Identifier {
+public final class Identifier {
+    /**
+     * The most identifiers the pool can hold. Interning past it throws, as it almost certainly means identifiers are being built from dynamic strings.
+     */
+    public static final int MAX_POOL_SIZE = 1 << 20;
+    /**
+     * The pool of interned identifiers, grouped by namespace and then by path so lookups never need to build a combined key.
+     */
+    private static final ConcurrentMap<String, ConcurrentMap<String, Identifier>> POOL = new ConcurrentHashMap<>();
+    /**
+     * All interned identifiers, indexed by their {@link #index}.
+     */
+    private static volatile Identifier[] byIndex = new Identifier[64];
+    /**
+     * The amount of identifiers that have been interned so far.
+     */
+    private static volatile int poolSize = 0;
+
     /**
      * The namespace of the identifier.
      */
@@ -12,44 +36,120 @@ public class Identifier {
      * The path of the identifier.
      */
     private final String path;
+    /**
+     * The cached string form of the identifier, <code>namespace:path</code>.
+     */
+    private final String string;
+    /**
+     * The precomputed hash of the identifier.
+     */
+    private final int hash;
+    /**
+     * The dense, unique integer index of the identifier in the pool.
+     */
+    private final int index;
 
     /**
      * Constructs a new {@link Identifier} with the specified namespace and path.
      * @param namespace The namespace of the identifier.
      * @param path The path of the identifier.
+     * @param index The index of the identifier in the pool.
      */
-    private Identifier(String namespace, String path) {
+    private Identifier(String namespace, String path, int index) {
         this.namespace = namespace;
         this.path = path;
+        this.string = namespace + ":" + path;
+        this.hash = 31 * namespace.hashCode() + path.hashCode();
+        this.index = index;
     }
 
     /**
-     * Creates an empty {@link Identifier} with empty strings as the namespace and path.
+     * Gets the empty {@link Identifier} with empty strings as the namespace and path.
      * @return An empty identifier.
      */
     public static Identifier empty() {
-        return new Identifier("", "");
+        return of("", "");
     }
 
     /**
-     * Creates a new {@link Identifier} with the provided namespace and path.
+     * Gets the {@link Identifier} with the provided namespace and path, interning a new one if it does not exist yet.<br>
+     * Interned identifiers live as long as the application, see {@link Identifier}.
      * @param namespace The namespace of the identifier.
      * @param path The path of the identifier.
-     * @return A new identifier with the provided namespace and path.
+     * @return The shared identifier with the provided namespace and path.
+     * @throws IllegalArgumentException If the namespace or path is <code>null</code>.
      */
     public static Identifier of(String namespace, String path) {
-        return new Identifier(namespace, path);
+        if (namespace == null || path == null)
+            throw new IllegalArgumentException("Identifier namespace and path must not be null, got " + namespace + ":" + path);
+
+        ConcurrentMap<String, Identifier> paths = POOL.get(namespace);
+        if (paths != null) {
+            Identifier id = paths.get(path);
+            if (id != null) return id;
+        }
+
+        return intern(namespace, path);
     }
 
     /**
-     * Creates a new {@link Identifier} by parsing the provided string.
+     * Gets an {@link Identifier} by parsing the provided string.
      * @param identifier The identifier, as a string, with namespace and path separated by <code>":"</code>.
-     * @return A new identifier created by parsing the provided string, or an empty identifier if it is invalid.
+     * @return The identifier created by parsing the provided string, or an empty identifier if it is invalid.
      */
     public static Identifier of(String identifier) {
         String[] split = identifier.split(":");
         if (split.length != 2) return Identifier.empty();
-        return new Identifier(split[0], split[1]);
+        return of(split[0], split[1]);
+    }
+
+    /**
+     * Gets the {@link Identifier} that was interned with the provided index.
+     * @param index The {@link #getIndex() index} of the identifier.
+     * @return The identifier with the provided index.
+     */
+    public static Identifier byIndex(int index) {
+        if (index < 0 || index >= poolSize)
+            throw new IndexOutOfBoundsException("No identifier with index " + index);
+
+        return byIndex[index];
+    }
+
+    /**
+     * Gets the amount of identifiers interned so far.<br>
+     * Every {@link #getIndex() index} is lower than this value, so it can be used to size arrays keyed by identifier.
+     * @return The amount of interned identifiers.
+     */
+    public static int poolSize() {return poolSize;}
+
+    /**
+     * Creates and interns a new {@link Identifier}, unless another thread has already done so.
+     * @param namespace The namespace of the identifier.
+     * @param path The path of the identifier.
+     * @return The shared identifier with the provided namespace and path.
+     * @throws IllegalStateException If the pool already holds {@link #MAX_POOL_SIZE} identifiers.
+     */
+    private static synchronized Identifier intern(String namespace, String path) {
+        ConcurrentMap<String, Identifier> paths = POOL.computeIfAbsent(namespace, ns -> new ConcurrentHashMap<>());
+        Identifier id = paths.get(path);
+        if (id != null) return id;
+
+        int index = poolSize;
+        if (index == MAX_POOL_SIZE)
+            throw new IllegalStateException("Identifier pool is full (" + MAX_POOL_SIZE + " identifiers), are identifiers being built from dynamic strings?");
+        Identifier[] ids = byIndex;
+        if (index == ids.length) {
+            Identifier[] grown = new Identifier[ids.length * 2];
+            System.arraycopy(ids, 0, grown, 0, ids.length);
+            ids = grown;
+        }
+
+        id = new Identifier(namespace, path, index);
+        ids[index] = id;
+        byIndex = ids;
+        poolSize = index + 1;
+        paths.put(path, id);
+        return id;
     }
 
     /**
@@ -68,16 +168,28 @@ public class Identifier {
         return path;
     }
 
+    /**
+     * Gets the dense integer index of the {@link Identifier}.<br>
+     * Indices start at 0 and are handed out in interning order, so they are suitable for keying arrays.
+     * @return The index of the identifier.
+     */
+    public int getIndex() {
+        return index;
+    }
+
     @Override
     public String toString() {
-        return getNamespace() + ":" + getPath();
+        return string;
     }
 
     @Override
     public boolean equals(Object obj) {
-        if (!(obj instanceof Identifier))
-            return false;
+        // Identifiers are interned, so two equal identifiers are always the same instance
+        return this == obj;
+    }
 
-        return obj.toString().equals(this.toString());
+    @Override
+    public int hashCode() {
+        return hash;
     }
 }
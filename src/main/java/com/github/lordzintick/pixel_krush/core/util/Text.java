@@ -1,10 +1,13 @@
 package com.github.lordzintick.pixel_krush.core.util;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.utils.Align;
 
 /**
- * A utility class describing a formatted string of text
+ * A utility class describing a formatted string of text<br>
+ * Holds the {@link #getLayout(BitmapFont, float, boolean) layout} of the text, which is only laid out again when the text, font or alignment changes.
  */
 public class Text {
     /**
@@ -27,6 +30,34 @@ public class Text {
      * The font to render the text with. Directly maps to the name the font is registered with.
      */
     public String font = "normal";
+    /**
+     * The layout of the text, or <code>null</code> if it wasn't laid out yet.
+     */
+    private GlyphLayout layout;
+    /**
+     * The string the {@link #layout} was laid out from.
+     */
+    private String layoutText;
+    /**
+     * The font the {@link #layout} was laid out with.
+     */
+    private BitmapFont layoutFont;
+    /**
+     * The alignment the {@link #layout} was laid out with.
+     */
+    private int layoutAlign;
+    /**
+     * The target width the {@link #layout} was laid out with.
+     */
+    private float layoutWidth;
+    /**
+     * Whether the {@link #layout} was laid out with wrapping.
+     */
+    private boolean layoutWrap;
+    /**
+     * The amount of times the {@link #layout} was laid out.
+     */
+    private int layoutCount = 0;
 
     @Override
     public String toString() {
@@ -89,6 +120,45 @@ public class Text {
         return this;
     }
 
+    /**
+     * Gets the layout of this text in white, laying it out again only if the text, font, alignment, target width or wrapping changed since it was last laid out.<br>
+     * The layout ignores {@link #glitchy}, and is reused by the next call, so it must not be modified.
+     * @param font The font to lay out the text with, which should be the font registered as {@link #font}.
+     * @param width The target width to lay out the text with.
+     * @param wrap Whether to wrap the text if it exceeds the target width.
+     * @return The layout of the text.
+     */
+    public GlyphLayout getLayout(BitmapFont font, float width, boolean wrap) {
+        if (layout == null) {
+            layout = new GlyphLayout();
+        } else if (font == layoutFont && align == layoutAlign && width == layoutWidth && wrap == layoutWrap && text.equals(layoutText)) {
+            return layout;
+        }
+
+        layout.setText(font, text, Color.WHITE, width, align, wrap);
+        layoutText = text;
+        layoutFont = font;
+        layoutAlign = align;
+        layoutWidth = width;
+        layoutWrap = wrap;
+        layoutCount++;
+        return layout;
+    }
+
+    /**
+     * Gets the amount of times the {@link #getLayout(BitmapFont, float, boolean) layout} of this text was laid out,
+     * used by {@link com.github.lordzintick.pixel_krush.core.ui.api.CachedText} to tell whether the glyphs it built from the layout are outdated.
+     * @return The layout count of this text.
+     */
+    public int getLayoutCount() {return layoutCount;}
+
+    /**
+     * Forces the text to be laid out again the next time its {@link #getLayout(BitmapFont, float, boolean) layout} is requested, for example after its font was reloaded.
+     */
+    public void invalidateLayout() {
+        layoutFont = null;
+    }
+
     /**
      * Concatenates a string to the end of the raw {@link #text} string.
      * @param otherText The string to concatenate.
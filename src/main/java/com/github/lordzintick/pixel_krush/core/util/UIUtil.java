@@ -3,7 +3,9 @@ package com.github.lordzintick.pixel_krush.core.util;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
 import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
 
 import java.util.UUID;
@@ -13,7 +15,13 @@ import java.util.UUID;
  */
 public final class UIUtil {
     /**
-     * Renders a formatted {@link Text} object with all of its preconfigured formatting.
+     * The {@link GlyphLayoutCache} shared by all measured and drawn strings.
+     */
+    private static final GlyphLayoutCache layoutCache = new GlyphLayoutCache(GlyphLayoutCache.DEFAULT_CAPACITY);
+
+    /**
+     * Renders a formatted {@link Text} object with all of its preconfigured formatting.<br>
+     * Uses the {@link Text#getLayout(BitmapFont, float, boolean) layout held by the text}, so it is only laid out again when it changed.
      * @param game The {@link AbstractGame} to render the text to.
      * @param batch The {@link Batch} to render the text with.
      * @param text The formatted {@link Text} object to render with its formatting.
@@ -24,13 +32,20 @@ public final class UIUtil {
      */
     public static void renderText(AbstractGame game, Batch batch, Text text, float x, float y, int width, boolean wrap) {
         BitmapFont font = game.getFont(text.font);
-        font.setColor(text.color);
         if (text.glitchy) {
+            // Glitchy text changes every frame, so there's nothing to cache
+            font.setColor(text.color);
             font.draw(batch, generateRandomString(text.text.length()), x, y, width, text.align, wrap);
-        } else {
-            font.draw(batch, text.text, x, y, width, text.align, wrap);
+            font.setColor(Color.WHITE);
+            return;
         }
-        font.setColor(Color.WHITE);
+
+        // The layout is white, so the text is drawn in its color by tinting it
+        BitmapFontCache cache = font.getCache();
+        cache.clear();
+        cache.addText(text.getLayout(font, width, wrap), x, y);
+        cache.tint(text.color);
+        cache.draw(batch);
     }
 
     /**
@@ -44,14 +59,33 @@ public final class UIUtil {
     }
 
     /**
-     * Gets the width of a certain string when it would be drawn in the specified font.
+     * Gets the width of a certain string when it would be drawn in the specified font.<br>
+     * The layout of the string is {@link #getLayout(BitmapFont, CharSequence, float, int, boolean) cached}, so measuring the same string every frame doesn't lay it out again.
      * @param string The string to get the width of.
      * @param font The font to test with.
      * @return The length of the provided string when drawn in the provided font.
      */
     public static float getFontStringWidth(String string, BitmapFont font) {
-        GlyphLayout layout = new GlyphLayout();
-        layout.setText(font, string);
-        return layout.width;
+        return getLayout(font, string, 0, Align.left, false).width;
     }
+
+    /**
+     * Gets the layout of a string from the shared {@link GlyphLayoutCache}, laying it out only if it isn't cached yet.<br>
+     * The layout is white and shared, so it must not be modified, see {@link GlyphLayoutCache#get(BitmapFont, CharSequence, float, int, boolean)}.
+     * @param font The font to lay out the string with.
+     * @param string The string to lay out.
+     * @param width The target width to lay out the string with.
+     * @param align The horizontal alignment of the string, see {@link Align}.
+     * @param wrap Whether to wrap the string if it exceeds the target width.
+     * @return The layout of the string.
+     */
+    public static GlyphLayout getLayout(BitmapFont font, CharSequence string, float width, int align, boolean wrap) {
+        return layoutCache.get(font, string, width, align, wrap);
+    }
+
+    /**
+     * Gets the {@link GlyphLayoutCache} shared by {@link #getLayout(BitmapFont, CharSequence, float, int, boolean)} and {@link #getFontStringWidth(String, BitmapFont)}.
+     * @return The shared layout cache.
+     */
+    public static GlyphLayoutCache getLayoutCache() {return layoutCache;}
 }
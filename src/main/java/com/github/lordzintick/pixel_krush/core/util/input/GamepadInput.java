@@ -3,17 +3,15 @@ package com.github.lordzintick.pixel_krush.core.util.input;
 import com.badlogic.gdx.controllers.Controller;
 import com.badlogic.gdx.controllers.ControllerListener;
 import com.badlogic.gdx.controllers.ControllerMapping;
-import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Array;
 import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
-import com.github.lordzintick.pixel_krush.core.util.Identifier;
-import com.github.lordzintick.pixel_krush.core.util.MathUtil;
-import com.github.lordzintick.pixel_krush.core.util.registry.ImmutableRegistry;
 import com.github.lordzintick.pixel_krush.core.ui.api.Widget;
 
 import java.util.function.Function;
 
 /**
- * An input handler class to handle input from a gamepad.
+ * An input handler class to handle input from a gamepad.<br>
+ * Like {@link Input}, events are pushed into the game's {@link InputQueue} and handled when it is drained.
  */
 public final class GamepadInput implements ControllerListener {
     /**
@@ -29,14 +27,6 @@ public final class GamepadInput implements ControllerListener {
         this.game = game;
     }
 
-    /**
-     * Gets all the registered {@link Keybind}s in the parent game.
-     * @return An {@link ObjectMap.Values} containing all the registered keybinds in the parent game.
-     */
-    private ObjectMap.Values<Keybind> getKeybinds() {
-        return ((ImmutableRegistry) game.queryRegistryOrThrow(Identifier.of("global", "keybinds"))).valueCollection();
-    }
-
     @Override
     public void connected(Controller controller) {
     }
@@ -47,38 +37,46 @@ public final class GamepadInput implements ControllerListener {
 
     @Override
     public boolean buttonDown(Controller controller, int button) {
-        for (Keybind keybind : getKeybinds()) {
-            for (int bindKey : keybind.keys) {
-                if (!keybind.checkContext(game.getScreen())) continue;
-                if (bindKey != button) continue;
-
-                keybind.isPressed = true;
-                keybind.action.run();
-            }
-        }
-
-        if (button == controller.getMapping().buttonA) {
-            for (Widget widget : game.getScreen().widgets) {
-                // Check if the mouse position is in the widgets' area, and call the according method
-                if (MathUtil.isPointInArea(game.gamepadCursorX, game.gamepadCursorY, widget.x, widget.y, widget.width, widget.height)) {
-                    widget.click(button);
-                }
-            }
-        }
+        boolean select = button == controller.getMapping().buttonA;
+        game.getInputQueue().push(InputRecording.BUTTON_DOWN, button, select ? 1 : 0, game.gamepadCursorX, game.gamepadCursorY);
         return false;
     }
 
     @Override
     public boolean buttonUp(Controller controller, int button) {
-        for (Keybind keybind : getKeybinds()) {
-            for (int bindKey : keybind.keys) {
-                if (!keybind.checkContext(game.getScreen())) continue;
-                if (bindKey != button) continue;
+        game.getInputQueue().push(InputRecording.BUTTON_UP, button, 0, 0, 0);
+        return false;
+    }
+
+    /**
+     * Handles a gamepad button being pressed, independently of the controller it was pressed on.
+     * @param button The button that was pressed.
+     * @param select Whether the button is the select button of its controller, which clicks the widgets under the gamepad cursor.
+     * @param cursorX The x position of the gamepad cursor when the button was pressed.
+     * @param cursorY The y position of the gamepad cursor when the button was pressed.
+     */
+    void handleButtonDown(int button, boolean select, int cursorX, int cursorY) {
+        for (Keybind keybind : game.getKeybindTable().get(game.getScreen(), button)) {
+            game.getInputQueue().press(keybind);
+        }
 
-                keybind.isPressed = false;
+        if (select && game.getScreen() != null) {
+            // Click the widgets under the gamepad cursor
+            Array<Widget> widgets = game.getScreen().getWidgetIndex().getWidgetsAt(cursorX, cursorY);
+            for (int i = 0; i < widgets.size; i++) {
+                widgets.items[i].click(button);
             }
         }
-        return false;
+    }
+
+    /**
+     * Handles a gamepad button being released, independently of the controller it was released on.
+     * @param button The button that was released.
+     */
+    void handleButtonUp(int button) {
+        for (Keybind keybind : game.getKeybindTable().get(game.getScreen(), button)) {
+            keybind.isPressed = false;
+        }
     }
 
     @Override
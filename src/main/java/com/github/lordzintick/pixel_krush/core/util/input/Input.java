@@ -1,17 +1,16 @@
 package com.github.lordzintick.pixel_krush.core.util.input;
 
 import com.badlogic.gdx.InputProcessor;
-import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Array;
 import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
-import com.github.lordzintick.pixel_krush.core.util.MathUtil;
-import com.github.lordzintick.pixel_krush.core.util.registry.ImmutableRegistry;
 import com.github.lordzintick.pixel_krush.core.ui.api.Widget;
 
 import java.util.ArrayList;
 import java.util.function.BiConsumer;
 
 /**
- * A wrapper class around {@link InputProcessor} for game-specific input handling
+ * A wrapper class around {@link InputProcessor} for game-specific input handling.<br>
+ * Events aren't handled when they arrive, but pushed into the game's {@link InputQueue} and handled when it is {@link InputQueue#drain() drained} at the start of the next update.
  */
 public final class Input implements InputProcessor {
     /**
@@ -35,41 +34,15 @@ public final class Input implements InputProcessor {
         this.game = game;
     }
 
-    /**
-     * Gets all the registered {@link Keybind}s in the parent game.
-     * @return An {@link ObjectMap.Values} containing all the registered keybinds in the parent game.
-     */
-    private ObjectMap.Values<Keybind> getKeybinds() {
-        return ((ImmutableRegistry) game.queryRegistryOrThrow(AbstractGame.getGlobalId("keybinds"))).valueCollection();
-    }
-
     @Override
     public boolean keyDown(int key) {
-        // Iterate through all the keybinds
-        for (Keybind keybind : getKeybinds()) {
-            for (int bindKey : keybind.keys) {
-                if (!keybind.checkContext(game.getScreen())) continue;
-                if (bindKey != key) continue;
-
-                keybind.isPressed = true;
-                keybind.action.run();
-            }
-        }
+        game.getInputQueue().push(InputRecording.KEY_DOWN, key, 0, 0, 0);
         return false;
     }
 
     @Override
     public boolean keyUp(int key) {
-        // Iterate through all the keybinds
-        for (Keybind keybind : getKeybinds()) {
-            for (int bindKey : keybind.keys) {
-                if (!keybind.checkContext(game.getScreen())) continue;
-                if (bindKey != key) continue;
-
-                keybind.isPressed = false;
-            }
-        }
-
+        game.getInputQueue().push(InputRecording.KEY_UP, key, 0, 0, 0);
         return false;
     }
 
@@ -80,51 +53,13 @@ public final class Input implements InputProcessor {
 
     @Override
     public boolean touchDown(int screenX, int screenY, int pointer, int button) {
-        mouseButtonsPressed[button] = true;
-        if (game.getScreen() == null) return false;
-
-        for (Keybind keybind : getKeybinds()) {
-            for (int bindKey : keybind.keys) {
-                if (!keybind.checkContext(game.getScreen())) continue;
-                if (bindKey != button) continue;
-
-                keybind.isPressed = true;
-                keybind.action.run();
-            }
-        }
-
-        // Iterate through all the screen's widgets
-        for (Widget widget : game.getScreen().widgets) {
-            // Check if the mouse position is in the widgets' area, and call the according method
-            if (MathUtil.isPointInArea(screenX, screenY, widget.x, widget.y, widget.width, widget.height)) {
-                widget.click(button);
-            }
-        }
+        game.getInputQueue().push(InputRecording.TOUCH_DOWN, screenX, screenY, pointer, button);
         return false;
     }
 
     @Override
     public boolean touchUp(int screenX, int screenY, int pointer, int button) {
-        mouseButtonsPressed[button] = false;
-        if (game.getScreen() == null) return false;
-
-        for (Keybind keybind : getKeybinds()) {
-            for (int bindKey : keybind.keys) {
-                if (!keybind.checkContext(game.getScreen())) continue;
-                if (bindKey != button) continue;
-
-                keybind.isPressed = false;
-            }
-        }
-
-
-        // Iterate through all the screen's widgets
-        for (Widget widget : game.getScreen().widgets) {
-            // Check if the mouse position is in the widgets' area, and call the according method
-            if (MathUtil.isPointInArea(screenX, screenY, widget.x, widget.y, widget.width, widget.height)) {
-                widget.release(button);
-            }
-        }
+        game.getInputQueue().push(InputRecording.TOUCH_UP, screenX, screenY, pointer, button);
         return false;
     }
 
@@ -140,25 +75,100 @@ public final class Input implements InputProcessor {
 
     @Override
     public boolean mouseMoved(int screenX, int screenY) {
-        if (game.getScreen() == null) return false;
-
-        // Iterate through all the screen's widgets
-        for (Widget widget : game.getScreen().widgets) {
-            // Check if the mouse position is in the widgets' area, and call the according method
-            if (MathUtil.isPointInArea(screenX, screenY, widget.x, widget.y, widget.width, widget.height)) {
-                widget.hover();
-            } else {
-                widget.unHover();
-            }
-        }
+        game.getInputQueue().push(InputRecording.MOUSE_MOVED, screenX, screenY, 0, 0);
         return false;
     }
 
     @Override
     public boolean scrolled(float deltaX, float deltaY) {
+        game.getInputQueue().push(InputRecording.SCROLLED, Float.floatToRawIntBits(deltaX), Float.floatToRawIntBits(deltaY), 0, 0);
+        return false;
+    }
+
+    /**
+     * Handles a keyboard key being pressed.
+     * @param key The key code of the key.
+     */
+    void handleKeyDown(int key) {
+        // Dispatch to the keybinds bound to the key
+        for (Keybind keybind : game.getKeybindTable().get(game.getScreen(), key)) {
+            game.getInputQueue().press(keybind);
+        }
+    }
+
+    /**
+     * Handles a keyboard key being released.
+     * @param key The key code of the key.
+     */
+    void handleKeyUp(int key) {
+        // Dispatch to the keybinds bound to the key
+        for (Keybind keybind : game.getKeybindTable().get(game.getScreen(), key)) {
+            keybind.isPressed = false;
+        }
+    }
+
+    /**
+     * Handles a mouse button being pressed.
+     * @param screenX The x position of the cursor.
+     * @param screenY The y position of the cursor.
+     * @param button The mouse button.
+     */
+    void handleTouchDown(int screenX, int screenY, int button) {
+        mouseButtonsPressed[button] = true;
+        if (game.getScreen() == null) return;
+
+        for (Keybind keybind : game.getKeybindTable().get(game.getScreen(), button)) {
+            game.getInputQueue().press(keybind);
+        }
+
+        // Click the widgets under the cursor
+        Array<Widget> widgets = game.getScreen().getWidgetIndex().getWidgetsAt(screenX, screenY);
+        for (int i = 0; i < widgets.size; i++) {
+            widgets.items[i].click(button);
+        }
+    }
+
+    /**
+     * Handles a mouse button being released.
+     * @param screenX The x position of the cursor.
+     * @param screenY The y position of the cursor.
+     * @param button The mouse button.
+     */
+    void handleTouchUp(int screenX, int screenY, int button) {
+        mouseButtonsPressed[button] = false;
+        if (game.getScreen() == null) return;
+
+        for (Keybind keybind : game.getKeybindTable().get(game.getScreen(), button)) {
+            keybind.isPressed = false;
+        }
+
+        // Release the widgets under the cursor
+        Array<Widget> widgets = game.getScreen().getWidgetIndex().getWidgetsAt(screenX, screenY);
+        for (int i = 0; i < widgets.size; i++) {
+            widgets.items[i].release(button);
+        }
+    }
+
+    /**
+     * Handles the mouse being moved.
+     * @param screenX The new x position of the cursor.
+     * @param screenY The new y position of the cursor.
+     */
+    void handleMouseMoved(int screenX, int screenY) {
+        if (game.getScreen() == null) return;
+
+        // Only the widgets the cursor entered or left are notified
+        game.getScreen().getWidgetIndex().updateHover(screenX, screenY);
+    }
+
+    /**
+     * Handles the mouse wheel being scrolled.
+     * @param deltaX The horizontal scroll amount.
+     * @param deltaY The vertical scroll amount.
+     */
+    void handleScrolled(float deltaX, float deltaY) {
         for (BiConsumer<Float, Float> listener : scrollListeners) {
             listener.accept(deltaX, deltaY);
         }
-        return false;
     }
 }
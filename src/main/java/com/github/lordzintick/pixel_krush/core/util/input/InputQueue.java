@@ -0,0 +1,273 @@
+package com.github.lordzintick.pixel_krush.core.util.input;
+
+import com.badlogic.gdx.utils.Array;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
+
+/**
+ * A ring buffer of input events, filled by {@link Input} and {@link GamepadInput} as events arrive and {@link #drain() drained} by the game at the start of every update.<br>
+ * This way, input is always handled at the same point of a frame, in the order it arrived. The queue is always drained on the render thread,
+ * since widgets and UI keybinds share their state with UI rendering. When the game {@link AbstractGame#useSimulationThread() uses a simulation thread},
+ * the actions of {@link Keybind.Context#GAME GAME} keybinds are instead handed to it and {@link #runGameActions() run} at the start of its next tick.
+ * Floods of mouse moves and scrolls between two updates can be {@link #setCoalesceMouseMoves(boolean) coalesced} into a single event.<br>
+ * Events are stored in preallocated primitive arrays, so queueing and draining them doesn't allocate.
+ * Pushing and draining may happen on different threads: only the handoff of the queued range is synchronized, and events are handled outside of the lock.
+ */
+public final class InputQueue {
+    /**
+     * The amount of events the queue can hold before it has to grow.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+    /**
+     * The amount of arguments stored per event, which is the most any {@link InputRecording event type} has.
+     */
+    private static final int ARGUMENTS = 4;
+
+    /**
+     * The {@link AbstractGame Game} the events are for.
+     */
+    private final AbstractGame game;
+    /**
+     * The handler of keyboard and mouse events.
+     */
+    private final Input input;
+    /**
+     * The handler of gamepad events.
+     */
+    private final GamepadInput gamepadInput;
+
+    /**
+     * The type of the event in every slot.
+     */
+    private byte[] types;
+    /**
+     * The arguments of the event in every slot, {@link #ARGUMENTS} per slot.
+     */
+    private int[] arguments;
+    /**
+     * The capacity minus one, used to turn a position into a slot. The capacity is always a power of two.
+     */
+    private int mask;
+    /**
+     * The position of the next event to drain.
+     */
+    private int head = 0;
+    /**
+     * The position after the last event currently being drained. Events before it must not be changed anymore.
+     */
+    private int claimed = 0;
+    /**
+     * The position the next event is pushed at.
+     */
+    private int tail = 0;
+
+    /**
+     * The lock guarding the {@link #pendingActions}.
+     */
+    private final Object actionLock = new Object();
+    /**
+     * The {@link Keybind.Context#GAME GAME} keybinds pressed since the simulation thread last {@link #runGameActions() ran their actions}.
+     */
+    private Array<Keybind> pendingActions = new Array<>(false, 16, Keybind[]::new);
+    /**
+     * The keybinds whose actions are currently being run, swapped with {@link #pendingActions} so pressing keybinds never waits for the actions.
+     */
+    private Array<Keybind> runningActions = new Array<>(false, 16, Keybind[]::new);
+
+    /**
+     * Whether a mouse move directly following another queued mouse move replaces it.
+     */
+    private volatile boolean coalesceMouseMoves = true;
+    /**
+     * Whether a scroll directly following another queued scroll is added onto it.
+     */
+    private volatile boolean coalesceScrolls = true;
+
+    /**
+     * Constructs a new, empty {@link InputQueue}.
+     * @param game The {@link AbstractGame Game} the events are for.
+     * @param input The {@link Input} handling keyboard and mouse events.
+     * @param gamepadInput The {@link GamepadInput} handling gamepad events.
+     */
+    public InputQueue(AbstractGame game, Input input, GamepadInput gamepadInput) {
+        this.game = game;
+        this.input = input;
+        this.gamepadInput = gamepadInput;
+        this.types = new byte[DEFAULT_CAPACITY];
+        this.arguments = new int[DEFAULT_CAPACITY * ARGUMENTS];
+        this.mask = DEFAULT_CAPACITY - 1;
+    }
+
+    /**
+     * Queues an event, or merges it into the last queued event if they can be {@link #setCoalesceMouseMoves(boolean) coalesced}.<br>
+     * If the queue is full, it grows instead of dropping events, since a lost release would leave a key stuck.
+     * @param type The type of the event, see {@link InputRecording}.
+     * @param a The first argument of the event.
+     * @param b The second argument of the event.
+     * @param c The third argument of the event.
+     * @param d The fourth argument of the event.
+     */
+    synchronized void push(byte type, int a, int b, int c, int d) {
+        if (tail - claimed > 0) {
+            int last = (tail - 1) & mask;
+            if (types[last] == type) {
+                int offset = last * ARGUMENTS;
+                if (type == InputRecording.MOUSE_MOVED && coalesceMouseMoves) {
+                    arguments[offset] = a;
+                    arguments[offset + 1] = b;
+                    return;
+                }
+                if (type == InputRecording.SCROLLED && coalesceScrolls) {
+                    arguments[offset] = Float.floatToRawIntBits(Float.intBitsToFloat(arguments[offset]) + Float.intBitsToFloat(a));
+                    arguments[offset + 1] = Float.floatToRawIntBits(Float.intBitsToFloat(arguments[offset + 1]) + Float.intBitsToFloat(b));
+                    return;
+                }
+            }
+        }
+
+        if (tail - head == types.length)
+            grow();
+        int slot = tail & mask;
+        int offset = slot * ARGUMENTS;
+        types[slot] = type;
+        arguments[offset] = a;
+        arguments[offset + 1] = b;
+        arguments[offset + 2] = c;
+        arguments[offset + 3] = d;
+        tail++;
+    }
+
+    /**
+     * Doubles the capacity of the queue, keeping the queued events at their positions.<br>
+     * Events currently being drained are still read from the old arrays, so those are left untouched.
+     */
+    private void grow() {
+        int capacity = types.length * 2;
+        byte[] newTypes = new byte[capacity];
+        int[] newArguments = new int[capacity * ARGUMENTS];
+        int newMask = capacity - 1;
+        for (int i = head; i != tail; i++) {
+            int slot = i & mask, newSlot = i & newMask;
+            newTypes[newSlot] = types[slot];
+            System.arraycopy(arguments, slot * ARGUMENTS, newArguments, newSlot * ARGUMENTS, ARGUMENTS);
+        }
+        types = newTypes;
+        arguments = newArguments;
+        mask = newMask;
+    }
+
+    /**
+     * Handles all queued events in the order they arrived, see {@link #dispatch(byte, int, int, int, int)}.<br>
+     * Events pushed while draining, for example by a keybind action, are handled by the next drain.
+     */
+    public void drain() {
+        byte[] types;
+        int[] arguments;
+        int mask, from, to;
+        synchronized (this) {
+            types = this.types;
+            arguments = this.arguments;
+            mask = this.mask;
+            from = head;
+            to = tail;
+            claimed = to;
+        }
+
+        for (int i = from; i != to; i++) {
+            int slot = i & mask;
+            int offset = slot * ARGUMENTS;
+            dispatch(types[slot], arguments[offset], arguments[offset + 1], arguments[offset + 2], arguments[offset + 3]);
+        }
+
+        synchronized (this) {
+            head = to;
+        }
+    }
+
+    /**
+     * Handles an event right away, {@link InputRecording recording} it first if input is being recorded.
+     * @param type The type of the event, see {@link InputRecording}.
+     * @param a The first argument of the event.
+     * @param b The second argument of the event.
+     * @param c The third argument of the event.
+     * @param d The fourth argument of the event.
+     */
+    void dispatch(byte type, int a, int b, int c, int d) {
+        InputRecording recording = game.getInputRecording();
+        if (recording != null) recording.add(game.getTick(), type, a, b, c, d);
+
+        switch (type) {
+            case InputRecording.KEY_DOWN: input.handleKeyDown(a); break;
+            case InputRecording.KEY_UP: input.handleKeyUp(a); break;
+            case InputRecording.TOUCH_DOWN: input.handleTouchDown(a, b, d); break;
+            case InputRecording.TOUCH_UP: input.handleTouchUp(a, b, d); break;
+            case InputRecording.MOUSE_MOVED: input.handleMouseMoved(a, b); break;
+            case InputRecording.SCROLLED: input.handleScrolled(Float.intBitsToFloat(a), Float.intBitsToFloat(b)); break;
+            case InputRecording.BUTTON_DOWN: gamepadInput.handleButtonDown(a, b != 0, c, d); break;
+            case InputRecording.BUTTON_UP: gamepadInput.handleButtonUp(a); break;
+        }
+    }
+
+    /**
+     * Marks a keybind as pressed and runs its action, or hands the action to the simulation thread if the keybind is in the {@link Keybind.Context#GAME GAME} context
+     * and the game {@link AbstractGame#isSimulationThreadRunning() runs a simulation thread}.
+     * @param keybind The pressed {@link Keybind}.
+     */
+    void press(Keybind keybind) {
+        keybind.isPressed = true;
+        if (keybind.context == Keybind.Context.GAME && game.isSimulationThreadRunning()) {
+            synchronized (actionLock) {
+                pendingActions.add(keybind);
+            }
+        } else {
+            keybind.action.run();
+        }
+    }
+
+    /**
+     * Runs the actions of the {@link Keybind.Context#GAME GAME} keybinds pressed since the last call, in the order they were pressed.<br>
+     * Called by the simulation thread at the start of every tick.
+     */
+    public void runGameActions() {
+        Array<Keybind> actions;
+        synchronized (actionLock) {
+            actions = pendingActions;
+            pendingActions = runningActions;
+            runningActions = actions;
+        }
+
+        for (int i = 0; i < actions.size; i++) {
+            actions.items[i].action.run();
+        }
+        actions.clear();
+    }
+
+    /**
+     * Gets the amount of queued events that weren't drained yet.
+     * @return The amount of pending events.
+     */
+    public synchronized int size() {return tail - head;}
+
+    /**
+     * Sets whether a mouse move directly following another queued mouse move replaces it, so only the last cursor position before an update is handled.
+     * @param coalesce Whether to coalesce mouse moves. Defaults to <code>true</code>.
+     */
+    public void setCoalesceMouseMoves(boolean coalesce) {coalesceMouseMoves = coalesce;}
+
+    /**
+     * Gets whether mouse moves are coalesced, see {@link #setCoalesceMouseMoves(boolean)}.
+     * @return Whether to coalesce mouse moves.
+     */
+    public boolean isCoalescingMouseMoves() {return coalesceMouseMoves;}
+
+    /**
+     * Sets whether a scroll directly following another queued scroll is added onto it, so the scroll listeners are called once per update with the total scroll amount.
+     * @param coalesce Whether to coalesce scrolls. Defaults to <code>true</code>.
+     */
+    public void setCoalesceScrolls(boolean coalesce) {coalesceScrolls = coalesce;}
+
+    /**
+     * Gets whether scrolls are coalesced, see {@link #setCoalesceScrolls(boolean)}.
+     * @return Whether to coalesce scrolls.
+     */
+    public boolean isCoalescingScrolls() {return coalesceScrolls;}
+}
@@ -0,0 +1,326 @@
+package com.github.lordzintick.pixel_krush.core.util.input;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
+
+import java.io.*;
+
+/**
+ * A log of the input events of a session, each stamped with the {@link AbstractGame#getTick() simulation tick} it happened before.<br>
+ * Together with the {@link AbstractGame#getRandomSeed() random seed} and the tick rate of the session,
+ * it can be {@link AbstractGame#replayInput(InputRecording) replayed} into a headless game to reproduce the session exactly, see {@link InputReplay}.
+ * Events are stored in flat arrays and written as variable-length integers, so a long session only takes a few bytes per event.
+ */
+public final class InputRecording {
+    /**
+     * A keyboard key was pressed, with the key code as argument.
+     */
+    public static final byte KEY_DOWN = 0;
+    /**
+     * A keyboard key was released, with the key code as argument.
+     */
+    public static final byte KEY_UP = 1;
+    /**
+     * A mouse button was pressed, with the x, y, pointer and button as arguments.
+     */
+    public static final byte TOUCH_DOWN = 2;
+    /**
+     * A mouse button was released, with the x, y, pointer and button as arguments.
+     */
+    public static final byte TOUCH_UP = 3;
+    /**
+     * The mouse was moved, with the x and y as arguments.
+     */
+    public static final byte MOUSE_MOVED = 4;
+    /**
+     * The mouse wheel was scrolled, with the raw bits of the x and y deltas as arguments.
+     */
+    public static final byte SCROLLED = 5;
+    /**
+     * A gamepad button was pressed, with the button, whether it was the select button, and the gamepad cursor's x and y as arguments.
+     */
+    public static final byte BUTTON_DOWN = 6;
+    /**
+     * A gamepad button was released, with the button as argument.
+     */
+    public static final byte BUTTON_UP = 7;
+    /**
+     * The amount of arguments of every event type, indexed by type.
+     */
+    private static final int[] ARGUMENTS = {1, 1, 4, 4, 2, 2, 4, 1};
+    /**
+     * The 4 bytes every written recording starts with, <code>"PKIR"</code>.
+     */
+    private static final int MAGIC = 0x504B4952;
+    /**
+     * The version of the written format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The seed of the game's {@link java.util.Random} at the start of the session.
+     */
+    private final long seed;
+    /**
+     * The tick rate of the session, in ticks per second.
+     */
+    private final int tickRate;
+    /**
+     * The tick of every event.
+     */
+    private final LongArray ticks = new LongArray();
+    /**
+     * The type of every event.
+     */
+    private final ByteArray types = new ByteArray();
+    /**
+     * The arguments of all events, one after another, with as many per event as its type has.
+     */
+    private final IntArray arguments = new IntArray();
+    /**
+     * The amount of ticks the session lasted for, or -1 while it is still being recorded.
+     */
+    private long length = -1;
+
+    /**
+     * Constructs a new, empty {@link InputRecording}.
+     * @param seed The seed of the game's {@link java.util.Random} at the start of the session.
+     * @param tickRate The tick rate of the session, in ticks per second.
+     */
+    public InputRecording(long seed, int tickRate) {
+        this.seed = seed;
+        this.tickRate = tickRate;
+    }
+
+    /**
+     * Adds an event, keeping as many of the provided arguments as its {@link #getArgumentCount(byte) type has}.
+     * @param tick The tick the event happened before.
+     * @param type The type of the event.
+     * @param a The first argument of the event.
+     * @param b The second argument of the event.
+     * @param c The third argument of the event.
+     * @param d The fourth argument of the event.
+     */
+    void add(long tick, byte type, int a, int b, int c, int d) {
+        checkRecording(tick);
+        ticks.add(tick);
+        types.add(type);
+        switch (ARGUMENTS[type]) {
+            case 1: arguments.add(a); break;
+            case 2: arguments.add(a, b); break;
+            default: arguments.add(a, b, c, d); break;
+        }
+    }
+
+    /**
+     * Checks that events can still be added at the provided tick.
+     * @param tick The tick of the event to add.
+     */
+    private void checkRecording(long tick) {
+        if (length >= 0)
+            throw new IllegalStateException("Cannot add events to an ended input recording");
+        if (ticks.size > 0 && tick < ticks.peek())
+            throw new IllegalArgumentException("Input events must be recorded in order, got tick " + tick + " after tick " + ticks.peek());
+    }
+
+    /**
+     * Ends the recording, so no more events can be added.
+     * @param tick The tick the session ended at, which is the amount of ticks a replay needs to be stepped by.
+     */
+    public void end(long tick) {
+        if (length >= 0)
+            throw new IllegalStateException("Input recording was already ended");
+        length = tick;
+    }
+
+    /**
+     * Checks whether the recording was {@link #end(long) ended}.
+     * @return Whether the recording was ended.
+     */
+    public boolean isEnded() {return length >= 0;}
+
+    /**
+     * Gets the amount of ticks the session lasted for.
+     * @return The tick the recording was {@link #end(long) ended} at, or -1 if it wasn't ended yet.
+     */
+    public long getLength() {return length;}
+
+    /**
+     * Gets the seed of the game's {@link java.util.Random} at the start of the session.
+     * @return The random seed of the session.
+     */
+    public long getSeed() {return seed;}
+
+    /**
+     * Gets the tick rate of the session.
+     * @return The tick rate, in ticks per second.
+     */
+    public int getTickRate() {return tickRate;}
+
+    /**
+     * Gets the amount of recorded events.
+     * @return The amount of events.
+     */
+    public int size() {return types.size;}
+
+    /**
+     * Gets the tick of an event.
+     * @param index The index of the event.
+     * @return The tick the event happened before.
+     */
+    public long getTick(int index) {return ticks.get(index);}
+
+    /**
+     * Gets the type of an event.
+     * @param index The index of the event.
+     * @return The type of the event, one of the constants of this class.
+     */
+    public byte getType(int index) {return types.get(index);}
+
+    /**
+     * Gets the amount of arguments events of a type have.
+     * @param type The type of event.
+     * @return The amount of arguments.
+     */
+    public static int getArgumentCount(byte type) {return ARGUMENTS[type];}
+
+    /**
+     * Gets the arguments of all events, one after another, with as many per event as its {@link #getArgumentCount(byte) type has}.
+     * @return The backing array of the arguments. Must not be modified.
+     */
+    IntArray getArguments() {return arguments;}
+
+    /**
+     * Writes the recording to a stream.<br>
+     * Ticks are written as the difference to the previous event and arguments as zigzag-encoded variable-length integers,
+     * so most events take 3 to 6 bytes.
+     * @param stream The {@link OutputStream} to write to. Is not closed.
+     * @throws IOException If the stream could not be written to.
+     */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        writeVarLong(out, tickRate);
+        writeVarLong(out, length + 1);
+        writeVarLong(out, types.size);
+
+        long previousTick = 0;
+        int argument = 0;
+        for (int i = 0; i < types.size; i++) {
+            byte type = types.get(i);
+            writeVarLong(out, ticks.get(i) - previousTick);
+            previousTick = ticks.get(i);
+            out.writeByte(type);
+            for (int j = 0; j < ARGUMENTS[type]; j++) {
+                int value = arguments.get(argument++);
+                writeVarLong(out, ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a recording from a stream, as written by {@link #write(OutputStream)}.
+     * @param stream The {@link InputStream} to read from. Is not closed.
+     * @return The read recording.
+     * @throws IOException If the stream could not be read from, or doesn't hold a recording.
+     */
+    public static InputRecording read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC)
+            throw new IOException("Stream does not hold an input recording");
+        int version = in.readUnsignedByte();
+        if (version != VERSION)
+            throw new IOException("Unsupported input recording version " + version);
+
+        InputRecording recording = new InputRecording(in.readLong(), (int) readVarLong(in));
+        long length = readVarLong(in) - 1;
+        int size = (int) readVarLong(in);
+        recording.ticks.ensureCapacity(size);
+        recording.types.ensureCapacity(size);
+
+        long tick = 0;
+        for (int i = 0; i < size; i++) {
+            tick += readVarLong(in);
+            byte type = in.readByte();
+            if (type < 0 || type >= ARGUMENTS.length)
+                throw new IOException("Unknown input event type " + type);
+            recording.ticks.add(tick);
+            recording.types.add(type);
+            for (int j = 0; j < ARGUMENTS[type]; j++) {
+                int value = (int) readVarLong(in);
+                recording.arguments.add((value >>> 1) ^ -(value & 1));
+            }
+        }
+        recording.length = length;
+        return recording;
+    }
+
+    /**
+     * Writes the recording to a file, see {@link #write(OutputStream)}.
+     * @param file The {@link FileHandle} to write to.
+     */
+    public void writeTo(FileHandle file) {
+        OutputStream out = file.write(false);
+        try {
+            write(out);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not write input recording to " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(out);
+        }
+    }
+
+    /**
+     * Reads a recording from a file, see {@link #read(InputStream)}.
+     * @param file The {@link FileHandle} to read from.
+     * @return The read recording.
+     */
+    public static InputRecording readFrom(FileHandle file) {
+        InputStream in = file.read();
+        try {
+            return read(in);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read input recording from " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+
+    /**
+     * Writes a non-negative number as a variable-length integer of 7 bits per byte.
+     * @param out The stream to write to.
+     * @param value The number to write.
+     * @throws IOException If the stream could not be written to.
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a variable-length integer written by {@link #writeVarLong(DataOutputStream, long)}.
+     * @param in The stream to read from.
+     * @return The read number.
+     * @throws IOException If the stream could not be read from.
+     */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.lordzintick.pixel_krush.core.util.input;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGame;
+
+/**
+ * Feeds the events of an {@link InputRecording} back into a game's {@link Input} and {@link GamepadInput}, tick by tick.<br>
+ * Replayed events are dispatched right away instead of being queued, since they were already coalesced and ordered when they were recorded.
+ * See {@link AbstractGame#replayInput(InputRecording)}.
+ */
+public final class InputReplay {
+    /**
+     * The recording being replayed.
+     */
+    private final InputRecording recording;
+    /**
+     * The queue dispatching the replayed events.
+     */
+    private final InputQueue queue;
+    /**
+     * The index of the next event to replay.
+     */
+    private int next = 0;
+    /**
+     * The index of the first argument of the next event to replay.
+     */
+    private int argument = 0;
+
+    /**
+     * Constructs a new {@link InputReplay} feeding the provided recording into the handlers of the provided queue.
+     * @param recording The {@link InputRecording} to replay.
+     * @param queue The {@link InputQueue} dispatching the events to the game's input handlers.
+     */
+    public InputReplay(InputRecording recording, InputQueue queue) {
+        this.recording = recording;
+        this.queue = queue;
+    }
+
+    /**
+     * Replays all events that happened before the provided tick and weren't replayed yet.
+     * @param tick The tick about to be simulated.
+     */
+    public void apply(long tick) {
+        IntArray arguments = recording.getArguments();
+        while (next < recording.size() && recording.getTick(next) <= tick) {
+            byte type = recording.getType(next);
+            int count = InputRecording.getArgumentCount(type);
+            queue.dispatch(type,
+                arguments.get(argument),
+                count > 1 ? arguments.get(argument + 1) : 0,
+                count > 2 ? arguments.get(argument + 2) : 0,
+                count > 3 ? arguments.get(argument + 3) : 0);
+            argument += count;
+            next++;
+        }
+    }
+
+    /**
+     * Checks whether every event of the recording was replayed.
+     * @return Whether the replay is finished.
+     */
+    public boolean isFinished() {return next >= recording.size();}
+
+    /**
+     * Gets the recording being replayed.
+     * @return The {@link InputRecording} of this replay.
+     */
+    public InputRecording getRecording() {return recording;}
+}
@@ -4,12 +4,20 @@ import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
 import com.github.lordzintick.pixel_krush.core.api.AbstractUIScreen;
 import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * An input class defining an array of integer key codes and an action to run when any of the keys are pressed.
  */
 public class Keybind {
     /**
-     * The array of key codes to check for.
+     * The amount of times any keybind was {@link #rebind(int, int) rebound}, used by {@link KeybindTable} to tell whether it needs to be rebuilt.
+     */
+    private static final AtomicInteger rebinds = new AtomicInteger();
+
+    /**
+     * The array of key codes to check for.<br>
+     * Change keys with {@link #rebind(int, int)}. Writing to the array directly is not seen by the {@link KeybindTable} until it is {@link KeybindTable#invalidate() invalidated}.
      */
     public final int[] keys;
     /**
@@ -21,9 +29,10 @@ public class Keybind {
      */
     public final Runnable action;
     /**
-     * Whether this keybind is pressed or not.
+     * Whether this keybind is pressed or not.<br>
+     * Set on the render thread, so it is volatile for {@link Context#GAME GAME} logic reading it on the simulation thread.
      */
-    public boolean isPressed = false;
+    public volatile boolean isPressed = false;
 
     /**
      * Constructs a new {@link Keybind} with the provided context, action, and key code array.
@@ -48,6 +57,22 @@ public class Keybind {
         this.action = () -> {};
     }
 
+    /**
+     * Binds one of the keys of this keybind to another key code, for example when the player changes their controls.
+     * @param index The index of the key in {@link #keys} to replace.
+     * @param key The new key code.
+     */
+    public void rebind(int index, int key) {
+        keys[index] = key;
+        rebinds.incrementAndGet();
+    }
+
+    /**
+     * Gets the amount of times any keybind was {@link #rebind(int, int) rebound}.
+     * @return The rebind count.
+     */
+    static int getRebindCount() {return rebinds.get();}
+
     /**
      * Gets the "unknown" keybind for cases where you want an empty keybind.
      * @return A keybind with no keycodes defined, thus making it impossible to press.
@@ -61,6 +86,7 @@ public class Keybind {
      * Essentially, if the screen is an {@link AbstractUIScreen} and this keybind's context is <code>Context.UI</code>, or
      * if the screen is an {@link AbstractGameScreen} and this keybind's context is <code>Context.GAME</code>, then this check returns <code>true</code>.
      * @param screen The {@link BaseScreen} to check this keybind's context against.
+     * Override this to make a keybind valid on other screens. The result must only depend on the screen, since the {@link KeybindTable} caches it until the screen changes.
      * @return Whether this keybind has the correct context for the provided screen.
      */
     public boolean checkContext(BaseScreen screen) {
@@ -0,0 +1,143 @@
+package com.github.lordzintick.pixel_krush.core.util.input;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
+import com.github.lordzintick.pixel_krush.core.util.registry.Registry;
+
+import java.util.function.Predicate;
+
+/**
+ * A dispatch table from key codes to the {@link Keybind}s bound to them, per {@link Keybind.Context} and for the current screen.<br>
+ * The table is rebuilt from the keybind {@link Registry} only when its {@link Registry#getModificationCount() contents change}
+ * or a keybind is {@link Keybind#rebind(int, int) rebound}, and the table of the current screen also when the screen changes,
+ * so handling a key event only touches the keybinds bound to that key, and doesn't allocate.<br>
+ * Lookups rebuild the table in place, so the table is only meant to be used on the render thread.
+ */
+public final class KeybindTable {
+    /**
+     * The empty array returned for keys without keybinds.
+     */
+    private static final Keybind[] NONE = new Keybind[0];
+
+    /**
+     * The {@link Registry} of keybinds the table is built from.
+     */
+    private final Registry<Keybind> registry;
+    /**
+     * The keybinds bound to every key code, per {@link Keybind.Context}, indexed by the context's ordinal.
+     */
+    private final Array<IntMap<Keybind[]>> tables;
+    /**
+     * The keybinds bound to every key code that are valid in the {@link #builtScreen}, see {@link Keybind#checkContext(BaseScreen)}.
+     */
+    private final IntMap<Keybind[]> screenTable = new IntMap<>();
+    /**
+     * The keybinds bound to every key code while building a table, reused between builds.
+     */
+    private final IntMap<Array<Keybind>> bound = new IntMap<>();
+    /**
+     * The screen the {@link #screenTable} was last built for, or <code>null</code> if it needs to be rebuilt.
+     */
+    private BaseScreen builtScreen;
+    /**
+     * The {@link Registry#getModificationCount() modification count} of the registry when the table was last built.
+     */
+    private int builtModifications = -1;
+    /**
+     * The {@link Keybind#getRebindCount() rebind count} when the table was last built.
+     */
+    private int builtRebinds = -1;
+
+    /**
+     * Constructs a new {@link KeybindTable} for the provided registry.
+     * @param registry The {@link Registry} of keybinds to build the table from.
+     */
+    public KeybindTable(Registry<Keybind> registry) {
+        this.registry = registry;
+        Keybind.Context[] contexts = Keybind.Context.values();
+        this.tables = new Array<>(true, contexts.length);
+        for (int i = 0; i < contexts.length; i++) {
+            tables.add(new IntMap<>());
+        }
+    }
+
+    /**
+     * Gets the keybinds bound to a key that are valid in the provided screen, see {@link Keybind#checkContext(BaseScreen)}.<br>
+     * The keybinds valid in a screen are only checked again when the screen changes.
+     * @param screen The current screen.
+     * @param key The key code, mouse button or gamepad button.
+     * @return The keybinds bound to the key, in registration order. Must not be modified.
+     */
+    public Keybind[] get(BaseScreen screen, int key) {
+        if (screen == null) return NONE;
+        if (builtModifications != registry.getModificationCount() || builtRebinds != Keybind.getRebindCount())
+            rebuild();
+        if (builtScreen != screen) {
+            builtScreen = screen;
+            build(screenTable, keybind -> keybind.checkContext(screen));
+        }
+
+        Keybind[] keybinds = screenTable.get(key);
+        return keybinds == null ? NONE : keybinds;
+    }
+
+    /**
+     * Gets the keybinds bound to a key in the provided context.
+     * @param context The {@link Keybind.Context} of the keybinds.
+     * @param key The key code, mouse button or gamepad button.
+     * @return The keybinds bound to the key, in registration order. Must not be modified.
+     */
+    public Keybind[] get(Keybind.Context context, int key) {
+        if (builtModifications != registry.getModificationCount() || builtRebinds != Keybind.getRebindCount())
+            rebuild();
+
+        Keybind[] keybinds = tables.get(context.ordinal()).get(key);
+        return keybinds == null ? NONE : keybinds;
+    }
+
+    /**
+     * Rebuilds the table from the current contents of the registry.
+     */
+    private void rebuild() {
+        builtModifications = registry.getModificationCount();
+        builtRebinds = Keybind.getRebindCount();
+        builtScreen = null;
+
+        for (Keybind.Context context : Keybind.Context.values()) {
+            build(tables.get(context.ordinal()), keybind -> keybind.context == context);
+        }
+    }
+
+    /**
+     * Fills a table with the keybinds of the registry that pass the provided filter.
+     * @param table The table to clear and fill.
+     * @param filter Whether a keybind belongs in the table.
+     */
+    private void build(IntMap<Keybind[]> table, Predicate<Keybind> filter) {
+        table.clear();
+        bound.clear();
+        for (Keybind keybind : registry.valueCollection()) {
+            if (!filter.test(keybind)) continue;
+            for (int key : keybind.keys) {
+                Array<Keybind> keybinds = bound.get(key);
+                if (keybinds == null) {
+                    keybinds = new Array<>(true, 2, Keybind[]::new);
+                    bound.put(key, keybinds);
+                }
+                keybinds.add(keybind);
+            }
+        }
+
+        for (IntMap.Entry<Array<Keybind>> entry : bound) {
+            table.put(entry.key, entry.value.toArray());
+        }
+    }
+
+    /**
+     * Forces the table to be rebuilt before the next lookup, including the table of the current screen, for example after writing to the {@link Keybind#keys} of a keybind directly.
+     */
+    public void invalidate() {
+        builtModifications = -1;
+    }
+}
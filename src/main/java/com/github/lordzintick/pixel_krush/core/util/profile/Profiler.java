@@ -0,0 +1,197 @@
+package com.github.lordzintick.pixel_krush.core.util.profile;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * A lightweight profiler timing named {@link ProfilerSection sections} of every frame with {@link System#nanoTime()}.<br>
+ * Code is timed by wrapping it in a scope:
+ * <pre>
+ * long start = profiler.start();
+ * ...
+ * profiler.stop(section, start);
+ * </pre>
+ * Every section sums up its time over a frame, and {@link #endFrame()} pushes the totals into each section's history.<br>
+ * The profiler is disabled by default. While disabled, {@link #start()} and {@link #stop(ProfilerSection, long)} only check a flag, so scopes can stay in hot paths.
+ */
+public final class Profiler {
+    /**
+     * The default amount of frames kept in the history of every section.
+     */
+    public static final int DEFAULT_HISTORY_SIZE = 240;
+    /**
+     * The name of the section timing whole frames, from {@link #beginFrame()} to {@link #endFrame()}.
+     */
+    public static final String FRAME = "frame";
+
+    /**
+     * The amount of frames kept in the history of every section.
+     */
+    private final int historySize;
+    /**
+     * Every section, by name.
+     */
+    private final ObjectMap<String, ProfilerSection> sections = new ObjectMap<>();
+    /**
+     * Every section, in creation order.
+     */
+    private final Array<ProfilerSection> sectionList = new Array<>();
+    /**
+     * The sections timing the update of every system type.
+     */
+    private final ObjectMap<Class<?>, ProfilerSection> updateSections = new ObjectMap<>();
+    /**
+     * The sections timing the render of every system type.
+     */
+    private final ObjectMap<Class<?>, ProfilerSection> renderSections = new ObjectMap<>();
+    /**
+     * The section timing whole frames.
+     */
+    private final ProfilerSection frame;
+    /**
+     * Whether this profiler is timing anything.
+     */
+    private volatile boolean enabled = false;
+    /**
+     * The time the current frame began at, or 0 if it wasn't timed.
+     */
+    private long frameStart = 0;
+
+    /**
+     * Constructs a new, disabled {@link Profiler} keeping the {@link #DEFAULT_HISTORY_SIZE default amount} of frames.
+     */
+    public Profiler() {
+        this(DEFAULT_HISTORY_SIZE);
+    }
+
+    /**
+     * Constructs a new, disabled {@link Profiler}.
+     * @param historySize The amount of frames kept in the history of every section.
+     */
+    public Profiler(int historySize) {
+        if (historySize <= 0)
+            throw new IllegalArgumentException("The history size must be positive!");
+        this.historySize = historySize;
+        this.frame = getSection(FRAME);
+    }
+
+    /**
+     * Gets whether this profiler is timing anything.
+     * @return Whether this profiler is enabled.
+     */
+    public boolean isEnabled() {return enabled;}
+
+    /**
+     * Enables or disables this profiler. The history of every section is kept when disabling it.
+     * @param enabled Whether to enable the profiler.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets a section by name, creating it if it doesn't exist yet.<br>
+     * Sections should be looked up once and kept, rather than looked up every frame.
+     * @param name The name of the section.
+     * @return The section with the provided name.
+     */
+    public synchronized ProfilerSection getSection(String name) {
+        ProfilerSection section = sections.get(name);
+        if (section == null) {
+            section = new ProfilerSection(name, historySize);
+            sections.put(name, section);
+            sectionList.add(section);
+        }
+        return section;
+    }
+
+    /**
+     * Gets the section timing the update of a system type, creating it if it doesn't exist yet.<br>
+     * Systems resolve this once per instance, see {@link com.github.lordzintick.pixel_krush.core.api.ecs.sys.AbstractSystem#getUpdateSection(Profiler)}.
+     * @param type The class of the system.
+     * @return The section named <code>"update/"</code> followed by the simple name of the type.
+     */
+    public synchronized ProfilerSection getUpdateSection(Class<?> type) {
+        ProfilerSection section = updateSections.get(type);
+        if (section == null) {
+            section = getSection("update/" + type.getSimpleName());
+            updateSections.put(type, section);
+        }
+        return section;
+    }
+
+    /**
+     * Gets the section timing the render of a system type, creating it if it doesn't exist yet.<br>
+     * Systems resolve this once per instance, see {@link com.github.lordzintick.pixel_krush.core.api.ecs.sys.AbstractSystem#getRenderSection(Profiler)}.
+     * @param type The class of the system.
+     * @return The section named <code>"render/"</code> followed by the simple name of the type.
+     */
+    public synchronized ProfilerSection getRenderSection(Class<?> type) {
+        ProfilerSection section = renderSections.get(type);
+        if (section == null) {
+            section = getSection("render/" + type.getSimpleName());
+            renderSections.put(type, section);
+        }
+        return section;
+    }
+
+    /**
+     * Gets the section timing whole frames.
+     * @return The {@link #FRAME} section.
+     */
+    public ProfilerSection getFrame() {return frame;}
+
+    /**
+     * Gets every section, in creation order.<br>
+     * The returned array must not be modified.
+     * @return All sections of this profiler.
+     */
+    public synchronized Array<ProfilerSection> getSections() {return sectionList;}
+
+    /**
+     * Starts a scope.
+     * @return The start time of the scope, to pass to {@link #stop(ProfilerSection, long)}, or 0 if this profiler is disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stops a scope, adding the time since its start to a section.
+     * @param section The section to add the time to.
+     * @param start The start time returned by {@link #start()}.
+     */
+    public void stop(ProfilerSection section, long start) {
+        if (start != 0)
+            section.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Marks the beginning of a frame.
+     */
+    public void beginFrame() {
+        frameStart = start();
+    }
+
+    /**
+     * Marks the end of a frame, pushing the totals of every section into their history.
+     */
+    public synchronized void endFrame() {
+        if (frameStart == 0) return;
+
+        stop(frame, frameStart);
+        frameStart = 0;
+        for (int i = 0; i < sectionList.size; i++) {
+            sectionList.get(i).push();
+        }
+    }
+
+    /**
+     * Removes every frame from the history of every section.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < sectionList.size; i++) {
+            sectionList.get(i).clear();
+        }
+    }
+}
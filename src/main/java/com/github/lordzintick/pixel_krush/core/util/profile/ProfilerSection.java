@@ -0,0 +1,160 @@
+package com.github.lordzintick.pixel_krush.core.util.profile;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A named section of the frame timed by a {@link Profiler}.<br>
+ * The time spent in the section is summed up over a frame, and the totals of the most recent frames are kept in a ring buffer,
+ * from which the {@link #getMin() minimum}, {@link #getAverage() average} and {@link #getPercentile(float) percentiles} are computed.
+ * All times are in nanoseconds.
+ */
+public final class ProfilerSection {
+    /**
+     * The name of this section.
+     */
+    private final String name;
+    /**
+     * The time spent in this section so far in the current frame.<br>
+     * Atomic, since sections can be entered from the simulation thread and from systems running in parallel.
+     */
+    private final AtomicLong current = new AtomicLong();
+    /**
+     * The totals of the most recent frames, as a ring buffer.
+     */
+    private final long[] history;
+    /**
+     * A scratch array used to sort the history when computing percentiles.
+     */
+    private final long[] sorted;
+    /**
+     * The index in the {@link #history} the next frame's total is written to.
+     */
+    private int head = 0;
+    /**
+     * The amount of frames in the {@link #history}.
+     */
+    private int count = 0;
+
+    /**
+     * Constructs a new {@link ProfilerSection} with the provided name.
+     * @param name The name of the section.
+     * @param historySize The amount of frames to keep in the history.
+     */
+    ProfilerSection(String name, int historySize) {
+        this.name = name;
+        this.history = new long[historySize];
+        this.sorted = new long[historySize];
+    }
+
+    /**
+     * Adds time spent in this section to the current frame.
+     * @param nanos The time spent, in nanoseconds.
+     */
+    void add(long nanos) {
+        current.addAndGet(nanos);
+    }
+
+    /**
+     * Pushes the current frame's total into the history and starts a new frame.
+     */
+    void push() {
+        history[head] = current.getAndSet(0);
+        head = (head + 1) % history.length;
+        if (count < history.length) count++;
+    }
+
+    /**
+     * Removes every frame from the history.
+     */
+    void clear() {
+        current.set(0);
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * Gets the name of this section.
+     * @return The name of this section.
+     */
+    public String getName() {return name;}
+
+    /**
+     * Gets the amount of frames in the history.
+     * @return The amount of recorded frames, at most the profiler's history size.
+     */
+    public int getCount() {return count;}
+
+    /**
+     * Gets the total of a recent frame.
+     * @param age How many frames ago the frame was, with 0 being the most recent one.
+     * @return The time spent in this section in that frame, or 0 if there is no such frame.
+     */
+    public long get(int age) {
+        if (age < 0 || age >= count) return 0;
+        return history[(head - 1 - age + history.length) % history.length];
+    }
+
+    /**
+     * Gets the total of the most recent frame.
+     * @return The time spent in this section in the last frame.
+     */
+    public long getLast() {return get(0);}
+
+    /**
+     * Gets the lowest total in the history.
+     * @return The least time spent in this section in a single frame.
+     */
+    public long getMin() {
+        if (count == 0) return 0;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, history[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Gets the highest total in the history.
+     * @return The most time spent in this section in a single frame.
+     */
+    public long getMax() {
+        long max = 0;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, history[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Gets the average total in the history.
+     * @return The average time spent in this section per frame.
+     */
+    public double getAverage() {
+        if (count == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += history[i];
+        }
+        return (double) sum / count;
+    }
+
+    /**
+     * Gets a percentile of the totals in the history.
+     * @param percentile The percentile to get, from 0 to 1.
+     * @return The time that the provided fraction of frames spent at most in this section.
+     */
+    public long getPercentile(float percentile) {
+        if (count == 0) return 0;
+        System.arraycopy(history, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /**
+     * Gets the 99th percentile of the totals in the history.
+     * @return The time that 99% of frames spent at most in this section.
+     */
+    public long getP99() {return getPercentile(0.99f);}
+}
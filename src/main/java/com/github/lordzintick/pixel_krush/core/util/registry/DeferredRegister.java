@@ -64,6 +64,7 @@ public class DeferredRegister<T> extends Registry<T> {
             throw new IllegalRegistrationException("Identifier " + id + " is already registered!");
 
         map.put(id, value);
+        markModified();
         return value;
     }
 
@@ -0,0 +1,162 @@
+package com.github.lordzintick.pixel_krush.core.util.registry;
+
+import java.util.Arrays;
+
+/**
+ * A small open-addressing hash map from objects, compared by identity, to non-negative <code>int</code>s.<br>
+ * Used by {@link LazyList} to find the index of a value in constant time without boxing the index.
+ */
+final class IdentityIndexMap {
+    /**
+     * The value returned by {@link #get(Object)} for keys that are not in the map.
+     */
+    static final int MISSING = -1;
+
+    /**
+     * The keys of the map, or <code>null</code> for empty slots.
+     */
+    private Object[] keys;
+    /**
+     * The values of the map, in the same slots as their {@link #keys}.
+     */
+    private int[] values;
+    /**
+     * The amount of keys in the map.
+     */
+    private int size = 0;
+    /**
+     * The bit mask used to turn a hash into a slot, one less than the capacity.
+     */
+    private int mask;
+
+    /**
+     * Constructs a new, empty {@link IdentityIndexMap}.
+     */
+    IdentityIndexMap() {
+        allocate(16);
+    }
+
+    /**
+     * Gets the amount of keys in the map.
+     * @return The amount of keys in the map.
+     */
+    int size() {return size;}
+
+    /**
+     * Gets whether a key is in the map.
+     * @param key The key to look for.
+     * @return Whether the exact key object is in the map.
+     */
+    boolean containsKey(Object key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Gets the value of a key.
+     * @param key The key to look for.
+     * @return The value of the key, or {@link #MISSING} if the key is not in the map.
+     */
+    int get(Object key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            Object existing = keys[slot];
+            if (existing == null) return MISSING;
+            if (existing == key) return values[slot];
+        }
+    }
+
+    /**
+     * Puts a key into the map, replacing its value if it is already in it.
+     * @param key The key to put.
+     * @param value The non-negative value of the key.
+     */
+    void put(Object key, int value) {
+        int slot = slot(key);
+        while (keys[slot] != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        // Keep the load factor below 1/2, so probe chains stay short
+        if (++size * 2 > keys.length)
+            resize(keys.length * 2);
+    }
+
+    /**
+     * Removes a key from the map.
+     * @param key The key to remove.
+     * @return The value the key had, or {@link #MISSING} if it was not in the map.
+     */
+    int remove(Object key) {
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == null) return MISSING;
+            slot = (slot + 1) & mask;
+        }
+
+        int value = values[slot];
+        // Shift the following entries of the probe chain back, so lookups never stop at the hole early
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+            int ideal = slot(keys[next]);
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+
+        keys[hole] = null;
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes every key from the map, keeping its capacity.
+     */
+    void clear() {
+        if (size == 0) return;
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    /**
+     * Gets the preferred slot of a key.
+     * @param key The key.
+     * @return The slot the key is put into if there are no collisions.
+     */
+    private int slot(Object key) {
+        int hash = System.identityHashCode(key);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Allocates empty key and value arrays.
+     * @param capacity The new capacity, a power of two.
+     */
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Grows the map and puts every key back into it.
+     * @param capacity The new capacity, a power of two.
+     */
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null)
+                put(oldKeys[i], oldValues[i]);
+        }
+    }
+}
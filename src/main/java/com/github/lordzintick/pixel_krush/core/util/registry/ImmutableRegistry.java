@@ -1,6 +1,5 @@
 package com.github.lordzintick.pixel_krush.core.util.registry;
 
-import com.badlogic.gdx.utils.ObjectMap;
 import com.github.lordzintick.pixel_krush.core.util.Identifier;
 
 /**
@@ -16,7 +15,7 @@ public class ImmutableRegistry<T> extends Registry<T> {
      */
     public static <T> ImmutableRegistry<T> of(Registry<T> registry) {
         ImmutableRegistry<T> immutable = new ImmutableRegistry<>();
-        immutable.map.putAll((ObjectMap<? extends Identifier, ? extends T>) registry.map);
+        registry.forEachEntry(immutable.map::put);
         return immutable;
     }
 
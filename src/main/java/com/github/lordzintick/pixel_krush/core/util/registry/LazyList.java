@@ -1,7 +1,10 @@
 package com.github.lordzintick.pixel_krush.core.util.registry;
 
+import com.github.lordzintick.pixel_krush.core.util.Nullable;
+
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 
 /**
@@ -10,10 +13,44 @@ import java.util.function.Consumer;
  * the {@link #queue},<br>
  * and the {@link #removeQueue}.<br>
  * This list is safe to add/remove objects while iterating through it, as it stores the newly added/removed objects in their respective queues for future ("lazy") flushing using the {@link #flush()} method.<br>
+ * Values are compared by identity, and every value can only be in the list once. An index of every value's position makes {@link #contains(Object)} and {@link #remove(Object)} constant time,
+ * and the {@link Mode} of the list decides whether {@link #flush()} keeps the order of the remaining values or swaps the last values into the removed slots.<br>
  * Also see {@link LazyRegistry}.
  * @param <T> The type of object to store in the list.
  */
 public class LazyList<T> {
+    /**
+     * An enum representing how a {@link LazyList} removes values on {@link #flush()}.
+     */
+    public enum Mode {
+        /**
+         * The remaining values keep their order. Removing any amount of values costs a single pass over the list.
+         */
+        ORDERED,
+        /**
+         * The last values are moved into the slots of the removed values, so removing <code>k</code> values only costs <code>O(k)</code>.
+         */
+        UNORDERED
+    }
+
+    /**
+     * A listener notified by {@link #flush()} whenever values actually enter or leave a {@link LazyList}.
+     * @param <T> The type of object stored in the list.
+     */
+    public interface FlushListener<T> {
+        /**
+         * Called after a queued value was added to the list.
+         * @param value The added value.
+         */
+        void onAdded(T value);
+
+        /**
+         * Called after a queued value was removed from the list.
+         * @param value The removed value.
+         */
+        void onRemoved(T value);
+    }
+
     /**
      * The queue of objects to be removed from the list on the next {@link #flush()}.
      */
@@ -26,6 +63,45 @@ public class LazyList<T> {
      * The queue of objects to be added to the list on the next {@link #flush()}.
      */
     private final ArrayList<T> queue = new ArrayList<>();
+    /**
+     * The index of every current value in the {@link #values} list.
+     */
+    private final IdentityIndexMap indices = new IdentityIndexMap();
+    /**
+     * The objects in the {@link #removeQueue}, for constant time membership checks.
+     */
+    private final IdentityIndexMap queuedRemovals = new IdentityIndexMap();
+    /**
+     * How this list removes values on {@link #flush()}.
+     */
+    public final Mode mode;
+    /**
+     * The listener notified of values entering and leaving the list, or <code>null</code> if there is none.
+     */
+    private FlushListener<T> listener;
+
+    /**
+     * Constructs a new, empty {@link LazyList} in {@link Mode#ORDERED} mode.
+     */
+    public LazyList() {
+        this(Mode.ORDERED);
+    }
+
+    /**
+     * Constructs a new, empty {@link LazyList} with the provided mode.
+     * @param mode How the list removes values on {@link #flush()}.
+     */
+    public LazyList(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Sets the listener notified whenever {@link #flush()} adds or removes a value.
+     * @param listener The new listener, or <code>null</code> to remove it.
+     */
+    public void setFlushListener(@Nullable FlushListener<T> listener) {
+        this.listener = listener;
+    }
 
     /**
      * Queues a value to be added to the list on the next {@link #flush()}.
@@ -49,7 +125,14 @@ public class LazyList<T> {
      * @param t The value to try and find in the current values.
      * @return Whether the specified value exists in the current values list.
      */
-    public boolean contains(T t) {return values.contains(t);}
+    public boolean contains(T t) {return indices.containsKey(t);}
+
+    /**
+     * Gets whether a specified value is queued to be removed on the next {@link #flush()}.
+     * @param t The value to look for in the removal queue.
+     * @return Whether the specified value is queued for removal.
+     */
+    public boolean isQueuedForRemoval(T t) {return queuedRemovals.containsKey(t);}
 
     /**
      * Gets a value from the list at the specified index.
@@ -71,12 +154,40 @@ public class LazyList<T> {
     }
 
     /**
-     * Gets the iterator of the current values list for further iteration.
+     * Gets an iterator over the current values list for further iteration.<br>
+     * Removing a value through the iterator queues it for removal like {@link #remove(Object)}, so it stays in the list until the next {@link #flush()}.
      * @param <R> The type of value to iterate on.
-     * @return The iterator of the current values list.
+     * @return An iterator over the current values list.
      */
     public <R extends T> Iterator<R> iterator() {
-        return (Iterator<R>) values.iterator();
+        return new Iterator<R>() {
+            /**
+             * The index of the next value to return.
+             */
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < values.size();
+            }
+
+            @Override
+            public R next() {
+                if (next >= values.size())
+                    throw new NoSuchElementException();
+                return (R) values.get(next++);
+            }
+
+            @Override
+            public void remove() {
+                if (next == 0)
+                    throw new IllegalStateException("next() has not been called yet");
+
+                T value = values.get(next - 1);
+                if (!queuedRemovals.containsKey(value))
+                    LazyList.this.remove(value);
+            }
+        };
     }
 
     /**
@@ -85,21 +196,79 @@ public class LazyList<T> {
      * @param <R> The type of value to remove from the list.
      */
     public <R extends T> void remove(R value) {
-        if (removeQueue.contains(value))
+        if (queuedRemovals.containsKey(value))
             throw new IllegalArgumentException("This value is already queued for removal!");
-        if (!values.contains(value))
+        if (!indices.containsKey(value))
             throw new IllegalArgumentException("This value is not in the list yet!");
 
+        queuedRemovals.put(value, removeQueue.size());
         removeQueue.add(value);
     }
 
     /**
-     * Removes all values queued for removal, then adds all values queued for addition, and clears both queues.
+     * Removes all values queued for removal, then adds all values queued for addition, and clears both queues.<br>
+     * Queued values that are already in the list are not added again.
      */
     public void flush() {
-        values.removeAll(removeQueue);
-        removeQueue.clear();
-        values.addAll(queue);
+        if (!removeQueue.isEmpty()) {
+            if (mode == Mode.UNORDERED) {
+                removeSwapped();
+            } else {
+                removeOrdered();
+            }
+
+            removeQueue.clear();
+            queuedRemovals.clear();
+        }
+
+        for (int i = 0; i < queue.size(); i++) {
+            T value = queue.get(i);
+            if (indices.containsKey(value)) continue;
+
+            indices.put(value, values.size());
+            values.add(value);
+            if (listener != null) listener.onAdded(value);
+        }
         queue.clear();
     }
+
+    /**
+     * Removes the queued values by moving the last value into each removed slot.
+     */
+    private void removeSwapped() {
+        for (int i = 0; i < removeQueue.size(); i++) {
+            T value = removeQueue.get(i);
+            int index = indices.remove(value);
+            T last = values.remove(values.size() - 1);
+            if (index < values.size()) {
+                values.set(index, last);
+                indices.put(last, index);
+            }
+
+            if (listener != null) listener.onRemoved(value);
+        }
+    }
+
+    /**
+     * Removes the queued values in a single pass that shifts the remaining values down.
+     */
+    private void removeOrdered() {
+        int size = values.size();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            T value = values.get(i);
+            if (queuedRemovals.containsKey(value)) {
+                indices.remove(value);
+                if (listener != null) listener.onRemoved(value);
+            } else {
+                if (kept != i) {
+                    values.set(kept, value);
+                    indices.put(value, kept);
+                }
+                kept++;
+            }
+        }
+
+        values.subList(kept, size).clear();
+    }
 }
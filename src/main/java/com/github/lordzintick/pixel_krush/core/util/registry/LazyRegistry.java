@@ -30,6 +30,8 @@ public class LazyRegistry<T> extends Registry<T> {
             map.put(pair.first(), pair.second());
         }
 
+        if (!queue.isEmpty())
+            markModified();
         queue.clear();
     }
 }
@@ -13,14 +13,35 @@ import java.util.function.BiConsumer;
 
 /**
  * A utility class that stores an {@link OrderedMap} of {@link Identifier}s and <code>{@literal <T>}</code>s.<br>
- * Each identifier can only be registered once, and there are many utility methods to get objects or IDs with different fallbacks.
+ * Each identifier can only be registered once, and there are many utility methods to get objects or IDs with different fallbacks.<br>
+ * Lookups by ID are hashed through {@link Identifier#hashCode()}, so they run in constant time regardless of the size of the registry.
  * @param <T> The type of object to register.
  */
 public class Registry<T> implements IRegisterableList<T> {
     /**
      * The {@link OrderedMap} at the core of all {@link Registry Registries}.
      */
-    protected final OrderedMap<Identifier, T> map = new OrderedMap<>();
+    protected final OrderedMap<Identifier, T> map;
+    /**
+     * The amount of times the contents of this {@link Registry} were changed, see {@link #getModificationCount()}.
+     */
+    private int modifications = 0;
+
+    /**
+     * Constructs a new, empty {@link Registry}.
+     */
+    public Registry() {
+        this.map = new OrderedMap<>();
+    }
+
+    /**
+     * Constructs a new, empty {@link Registry} whose backing map is sized for the provided amount of entries.<br>
+     * Useful for registries that are created in large numbers but only ever hold a handful of entries.
+     * @param initialCapacity The amount of entries the backing map can hold before it has to grow.
+     */
+    protected Registry(int initialCapacity) {
+        this.map = new OrderedMap<>(initialCapacity);
+    }
 
     /**
      * Registers a value with the specified ID to the registry.
@@ -34,6 +55,7 @@ public class Registry<T> implements IRegisterableList<T> {
             throw new IllegalRegistrationException("Identifier " + id + " is already registered to another object!");
 
         map.put(id, value);
+        markModified();
         return value;
     }
 
@@ -49,9 +71,23 @@ public class Registry<T> implements IRegisterableList<T> {
             throw new IllegalRegistrationException("Cannot override a registry object that does not exist");
 
         map.put(id, value);
+        markModified();
         return value;
     }
 
+    /**
+     * Marks the contents of this {@link Registry} as changed.<br>
+     * Must be called by subclasses that modify the {@link #map} directly.
+     */
+    protected final void markModified() {modifications++;}
+
+    /**
+     * Gets the amount of times the contents of this {@link Registry} were changed.<br>
+     * Used by caches derived from a registry to tell whether they need to be rebuilt, see {@link com.github.lordzintick.pixel_krush.core.util.input.KeybindTable}.
+     * @return The modification count of this registry.
+     */
+    public final int getModificationCount() {return modifications;}
+
     /**
      * Registers all the {@link Pair}s in an {@link IRegisterableList} to this {@link Registry}.
      * @param registerable An {@link IRegisterableList} to register all of the {@link Pair}s of.
@@ -166,13 +202,7 @@ public class Registry<T> implements IRegisterableList<T> {
      * @return Whether this registry contains an object registered with the specified ID.
      */
     public boolean containsID(Identifier id) {
-        for (Identifier id1 : idArray()) {
-            if (id1.toString().equals(id.toString())) {
-                return true;
-            }
-        }
-
-        return false;
+        return map.containsKey(id);
     }
 
     /**
@@ -191,13 +221,7 @@ public class Registry<T> implements IRegisterableList<T> {
      */
     @Nullable
     public <R extends T> R getOrNull(Identifier id) {
-        for (Identifier id1 : idArray()) {
-            if (id1.toString().equals(id.toString())) {
-                return (R) map.get(id1);
-            }
-        }
-
-        return null;
+        return (R) map.get(id);
     }
 
     /**
@@ -208,13 +232,7 @@ public class Registry<T> implements IRegisterableList<T> {
      */
     @Nullable
     public <R extends T> Identifier getIdOrNull(R value) {
-        for (Identifier id : idArray()) {
-            if (map.get(id).equals(value)) {
-                return id;
-            }
-        }
-
-        return null;
+        return map.findKey(value, false);
     }
 
     /**
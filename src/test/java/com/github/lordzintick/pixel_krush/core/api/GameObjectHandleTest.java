@@ -0,0 +1,96 @@
+package com.github.lordzintick.pixel_krush.core.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link GameObjectHandle generational handles} issued by {@link BaseScreen}, mainly that handles to removed objects never resolve again,
+ * even after their slot was reused.
+ */
+class GameObjectHandleTest {
+    /**
+     * The screen the objects are added to.
+     */
+    private TestGame.Screen screen;
+
+    @BeforeEach
+    void createScreen() {
+        screen = new TestGame.Screen(new TestGame());
+    }
+
+    @Test
+    void packsIndexAndGeneration() {
+        long handle = GameObjectHandle.of(12345, 678);
+
+        assertEquals(12345, GameObjectHandle.index(handle));
+        assertEquals(678, GameObjectHandle.generation(handle));
+    }
+
+    @Test
+    void handleIsIssuedOnFlush() {
+        TestGame.Wanderer object = screen.objects.add(new TestGame.Wanderer(screen, 4));
+        assertEquals(GameObjectHandle.NONE, object.getHandle());
+
+        screen.objects.flush();
+        long handle = object.getHandle();
+        assertNotEquals(GameObjectHandle.NONE, handle);
+        assertTrue(screen.isValid(handle));
+        assertSame(object, screen.resolve(handle));
+    }
+
+    @Test
+    void noneNeverResolves() {
+        screen.objects.add(new TestGame.Wanderer(screen, 4));
+        screen.objects.flush();
+
+        assertNull(screen.resolve(GameObjectHandle.NONE));
+        assertFalse(screen.isValid(GameObjectHandle.NONE));
+    }
+
+    @Test
+    void removedObjectLosesHandle() {
+        TestGame.Wanderer object = screen.objects.add(new TestGame.Wanderer(screen, 4));
+        screen.objects.flush();
+        long handle = object.getHandle();
+
+        object.remove();
+        screen.update(0);
+
+        assertEquals(GameObjectHandle.NONE, object.getHandle());
+        assertFalse(screen.isValid(handle));
+        assertNull(screen.resolve(handle));
+    }
+
+    @Test
+    void reusedSlotGetsNewGeneration() {
+        TestGame.Wanderer first = screen.objects.add(new TestGame.Wanderer(screen, 4));
+        screen.objects.flush();
+        long firstHandle = first.getHandle();
+
+        first.remove();
+        screen.update(0);
+        TestGame.Wanderer second = screen.objects.add(new TestGame.Wanderer(screen, 4));
+        screen.objects.flush();
+        long secondHandle = second.getHandle();
+
+        assertEquals(GameObjectHandle.index(firstHandle), GameObjectHandle.index(secondHandle));
+        assertEquals(GameObjectHandle.generation(firstHandle) + 1, GameObjectHandle.generation(secondHandle));
+        assertNull(screen.resolve(firstHandle));
+        assertSame(second, screen.resolve(secondHandle));
+    }
+
+    @Test
+    void handleTableGrows() {
+        TestGame.Wanderer[] objects = new TestGame.Wanderer[200];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = screen.objects.add(new TestGame.Wanderer(screen, 4));
+        }
+        screen.objects.flush();
+
+        for (TestGame.Wanderer object : objects) {
+            assertSame(object, screen.resolve(object.getHandle()));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.lordzintick.pixel_krush.core.api;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessEnvironment;
+
+/**
+ * A minimal {@link AbstractGame} for tests and benchmarks, never {@link AbstractGame#create() created}.<br>
+ * Screens and objects only need it for IDs and the {@link AbstractGame#getProfiler() profiler}, which work without a running application.
+ */
+public final class TestGame extends AbstractGame {
+    /**
+     * Constructs a new {@link TestGame}, installing the {@link HeadlessEnvironment}.
+     */
+    public TestGame() {
+        HeadlessEnvironment.install();
+    }
+
+    @Override
+    public String getNamespace() {return "test";}
+
+    @Override
+    public String getStartScreen() {return "test";}
+
+    @Override
+    protected void initialize() {}
+
+    /**
+     * An empty {@link AbstractGameScreen} for tests and benchmarks.
+     */
+    public static final class Screen extends AbstractGameScreen {
+        /**
+         * Constructs a new, empty {@link Screen} for the provided game.
+         * @param game The {@link TestGame} the screen is for.
+         */
+        public Screen(TestGame game) {
+            super(game);
+        }
+
+        @Override
+        protected void addWidgets() {}
+    }
+
+    /**
+     * An empty {@link AbstractUIScreen} for tests and benchmarks.
+     */
+    public static final class Menu extends AbstractUIScreen {
+        /**
+         * Constructs a new, empty {@link Menu} for the provided game.
+         * @param game The {@link TestGame} the screen is for.
+         */
+        public Menu(TestGame game) {
+            super(game);
+        }
+
+        @Override
+        protected void addWidgets() {}
+    }
+
+    /**
+     * A plain {@link AbstractGameObject} that wanders around randomly, so the broadphase has to keep up with moving objects.
+     */
+    public static final class Wanderer extends AbstractGameObject {
+        /**
+         * The velocity of the object, in units per second.
+         */
+        public float velocityX, velocityY;
+        /**
+         * The amount of collisions this object has seen, so they can't be optimized away.
+         */
+        public int collisions = 0;
+
+        /**
+         * Constructs a new {@link Wanderer} in the provided screen.
+         * @param screen The {@link AbstractGameScreen} of the object.
+         * @param size The width and height of the object.
+         */
+        public Wanderer(AbstractGameScreen screen, int size) {
+            super(screen);
+            this.width = size;
+            this.height = size;
+            this.scale = 1;
+        }
+
+        @Override
+        public void update(float deltaTime) {
+            x += velocityX * deltaTime;
+            y += velocityY * deltaTime;
+            super.update(deltaTime);
+        }
+
+        @Override
+        public void collide(AbstractGameObject other) {
+            collisions++;
+        }
+
+        @Override
+        public void render(Batch batch, float deltaTime) {}
+    }
+}
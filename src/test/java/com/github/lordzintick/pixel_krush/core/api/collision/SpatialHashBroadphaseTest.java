@@ -0,0 +1,191 @@
+package com.github.lordzintick.pixel_krush.core.api.collision;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameObject;
+import com.github.lordzintick.pixel_krush.core.api.TestGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SpatialHashBroadphase}, comparing the pairs it finds to checking every pair of objects.<br>
+ * The grid reports every pair sharing a cell, which includes every overlapping pair, and each pair must be reported exactly once.
+ */
+class SpatialHashBroadphaseTest {
+    /**
+     * The cell size of the tested grids.
+     */
+    private static final float CELL_SIZE = 32;
+
+    /**
+     * The screen the objects are created for.
+     */
+    private TestGame.Screen screen;
+    /**
+     * The broadphase under test.
+     */
+    private SpatialHashBroadphase broadphase;
+
+    @BeforeEach
+    void createBroadphase() {
+        screen = new TestGame.Screen(new TestGame());
+        broadphase = new SpatialHashBroadphase(CELL_SIZE);
+    }
+
+    @Test
+    void matchesBruteForce() {
+        Random random = new Random(42);
+        Array<AbstractGameObject> objects = new Array<>(AbstractGameObject[]::new);
+        for (int i = 0; i < 200; i++) {
+            objects.add(box(random.nextInt(600) - 300, random.nextInt(600) - 300, 4 + random.nextInt(60)));
+        }
+
+        // The grid is reused between updates, so run it a few times with moving objects
+        for (int update = 0; update < 10; update++) {
+            assertPairs(objects);
+
+            for (AbstractGameObject object : objects) {
+                object.collisionRect.x += random.nextInt(41) - 20;
+                object.collisionRect.y += random.nextInt(41) - 20;
+            }
+        }
+    }
+
+    @Test
+    void reportsPairsAcrossNegativeCells() {
+        Array<AbstractGameObject> objects = new Array<>(AbstractGameObject[]::new);
+        // Both straddle the origin, so they share the cells on both sides of it
+        objects.add(box(-10, -10, 20));
+        objects.add(box(-5, -5, 20));
+        // Only in negative cells
+        objects.add(box(-100, -100, 10));
+        objects.add(box(-95, -95, 10));
+
+        Set<String> pairs = assertPairs(objects);
+        assertTrue(pairs.contains(key(objects.get(0), objects.get(1))));
+        assertTrue(pairs.contains(key(objects.get(2), objects.get(3))));
+    }
+
+    @Test
+    void reportsObjectsSpanningManyCellsOnce() {
+        Array<AbstractGameObject> objects = new Array<>(AbstractGameObject[]::new);
+        AbstractGameObject large = box(-CELL_SIZE * 5, -CELL_SIZE * 5, (int) CELL_SIZE * 10);
+        AbstractGameObject alsoLarge = box(-CELL_SIZE * 3, -CELL_SIZE * 3, (int) CELL_SIZE * 8);
+        objects.add(large);
+        objects.add(alsoLarge);
+        objects.add(box(0, 0, 4));
+
+        // The two large objects share dozens of cells, but must still only be reported once
+        Set<String> pairs = assertPairs(objects);
+        assertEquals(3, pairs.size());
+        assertTrue(pairs.contains(key(large, alsoLarge)));
+    }
+
+    @Test
+    void skipsObjectsOnOtherLayers() {
+        Array<AbstractGameObject> objects = new Array<>(AbstractGameObject[]::new);
+        AbstractGameObject first = box(0, 0, 10), second = box(5, 5, 10), third = box(2, 2, 10);
+        first.collisionLayer = 0b01;
+        first.collisionMask = 0b01;
+        second.collisionLayer = 0b10;
+        second.collisionMask = 0b10;
+        third.collisionLayer = AbstractGameObject.LAYER_NONE;
+        objects.add(first);
+        objects.add(second);
+        objects.add(third);
+
+        assertTrue(assertPairs(objects).isEmpty());
+    }
+
+    @Test
+    void rejectsNonPositiveCellSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHashBroadphase(0));
+    }
+
+    /**
+     * Runs the broadphase once, and asserts that it reported every pair of objects sharing a cell exactly once, which includes every overlapping pair.
+     * @param objects The objects to find pairs among.
+     * @return Every reported pair, independent of the order of the objects in it.
+     */
+    private Set<String> assertPairs(Array<AbstractGameObject> objects) {
+        Set<String> pairs = new HashSet<>();
+        broadphase.findPairs(objects, (first, second) -> assertTrue(pairs.add(key(first, second)), "Pair reported twice"));
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < objects.size; i++) {
+            for (int j = i + 1; j < objects.size; j++) {
+                AbstractGameObject first = objects.get(i), second = objects.get(j);
+                if (!first.canCollideWith(second)) continue;
+
+                if (touches(first.collisionRect, second.collisionRect))
+                    assertTrue(pairs.contains(key(first, second)), "Overlapping pair was not reported");
+                if (shareCell(first.collisionRect, second.collisionRect))
+                    expected.add(key(first, second));
+            }
+        }
+
+        assertEquals(expected, pairs);
+        return pairs;
+    }
+
+    /**
+     * Creates a square object with its collision rectangle at the provided position.
+     * @param x The X position of the object.
+     * @param y The Y position of the object.
+     * @param size The width and height of the object.
+     * @return The new object.
+     */
+    private AbstractGameObject box(float x, float y, int size) {
+        TestGame.Wanderer object = new TestGame.Wanderer(screen, size);
+        object.collisionRect.set(x, y, size, size);
+        return object;
+    }
+
+    /**
+     * Checks whether two rectangles overlap, counting touching edges.
+     * @param first The first rectangle.
+     * @param second The second rectangle.
+     * @return Whether the rectangles overlap or touch.
+     */
+    private static boolean touches(Rectangle first, Rectangle second) {
+        return first.x <= second.x + second.width && second.x <= first.x + first.width
+                && first.y <= second.y + second.height && second.y <= first.y + first.height;
+    }
+
+    /**
+     * Checks whether two rectangles touch at least one common grid cell.
+     * @param first The first rectangle.
+     * @param second The second rectangle.
+     * @return Whether the cell ranges of the rectangles intersect on both axes.
+     */
+    private static boolean shareCell(Rectangle first, Rectangle second) {
+        return cell(first.x) <= cell(second.x + second.width) && cell(second.x) <= cell(first.x + first.width)
+                && cell(first.y) <= cell(second.y + second.height) && cell(second.y) <= cell(first.y + first.height);
+    }
+
+    /**
+     * Gets the cell coordinate a world coordinate lies in.
+     * @param coordinate The world coordinate.
+     * @return The coordinate of the cell containing it.
+     */
+    private static int cell(float coordinate) {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    /**
+     * Creates a key for a pair of objects that doesn't depend on their order.
+     * @param first The first object of the pair.
+     * @param second The second object of the pair.
+     * @return The key of the pair.
+     */
+    private static String key(AbstractGameObject first, AbstractGameObject second) {
+        int a = System.identityHashCode(first), b = System.identityHashCode(second);
+        return Math.min(a, b) + ":" + Math.max(a, b);
+    }
+}
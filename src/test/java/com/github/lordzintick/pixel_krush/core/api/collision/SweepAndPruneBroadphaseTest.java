@@ -0,0 +1,144 @@
+package com.github.lordzintick.pixel_krush.core.api.collision;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameObject;
+import com.github.lordzintick.pixel_krush.core.api.TestGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SweepAndPruneBroadphase}, comparing the pairs it finds to checking every pair of objects.
+ */
+class SweepAndPruneBroadphaseTest {
+    /**
+     * The screen the objects are created for.
+     */
+    private TestGame.Screen screen;
+
+    @BeforeEach
+    void createScreen() {
+        screen = new TestGame.Screen(new TestGame());
+    }
+
+    /**
+     * The sorted list is read through its backing array, which used to be an <code>Object[]</code> and failed with a {@link ClassCastException} on the first update.
+     */
+    @Test
+    void findsPairsOnFirstUpdate() {
+        Array<AbstractGameObject> objects = new Array<>(AbstractGameObject[]::new);
+        objects.add(box(0, 0, 10));
+        objects.add(box(5, 5, 10));
+        objects.add(box(100, 100, 10));
+
+        Set<String> pairs = findPairs(new SweepAndPruneBroadphase(), objects);
+
+        assertEquals(1, pairs.size());
+    }
+
+    @Test
+    void matchesBruteForceWhileObjectsMove() {
+        Random random = new Random(42);
+        SweepAndPruneBroadphase broadphase = new SweepAndPruneBroadphase();
+        Array<AbstractGameObject> objects = new Array<>(AbstractGameObject[]::new);
+        for (int i = 0; i < 100; i++) {
+            objects.add(box(random.nextInt(500), random.nextInt(500), 8 + random.nextInt(24)));
+        }
+
+        for (int update = 0; update < 20; update++) {
+            assertEquals(bruteForce(objects), findPairs(broadphase, objects));
+
+            for (AbstractGameObject object : objects) {
+                object.collisionRect.x += random.nextInt(41) - 20;
+                object.collisionRect.y += random.nextInt(41) - 20;
+            }
+            // Objects leaving and entering between updates must be dropped from and added to the sorted list
+            objects.removeIndex(random.nextInt(objects.size));
+            objects.add(box(random.nextInt(500), random.nextInt(500), 16));
+        }
+    }
+
+    @Test
+    void skipsObjectsOnOtherLayers() {
+        Array<AbstractGameObject> objects = new Array<>(AbstractGameObject[]::new);
+        AbstractGameObject first = box(0, 0, 10), second = box(5, 5, 10);
+        first.collisionLayer = 0b01;
+        first.collisionMask = 0b01;
+        second.collisionLayer = 0b10;
+        second.collisionMask = 0b10;
+        objects.add(first);
+        objects.add(second);
+
+        assertTrue(findPairs(new SweepAndPruneBroadphase(), objects).isEmpty());
+    }
+
+    /**
+     * Creates a square object with its collision rectangle at the provided position.
+     * @param x The X position of the object.
+     * @param y The Y position of the object.
+     * @param size The width and height of the object.
+     * @return The new object.
+     */
+    private AbstractGameObject box(float x, float y, int size) {
+        TestGame.Wanderer box = new TestGame.Wanderer(screen, size);
+        box.collisionRect.set(x, y, size, size);
+        return box;
+    }
+
+    /**
+     * Runs a broadphase once.
+     * @param broadphase The {@link Broadphase} to run.
+     * @param objects The objects to find pairs among.
+     * @return Every reported pair, independent of the order of the objects in it.
+     */
+    private static Set<String> findPairs(Broadphase broadphase, Array<AbstractGameObject> objects) {
+        Set<String> pairs = new HashSet<>();
+        broadphase.findPairs(objects, (first, second) -> assertTrue(pairs.add(key(first, second)), "Pair reported twice"));
+        return pairs;
+    }
+
+    /**
+     * Checks every pair of objects for overlapping collision rectangles.
+     * @param objects The objects to find pairs among.
+     * @return Every overlapping pair, independent of the order of the objects in it.
+     */
+    private static Set<String> bruteForce(Array<AbstractGameObject> objects) {
+        Set<String> pairs = new HashSet<>();
+        for (int i = 0; i < objects.size; i++) {
+            for (int j = i + 1; j < objects.size; j++) {
+                AbstractGameObject first = objects.get(i), second = objects.get(j);
+                if (first.canCollideWith(second) && touches(first.collisionRect, second.collisionRect))
+                    pairs.add(key(first, second));
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Checks whether two rectangles overlap, counting touching edges like the broadphase does.
+     * @param first The first rectangle.
+     * @param second The second rectangle.
+     * @return Whether the rectangles overlap or touch.
+     */
+    private static boolean touches(Rectangle first, Rectangle second) {
+        return first.x <= second.x + second.width && second.x <= first.x + first.width
+                && first.y <= second.y + second.height && second.y <= first.y + first.height;
+    }
+
+    /**
+     * Creates a key for a pair of objects that doesn't depend on their order.
+     * @param first The first object of the pair.
+     * @param second The second object of the pair.
+     * @return The key of the pair.
+     */
+    private static String key(AbstractGameObject first, AbstractGameObject second) {
+        int a = System.identityHashCode(first), b = System.identityHashCode(second);
+        return Math.min(a, b) + ":" + Math.max(a, b);
+    }
+}
@@ -0,0 +1,360 @@
+package com.github.lordzintick.pixel_krush.core.api.ecs.sys;
+
+import com.github.lordzintick.pixel_krush.core.api.AbstractGameScreen;
+import com.github.lordzintick.pixel_krush.core.api.TestGame;
+import com.github.lordzintick.pixel_krush.core.api.ecs.Archetype;
+import com.github.lordzintick.pixel_krush.core.api.ecs.Entity;
+import com.github.lordzintick.pixel_krush.core.api.ecs.comp.ValueComponent;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+import com.github.lordzintick.pixel_krush.core.util.registry.IllegalRegistrationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SystemScheduler}, covering how systems are grouped into stages, that the systems of a stage really run at the same time,
+ * and that structural changes made while they run are deferred.
+ */
+class SystemSchedulerTest {
+    /**
+     * The IDs of the components the systems declare.
+     */
+    private static final Identifier A = Identifier.of("test", "a"), B = Identifier.of("test", "b");
+    /**
+     * How long a system waits for another system running at the same time before the test fails, in seconds.
+     */
+    private static final long TIMEOUT = 5;
+
+    /**
+     * The screen the systems and entities are in.
+     */
+    private TestGame.Screen screen;
+    /**
+     * The scheduler under test, running over the screen's archetypes.
+     */
+    private SystemScheduler scheduler;
+    /**
+     * A pool that can run two systems at once, independent of the amount of cores of the machine running the tests.
+     */
+    private ForkJoinPool pool;
+    /**
+     * The names of the systems in the order they began updating.
+     */
+    private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * The threads the systems began updating on, in the same order as {@link #order}.
+     */
+    private final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void createScheduler() {
+        screen = new TestGame.Screen(new TestGame());
+        scheduler = new SystemScheduler(screen);
+        pool = new ForkJoinPool(2);
+        scheduler.setPool(pool);
+    }
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void groupsNonConflictingSystemsIntoStages() {
+        scheduler.register(id("first"), new First(screen).writing(A));
+        scheduler.register(id("second"), new Second(screen).reading(B));
+        // Reads what the first system writes, so it has to wait for it
+        scheduler.register(id("third"), new Third(screen).reading(A));
+        // Only reads what the second system reads, so it joins the first stage
+        scheduler.register(id("fourth"), new Fourth(screen).reading(B));
+
+        assertEquals(2, scheduler.stageCount());
+    }
+
+    @Test
+    void readersShareAStage() {
+        scheduler.register(id("first"), new First(screen).reading(A, B));
+        scheduler.register(id("second"), new Second(screen).reading(A));
+        scheduler.register(id("third"), new Third(screen).reading(B));
+
+        assertEquals(1, scheduler.stageCount());
+    }
+
+    @Test
+    void conflictingSystemsRunInRegistrationOrder() {
+        scheduler.register(id("first"), new First(screen).writing(A));
+        scheduler.register(id("second"), new Second(screen).writing(A));
+        scheduler.register(id("third"), new Third(screen).reading(A));
+
+        assertEquals(3, scheduler.stageCount());
+        scheduler.update(0);
+        assertEquals(Arrays.asList("first", "second", "third"), order);
+    }
+
+    @Test
+    void exclusiveSystemRunsAloneOnCallingThread() {
+        scheduler.register(id("first"), new First(screen).exclusively());
+        scheduler.register(id("second"), new Second(screen).reading(A));
+        scheduler.register(id("third"), new Third(screen).writing(B));
+
+        // The exclusive system takes a stage of its own, the systems after it still share one
+        assertEquals(2, scheduler.stageCount());
+        scheduler.update(0);
+        assertEquals("first", order.get(0));
+        assertSame(Thread.currentThread(), threads.get(0));
+    }
+
+    @Test
+    void systemsOfAStageRunAtTheSameTime() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        scheduler.register(id("first"), new First(screen).reading(A).onBegin(() -> await(barrier)));
+        scheduler.register(id("second"), new Second(screen).writing(B).onBegin(() -> await(barrier)));
+
+        // Each system only returns once the other one has begun, so this would time out if they ran one after another
+        scheduler.update(0);
+        assertEquals(2, order.size());
+        assertNotSame(threads.get(0), threads.get(1));
+    }
+
+    @Test
+    void sequentialModeRunsOnCallingThreadInRegistrationOrder() {
+        scheduler.setExecutionMode(SystemScheduler.ExecutionMode.SEQUENTIAL);
+        scheduler.register(id("first"), new First(screen).reading(A));
+        scheduler.register(id("second"), new Second(screen).reading(B));
+        scheduler.register(id("third"), new Third(screen).writing(B));
+        scheduler.register(id("fourth"), new Fourth(screen).reading(A));
+
+        for (int i = 0; i < 10; i++) {
+            order.clear();
+            threads.clear();
+            scheduler.update(0);
+
+            assertEquals(Arrays.asList("first", "second", "third", "fourth"), order);
+            for (Thread thread : threads) {
+                assertSame(Thread.currentThread(), thread);
+            }
+        }
+    }
+
+    @Test
+    void removalsDuringParallelStageAreDeferred() {
+        int count = 50;
+        for (int i = 0; i < count; i++) {
+            new Thing(screen, A, B).update(0);
+        }
+
+        CountDownLatch removed = new CountDownLatch(1);
+        int[] seen = new int[1];
+        scheduler.register(id("first"), new First(screen).reading(A).onUpdate((system, archetype) -> {
+            for (int row = 0; row < archetype.size(); row++) {
+                archetype.getEntity(row).remove();
+            }
+            removed.countDown();
+        }));
+        // Runs at the same time as the first system, and only looks at the archetype once every entity was removed
+        scheduler.register(id("second"), new Second(screen).reading(B).onUpdate((system, archetype) -> {
+            await(removed);
+            assertTrue(screen.archetypes.isDeferred());
+            seen[0] = archetype.size();
+        }));
+
+        assertEquals(1, scheduler.stageCount());
+        scheduler.update(0);
+
+        assertEquals(count, seen[0]);
+        assertFalse(screen.archetypes.isDeferred());
+        assertEquals(0, screen.archetypes.entityCount());
+    }
+
+    @Test
+    void sameTypeCanOnlyBeRegisteredOnce() {
+        scheduler.register(id("first"), new First(screen));
+        assertThrows(IllegalRegistrationException.class, () -> scheduler.register(id("again"), new First(screen)));
+    }
+
+    /**
+     * Creates an ID in the test namespace.
+     * @param path The path of the ID.
+     * @return The new ID.
+     */
+    private static Identifier id(String path) {
+        return Identifier.of("test", path);
+    }
+
+    /**
+     * Waits for every party of a barrier, failing the test if that takes longer than {@link #TIMEOUT}.
+     * @param barrier The barrier to wait at.
+     */
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(TIMEOUT, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new AssertionError("The other system of the stage never began", e);
+        }
+    }
+
+    /**
+     * Waits for a latch to open, failing the test if that takes longer than {@link #TIMEOUT}.
+     * @param latch The latch to wait for.
+     */
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT, TimeUnit.SECONDS))
+                throw new AssertionError("The other system of the stage never finished");
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * A system recording when and where it runs, with the declarations and hooks set by each test.<br>
+     * Every system type can only be registered once, so each test picks from the subclasses below.
+     */
+    private abstract class Probe extends AbstractWorldSystem {
+        /**
+         * The name the system is recorded with.
+         */
+        private final String name;
+        /**
+         * Run at the start of every update, or <code>null</code>.
+         */
+        private Runnable onBegin;
+        /**
+         * Run for every matching archetype, or <code>null</code>.
+         */
+        private BiConsumer<Probe, Archetype> onUpdate;
+
+        /**
+         * Constructs a new {@link Probe} in the provided screen.
+         * @param screen The {@link AbstractGameScreen} of the system.
+         * @param name The name the system is recorded with.
+         */
+        private Probe(AbstractGameScreen screen, String name) {
+            super(screen);
+            this.name = name;
+        }
+
+        /**
+         * Declares components this system only reads.
+         * @param ids The IDs of the components.
+         * @return This system.
+         */
+        Probe reading(Identifier... ids) {
+            reads(ids);
+            return this;
+        }
+
+        /**
+         * Declares components this system reads and writes.
+         * @param ids The IDs of the components.
+         * @return This system.
+         */
+        Probe writing(Identifier... ids) {
+            writes(ids);
+            return this;
+        }
+
+        /**
+         * Declares this system {@link #exclusive() exclusive}.
+         * @return This system.
+         */
+        Probe exclusively() {
+            exclusive();
+            return this;
+        }
+
+        /**
+         * Sets the hook run at the start of every update.
+         * @param onBegin The hook.
+         * @return This system.
+         */
+        Probe onBegin(Runnable onBegin) {
+            this.onBegin = onBegin;
+            return this;
+        }
+
+        /**
+         * Sets the hook run for every matching archetype.
+         * @param onUpdate The hook.
+         * @return This system.
+         */
+        Probe onUpdate(BiConsumer<Probe, Archetype> onUpdate) {
+            this.onUpdate = onUpdate;
+            return this;
+        }
+
+        @Override
+        public void beginUpdate(float deltaTime) {
+            synchronized (order) {
+                order.add(name);
+                threads.add(Thread.currentThread());
+            }
+            if (onBegin != null) onBegin.run();
+        }
+
+        @Override
+        public void update(Archetype archetype, float deltaTime) {
+            if (onUpdate != null) onUpdate.accept(this, archetype);
+        }
+    }
+
+    /**
+     * The first {@link Probe} type.
+     */
+    private final class First extends Probe {
+        private First(AbstractGameScreen screen) {super(screen, "first");}
+    }
+
+    /**
+     * The second {@link Probe} type.
+     */
+    private final class Second extends Probe {
+        private Second(AbstractGameScreen screen) {super(screen, "second");}
+    }
+
+    /**
+     * The third {@link Probe} type.
+     */
+    private final class Third extends Probe {
+        private Third(AbstractGameScreen screen) {super(screen, "third");}
+    }
+
+    /**
+     * The fourth {@link Probe} type.
+     */
+    private final class Fourth extends Probe {
+        private Fourth(AbstractGameScreen screen) {super(screen, "fourth");}
+    }
+
+    /**
+     * An entity stored in the screen's archetypes, holding an integer component for every provided ID.
+     */
+    private static final class Thing extends Entity {
+        /**
+         * Constructs a new {@link Thing} in the provided screen.
+         * @param screen The {@link AbstractGameScreen} of the entity.
+         * @param ids The IDs of the components to give the entity.
+         */
+        private Thing(AbstractGameScreen screen, Identifier... ids) {
+            super(screen, 8, 8);
+            for (Identifier id : ids) {
+                components.register(id, new ValueComponent<>(this, 0));
+            }
+        }
+
+        @Override
+        protected boolean useArchetypeStorage() {return true;}
+    }
+}
@@ -0,0 +1,165 @@
+package com.github.lordzintick.pixel_krush.core.api.render;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessEnvironment;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessTextureData;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RenderSnapshot}, mainly that consecutive quads with the same texture are replayed as a single draw call.
+ */
+class RenderSnapshotTest {
+    /**
+     * The textures the quads are drawn with.
+     */
+    private static Texture first, second;
+
+    @BeforeAll
+    static void createTextures() {
+        HeadlessEnvironment.install();
+        first = new Texture(new HeadlessTextureData(16, 16));
+        second = new Texture(new HeadlessTextureData(16, 16));
+    }
+
+    @Test
+    void mergesRunsOfTheSameTexture() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.add(first, quads(0, 2), 0, 2 * RenderSnapshot.QUAD_SIZE);
+        snapshot.add(first, quads(2, 1), 0, RenderSnapshot.QUAD_SIZE);
+        snapshot.add(second, quads(3, 1), 0, RenderSnapshot.QUAD_SIZE);
+        snapshot.add(first, quads(4, 3), 0, 3 * RenderSnapshot.QUAD_SIZE);
+
+        List<DrawCall> calls = replay(snapshot);
+
+        assertEquals(7, snapshot.quadCount());
+        assertEquals(3, calls.size());
+        assertDrawCall(calls.get(0), first, 0, 3);
+        assertDrawCall(calls.get(1), second, 3, 1);
+        assertDrawCall(calls.get(2), first, 4, 3);
+    }
+
+    @Test
+    void recordsFromOffset() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        float[] source = quads(0, 3);
+        snapshot.add(first, source, RenderSnapshot.QUAD_SIZE, RenderSnapshot.QUAD_SIZE);
+
+        List<DrawCall> calls = replay(snapshot);
+
+        assertEquals(1, calls.size());
+        assertDrawCall(calls.get(0), first, 1, 1);
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        // Alternating textures never merge, so every quad needs its own run
+        for (int i = 0; i < 1000; i++) {
+            snapshot.add(i % 2 == 0 ? first : second, quads(i, 1), 0, RenderSnapshot.QUAD_SIZE);
+        }
+
+        List<DrawCall> calls = replay(snapshot);
+
+        assertEquals(1000, snapshot.quadCount());
+        assertEquals(1000, calls.size());
+        for (int i = 0; i < calls.size(); i++) {
+            assertDrawCall(calls.get(i), i % 2 == 0 ? first : second, i, 1);
+        }
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.add(first, quads(0, 1), 0, RenderSnapshot.QUAD_SIZE);
+        snapshot.clear();
+
+        assertEquals(0, snapshot.quadCount());
+        assertTrue(replay(snapshot).isEmpty());
+
+        // A run recorded before clearing must not be extended afterward
+        snapshot.add(first, quads(5, 1), 0, RenderSnapshot.QUAD_SIZE);
+        List<DrawCall> calls = replay(snapshot);
+        assertEquals(1, calls.size());
+        assertDrawCall(calls.get(0), first, 5, 1);
+    }
+
+    /**
+     * Creates vertices for quads whose every float is the index of its quad, so replayed quads can be told apart.
+     * @param firstQuad The index of the first quad.
+     * @param count The amount of quads.
+     * @return The vertices of the quads.
+     */
+    private static float[] quads(int firstQuad, int count) {
+        float[] vertices = new float[count * RenderSnapshot.QUAD_SIZE];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = firstQuad + i / RenderSnapshot.QUAD_SIZE;
+        }
+        return vertices;
+    }
+
+    /**
+     * Replays a snapshot into a batch that records its vertex draw calls.
+     * @param snapshot The snapshot to replay.
+     * @return Every draw call made, in order.
+     */
+    private static List<DrawCall> replay(RenderSnapshot snapshot) {
+        List<DrawCall> calls = new ArrayList<>();
+        Batch batch = (Batch) Proxy.newProxyInstance(Batch.class.getClassLoader(), new Class<?>[] {Batch.class}, (proxy, method, args) -> {
+            if (!method.getName().equals("draw") || args.length != 4 || !(args[1] instanceof float[]))
+                throw new UnsupportedOperationException(method.toString());
+
+            float[] vertices = (float[]) args[1];
+            int offset = (Integer) args[2], count = (Integer) args[3];
+            float[] copy = new float[count];
+            System.arraycopy(vertices, offset, copy, 0, count);
+            calls.add(new DrawCall((Texture) args[0], copy));
+            return null;
+        });
+        snapshot.draw(batch);
+        return calls;
+    }
+
+    /**
+     * Asserts that a draw call drew a run of consecutive quads with a texture.
+     * @param call The draw call to check.
+     * @param texture The expected texture.
+     * @param firstQuad The index of the first expected quad, see {@link #quads(int, int)}.
+     * @param count The expected amount of quads.
+     */
+    private static void assertDrawCall(DrawCall call, Texture texture, int firstQuad, int count) {
+        assertSame(texture, call.texture);
+        assertArrayEquals(quads(firstQuad, count), call.vertices);
+    }
+
+    /**
+     * A recorded vertex draw call.
+     */
+    private static final class DrawCall {
+        /**
+         * The texture drawn with.
+         */
+        private final Texture texture;
+        /**
+         * A copy of the vertices drawn.
+         */
+        private final float[] vertices;
+
+        /**
+         * Constructs a new {@link DrawCall}.
+         * @param texture The texture drawn with.
+         * @param vertices A copy of the vertices drawn.
+         */
+        private DrawCall(Texture texture, float[] vertices) {
+            this.texture = texture;
+            this.vertices = vertices;
+        }
+    }
+}
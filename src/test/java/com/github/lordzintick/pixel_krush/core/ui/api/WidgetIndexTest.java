@@ -0,0 +1,240 @@
+package com.github.lordzintick.pixel_krush.core.ui.api;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
+import com.github.lordzintick.pixel_krush.core.api.TestGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link WidgetIndex}, covering the cell lookup against testing every widget, that hover only fires when the cursor enters or leaves a widget,
+ * and that the grid follows the changes it is told about.<br>
+ * The helpers take positions from the bottom of the window like the widgets, and flip them into cursor positions.
+ */
+class WidgetIndexTest {
+    /**
+     * The screen the widgets are placed on.
+     */
+    private BaseScreen screen;
+    /**
+     * The index of the screen.
+     */
+    private WidgetIndex index;
+
+    @BeforeEach
+    void createScreen() {
+        screen = new TestGame.Menu(new TestGame());
+        index = screen.getWidgetIndex();
+    }
+
+    @Test
+    void hoverFiresOnlyOnEnterAndExit() {
+        Probe widget = place(10, 10, 20, 20);
+
+        hover(15, 15);
+        hover(20, 20);
+        hover(25, 25);
+        assertEquals(1, widget.hovers);
+        assertEquals(0, widget.unHovers);
+        assertTrue(widget.isHovering());
+
+        hover(100, 100);
+        hover(120, 120);
+        assertEquals(1, widget.hovers);
+        assertEquals(1, widget.unHovers);
+        assertFalse(widget.isHovering());
+
+        hover(15, 15);
+        assertEquals(2, widget.hovers);
+    }
+
+    @Test
+    void overlappingWidgetsAreHoveredSeparately() {
+        Probe below = place(0, 0, 40, 40);
+        Probe above = place(30, 30, 40, 40);
+
+        hover(35, 35);
+        hover(50, 50);
+        assertEquals(1, below.hovers);
+        assertEquals(1, below.unHovers);
+        assertEquals(1, above.hovers);
+        assertEquals(0, above.unHovers);
+    }
+
+    @Test
+    void findsWidgetsSpanningCellBorders() {
+        int cell = WidgetIndex.CELL_SIZE;
+        // Starts just before the first cell border and covers two more cells on both axes
+        Probe large = place(cell - 10, cell - 10, cell * 2, cell * 2);
+        // Straddles the origin, so it is in negative cells as well
+        Probe origin = place(-20, -20, 40, 40);
+
+        assertWidgetsAt(cell - 5, cell - 5, large);
+        assertWidgetsAt(cell + 5, cell + 5, large);
+        assertWidgetsAt(cell * 2 + 5, cell * 3 - 15, large);
+        assertWidgetsAt(cell * 3 - 10, cell * 3 - 10, large);
+        assertWidgetsAt(cell * 3 - 9, cell * 3 - 10);
+        assertWidgetsAt(-10, -10, origin);
+        assertWidgetsAt(10, -10, origin);
+        assertWidgetsAt(-21, 0);
+    }
+
+    @Test
+    void matchesTestingEveryWidget() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            place(random.nextInt(800) - 200, random.nextInt(800) - 200, 1 + random.nextInt(150), 1 + random.nextInt(150));
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            int x = random.nextInt(1000) - 250, y = random.nextInt(1000) - 250;
+            Array<Widget> expected = new Array<>(Widget[]::new);
+            for (Widget widget : screen.widgets) {
+                if (x >= widget.x && x <= widget.x + widget.width && y >= widget.y && y <= widget.y + widget.height)
+                    expected.add(widget);
+            }
+            assertEquals(expected, widgetsAt(x, y));
+        }
+    }
+
+    @Test
+    void seesWidgetListChanges() {
+        Probe first = place(0, 0, 10, 10);
+        assertWidgetsAt(5, 5, first);
+
+        Probe second = place(0, 0, 10, 10);
+        assertWidgetsAt(5, 5, first, second);
+
+        screen.widgets.remove(first);
+        assertWidgetsAt(5, 5, second);
+
+        Probe replacement = new Probe(screen, 50, 0, 10, 10);
+        screen.widgets.set(0, replacement);
+        assertWidgetsAt(5, 5);
+        assertWidgetsAt(55, 5, replacement);
+    }
+
+    @Test
+    void seesMovesAndResizes() {
+        Probe widget = place(0, 0, 10, 10);
+        assertWidgetsAt(5, 5, widget);
+
+        widget.setPosition(200, 200);
+        assertWidgetsAt(5, 5);
+        assertWidgetsAt(205, 205, widget);
+
+        widget.setSize(100, 100);
+        assertWidgetsAt(290, 290, widget);
+    }
+
+    @Test
+    void directWritesNeedInvalidation() {
+        Probe widget = place(0, 0, 10, 10);
+        assertWidgetsAt(5, 5, widget);
+
+        widget.x = 200;
+        // The index doesn't check the bounds of the widgets, it still finds the widget in its old cell
+        assertWidgetsAt(205, 5);
+
+        widget.invalidateLayout();
+        assertWidgetsAt(205, 5, widget);
+    }
+
+    @Test
+    void findsChildrenOfGroups() {
+        WidgetGroup group = new WidgetGroup(screen, 100, 100, 200, 200);
+        screen.widgets.add(group);
+        Probe child = group.addChild(new Probe(screen, 150, 150, 10, 10));
+
+        // Children are positioned relative to their group
+        assertWidgetsAt(255, 255, group, child);
+
+        group.setPosition(0, 0);
+        assertWidgetsAt(155, 155, group, child);
+        assertWidgetsAt(255, 255);
+    }
+
+    /**
+     * Places a new widget directly on the screen.
+     * @param x The x position of the widget.
+     * @param y The y position of the widget.
+     * @param width The width of the widget.
+     * @param height The height of the widget.
+     * @return The new widget.
+     */
+    private Probe place(int x, int y, int width, int height) {
+        Probe widget = new Probe(screen, x, y, width, height);
+        screen.widgets.add(widget);
+        return widget;
+    }
+
+    /**
+     * Moves the cursor to a point.
+     * @param x The x position of the point.
+     * @param y The y position of the point, from the bottom of the window like the widgets.
+     */
+    private void hover(int x, int y) {
+        index.updateHover(x, Gdx.graphics.getHeight() - y);
+    }
+
+    /**
+     * Gets the widgets under a point.
+     * @param x The x position of the point.
+     * @param y The y position of the point, from the bottom of the window like the widgets.
+     * @return A copy of the widgets under the point.
+     */
+    private Array<Widget> widgetsAt(int x, int y) {
+        return new Array<>(index.getWidgetsAt(x, Gdx.graphics.getHeight() - y));
+    }
+
+    /**
+     * Asserts that exactly the provided widgets are under a point, in order.
+     * @param x The x position of the point.
+     * @param y The y position of the point, from the bottom of the window like the widgets.
+     * @param expected The widgets expected under the point.
+     */
+    private void assertWidgetsAt(int x, int y, Widget... expected) {
+        assertEquals(new Array<>(expected), widgetsAt(x, y));
+    }
+
+    /**
+     * A widget counting how often the cursor entered and left it.
+     */
+    private static final class Probe extends Widget {
+        /**
+         * The amount of times {@link #hover()} and {@link #unHover()} were called.
+         */
+        private int hovers = 0, unHovers = 0;
+
+        /**
+         * Constructs a new {@link Probe} at the provided position.
+         * @param screen The {@link BaseScreen} of the widget.
+         * @param x The x position of the widget.
+         * @param y The y position of the widget.
+         * @param width The width of the widget.
+         * @param height The height of the widget.
+         */
+        private Probe(BaseScreen screen, int x, int y, int width, int height) {
+            super(screen, width, height);
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public void hover() {
+            super.hover();
+            hovers++;
+        }
+
+        @Override
+        public void unHover() {
+            super.unHover();
+            unHovers++;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.lordzintick.pixel_krush.core.util;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessEnvironment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link GlyphLayoutCache}, covering hits and misses, the least-recently-used eviction and that handed out layouts stay valid.
+ */
+class GlyphLayoutCacheTest {
+    /**
+     * The built-in font of libGDX, which works in the {@link HeadlessEnvironment}.
+     */
+    private static BitmapFont font;
+
+    @BeforeAll
+    static void createFont() {
+        HeadlessEnvironment.install();
+        font = new BitmapFont();
+    }
+
+    @AfterAll
+    static void disposeFont() {
+        font.dispose();
+    }
+
+    @Test
+    void cachesEqualStrings() {
+        GlyphLayoutCache cache = new GlyphLayoutCache(4);
+        GlyphLayout layout = get(cache, "PAUSED");
+
+        assertSame(layout, get(cache, new StringBuilder("PAUSED")));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void keyIncludesLayoutParameters() {
+        GlyphLayoutCache cache = new GlyphLayoutCache(8);
+        GlyphLayout layout = cache.get(font, "text", 100, Align.left, false);
+
+        assertNotSame(layout, cache.get(font, "text", 200, Align.left, false));
+        assertNotSame(layout, cache.get(font, "text", 100, Align.center, false));
+        assertNotSame(layout, cache.get(font, "text", 100, Align.left, true));
+        assertEquals(4, cache.getMisses());
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        GlyphLayoutCache cache = new GlyphLayoutCache(2);
+        GlyphLayout a = get(cache, "a");
+        get(cache, "b");
+        // Using "a" again makes "b" the least recently used layout
+        get(cache, "a");
+        get(cache, "c");
+
+        assertEquals(2, cache.size());
+        assertSame(a, get(cache, "a"));
+        int misses = cache.getMisses();
+        get(cache, "b");
+        assertEquals(misses + 1, cache.getMisses());
+    }
+
+    @Test
+    void evictedLayoutStaysValid() {
+        GlyphLayoutCache cache = new GlyphLayoutCache(1);
+        GlyphLayout layout = get(cache, "kept");
+        float width = layout.width;
+        int runs = layout.runs.size;
+
+        get(cache, "a much longer string that replaces it");
+
+        assertEquals(width, layout.width);
+        assertEquals(runs, layout.runs.size);
+        assertNotSame(layout, get(cache, "kept"));
+    }
+
+    @Test
+    void clearRemovesEveryLayout() {
+        GlyphLayoutCache cache = new GlyphLayoutCache(4);
+        GlyphLayout layout = get(cache, "text");
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertNotSame(layout, get(cache, "text"));
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new GlyphLayoutCache(0));
+    }
+
+    /**
+     * Gets the layout of a string with the font, left aligned without wrapping.
+     * @param cache The cache to get the layout from.
+     * @param string The string to lay out.
+     * @return The layout of the string.
+     */
+    private static GlyphLayout get(GlyphLayoutCache cache, CharSequence string) {
+        return cache.get(font, string, 0, Align.left, false);
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.lordzintick.pixel_krush.core.util;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
+import com.github.lordzintick.pixel_krush.core.headless.HeadlessEnvironment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link Text#getLayout(BitmapFont, float, boolean) layout held by a text}, which the retained text rendering relies on to tell when to rebuild.
+ */
+class TextTest {
+    /**
+     * The built-in font of libGDX, which works in the {@link HeadlessEnvironment}.
+     */
+    private static BitmapFont font, otherFont;
+
+    @BeforeAll
+    static void createFonts() {
+        HeadlessEnvironment.install();
+        font = new BitmapFont();
+        otherFont = new BitmapFont();
+    }
+
+    @AfterAll
+    static void disposeFonts() {
+        font.dispose();
+        otherFont.dispose();
+    }
+
+    @Test
+    void reusesLayoutWhileUnchanged() {
+        Text text = new Text("PAUSED");
+        GlyphLayout layout = text.getLayout(font, 100, false);
+        float width = layout.width;
+
+        assertSame(layout, text.getLayout(font, 100, false));
+        // Neither the color nor glitchiness are part of the layout
+        text.setColor(Color.RED).glitchy();
+        text.getLayout(font, 100, false);
+        assertEquals(1, text.getLayoutCount());
+        assertEquals(width, layout.width);
+    }
+
+    @Test
+    void laysOutAgainOnChanges() {
+        Text text = new Text("PAUSED");
+        text.getLayout(font, 100, false);
+
+        text.text = "RESUMED";
+        text.getLayout(font, 100, false);
+        assertEquals(2, text.getLayoutCount());
+
+        text.setAlign(Align.center);
+        text.getLayout(font, 100, false);
+        assertEquals(3, text.getLayoutCount());
+
+        text.getLayout(otherFont, 100, false);
+        assertEquals(4, text.getLayoutCount());
+
+        text.getLayout(otherFont, 200, false);
+        text.getLayout(otherFont, 200, true);
+        assertEquals(6, text.getLayoutCount());
+
+        text.invalidateLayout();
+        text.getLayout(otherFont, 200, true);
+        assertEquals(7, text.getLayoutCount());
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.lordzintick.pixel_krush.core.util.input;
+
+import com.github.lordzintick.pixel_krush.core.api.TestGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link InputQueue}, mainly that events come out in the order they were pushed after the ring buffer wrapped around or grew.<br>
+ * Scroll events are used since they reach a listener without needing a screen, and carry a value to check the order with.
+ */
+class InputQueueTest {
+    /**
+     * The queue under test.
+     */
+    private InputQueue queue;
+    /**
+     * The X deltas of every scroll event handled so far, in order.
+     */
+    private final List<Float> handled = new ArrayList<>();
+    /**
+     * Run once after the next scroll event is handled, or <code>null</code>.
+     */
+    private Runnable handledHook;
+
+    @BeforeEach
+    void createQueue() {
+        TestGame game = new TestGame();
+        Input input = new Input(game);
+        input.scrollListeners.add((deltaX, deltaY) -> {
+            handled.add(deltaX);
+            Runnable hook = handledHook;
+            handledHook = null;
+            if (hook != null) hook.run();
+        });
+        queue = new InputQueue(game, input, new GamepadInput(game));
+        queue.setCoalesceScrolls(false);
+    }
+
+    @Test
+    void drainsInOrder() {
+        pushScrolls(0, 10);
+        assertEquals(10, queue.size());
+
+        queue.drain();
+        assertEquals(0, queue.size());
+        assertHandled(0, 10);
+    }
+
+    @Test
+    void wrapsAround() {
+        int half = InputQueue.DEFAULT_CAPACITY / 2 + 10;
+        // The second batch starts in the upper half of the buffer and continues at its start
+        for (int round = 0; round < 4; round++) {
+            pushScrolls(round * half, half);
+            queue.drain();
+        }
+
+        assertEquals(0, queue.size());
+        assertHandled(0, half * 4);
+    }
+
+    @Test
+    void growsWhenFull() {
+        int count = InputQueue.DEFAULT_CAPACITY * 4 + 3;
+        pushScrolls(0, count);
+        assertEquals(count, queue.size());
+
+        queue.drain();
+        assertHandled(0, count);
+    }
+
+    @Test
+    void growsAfterWrappingAround() {
+        int first = InputQueue.DEFAULT_CAPACITY - 20;
+        pushScrolls(0, first);
+        queue.drain();
+
+        // The queued events wrap around the end of the buffer when it has to grow
+        int second = InputQueue.DEFAULT_CAPACITY + 50;
+        pushScrolls(first, second);
+        queue.drain();
+
+        assertHandled(0, first + second);
+    }
+
+    @Test
+    void coalescesScrolls() {
+        queue.setCoalesceScrolls(true);
+        pushScrolls(1, 3);
+
+        assertEquals(1, queue.size());
+        queue.drain();
+        assertEquals(1, handled.size());
+        assertEquals(1f + 2f + 3f, handled.get(0), 0);
+    }
+
+    @Test
+    void eventsPushedWhileDrainingWaitForNextDrain() {
+        queue.setCoalesceScrolls(true);
+        pushScrolls(0, 1);
+        // A queued event right before the one pushed while draining must not absorb it, since it was already handled
+        handledHook = () -> pushScrolls(100, 1);
+
+        queue.drain();
+        assertEquals(1, handled.size());
+        assertEquals(1, queue.size());
+
+        queue.drain();
+        assertHandled(0, 1);
+        assertEquals(100f, handled.get(1), 0);
+    }
+
+    /**
+     * Pushes scroll events whose X delta counts up from a starting value.
+     * @param start The X delta of the first event.
+     * @param count The amount of events to push.
+     */
+    private void pushScrolls(int start, int count) {
+        for (int i = 0; i < count; i++) {
+            queue.push(InputRecording.SCROLLED, Float.floatToRawIntBits(start + i), 0, 0, 0);
+        }
+    }
+
+    /**
+     * Asserts that the handled scroll events start with X deltas counting up from a starting value.
+     * @param start The X delta of the first event.
+     * @param count The amount of events to check.
+     */
+    private void assertHandled(int start, int count) {
+        assertTrue(handled.size() >= count, "Only " + handled.size() + " events were handled");
+        for (int i = 0; i < count; i++) {
+            assertEquals(start + i, handled.get(i), 0, "Event " + i + " was handled out of order");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.lordzintick.pixel_krush.core.util.input;
+
+import com.badlogic.gdx.Input.Keys;
+import com.github.lordzintick.pixel_krush.core.api.BaseScreen;
+import com.github.lordzintick.pixel_krush.core.api.TestGame;
+import com.github.lordzintick.pixel_krush.core.util.Identifier;
+import com.github.lordzintick.pixel_krush.core.util.registry.Registry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link KeybindTable}, mainly that lookups follow {@link Keybind#checkContext(BaseScreen)} and notice changes to the registered keybinds.
+ */
+class KeybindTableTest {
+    /**
+     * The registry the table is built from.
+     */
+    private Registry<Keybind> registry;
+    /**
+     * The table under test.
+     */
+    private KeybindTable table;
+    /**
+     * A game screen and a UI screen to look keybinds up in.
+     */
+    private BaseScreen gameScreen, menu;
+
+    @BeforeEach
+    void createTable() {
+        TestGame game = new TestGame();
+        registry = new Registry<>();
+        table = new KeybindTable(registry);
+        gameScreen = new TestGame.Screen(game);
+        menu = new TestGame.Menu(game);
+    }
+
+    @Test
+    void findsKeybindsOfTheScreensContext() {
+        Keybind jump = registry.register(id("jump"), new Keybind(Keybind.Context.GAME, Keys.SPACE));
+        Keybind select = registry.register(id("select"), new Keybind(Keybind.Context.UI, Keys.SPACE, Keys.ENTER));
+
+        assertArrayEquals(new Keybind[] {jump}, table.get(gameScreen, Keys.SPACE));
+        assertArrayEquals(new Keybind[] {select}, table.get(menu, Keys.SPACE));
+        assertArrayEquals(new Keybind[] {select}, table.get(menu, Keys.ENTER));
+        assertEquals(0, table.get(gameScreen, Keys.ENTER).length);
+        assertEquals(0, table.get((BaseScreen) null, Keys.SPACE).length);
+    }
+
+    @Test
+    void followsOverriddenContextChecks() {
+        Keybind everywhere = registry.register(id("everywhere"), new Keybind(Keybind.Context.UI, Keys.F1) {
+            @Override
+            public boolean checkContext(BaseScreen screen) {return true;}
+        });
+        Keybind nowhere = registry.register(id("nowhere"), new Keybind(Keybind.Context.GAME, Keys.F1) {
+            @Override
+            public boolean checkContext(BaseScreen screen) {return false;}
+        });
+
+        assertArrayEquals(new Keybind[] {everywhere}, table.get(gameScreen, Keys.F1));
+        assertArrayEquals(new Keybind[] {everywhere}, table.get(menu, Keys.F1));
+        // The context lookup only looks at the declared context
+        assertArrayEquals(new Keybind[] {nowhere}, table.get(Keybind.Context.GAME, Keys.F1));
+    }
+
+    @Test
+    void seesRegistrationsAndRebinds() {
+        Keybind jump = registry.register(id("jump"), new Keybind(Keybind.Context.GAME, Keys.SPACE));
+        assertEquals(1, table.get(gameScreen, Keys.SPACE).length);
+
+        jump.rebind(0, Keys.W);
+        assertEquals(0, table.get(gameScreen, Keys.SPACE).length);
+        assertArrayEquals(new Keybind[] {jump}, table.get(gameScreen, Keys.W));
+
+        Keybind climb = registry.register(id("climb"), new Keybind(Keybind.Context.GAME, Keys.W));
+        assertArrayEquals(new Keybind[] {jump, climb}, table.get(gameScreen, Keys.W));
+    }
+
+    @Test
+    void seesDirectWritesAfterInvalidation() {
+        Keybind jump = registry.register(id("jump"), new Keybind(Keybind.Context.GAME, Keys.SPACE));
+        assertEquals(1, table.get(gameScreen, Keys.SPACE).length);
+
+        jump.keys[0] = Keys.W;
+        table.invalidate();
+        assertArrayEquals(new Keybind[] {jump}, table.get(gameScreen, Keys.W));
+    }
+
+    /**
+     * Creates an ID in the test namespace.
+     * @param path The path of the ID.
+     * @return The new ID.
+     */
+    private static Identifier id(String path) {
+        return Identifier.of("test", path);
+    }
+}
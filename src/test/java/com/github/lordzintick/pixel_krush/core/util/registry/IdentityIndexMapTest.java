@@ -0,0 +1,103 @@
+package com.github.lordzintick.pixel_krush.core.util.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IdentityIndexMap}, mainly that removing a key shifts the rest of its probe cluster back so no other key becomes unreachable.
+ */
+class IdentityIndexMapTest {
+    @Test
+    void putGetAndRemove() {
+        IdentityIndexMap map = new IdentityIndexMap();
+        Object first = new Object(), second = new Object();
+
+        map.put(first, 1);
+        map.put(second, 2);
+        assertEquals(2, map.size());
+        assertEquals(1, map.get(first));
+        assertEquals(2, map.get(second));
+        assertFalse(map.containsKey(new Object()));
+
+        assertEquals(1, map.remove(first));
+        assertEquals(IdentityIndexMap.MISSING, map.remove(first));
+        assertEquals(IdentityIndexMap.MISSING, map.get(first));
+        assertEquals(2, map.get(second));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void putReplacesValue() {
+        IdentityIndexMap map = new IdentityIndexMap();
+        Object key = new Object();
+
+        map.put(key, 1);
+        map.put(key, 5);
+        assertEquals(1, map.size());
+        assertEquals(5, map.get(key));
+    }
+
+    @Test
+    void keysAreComparedByIdentity() {
+        IdentityIndexMap map = new IdentityIndexMap();
+        String key = new String("key");
+
+        map.put(key, 3);
+        assertFalse(map.containsKey(new String("key")));
+        assertEquals(3, map.get(key));
+    }
+
+    /**
+     * Runs random puts and removes on small and large maps, checking every key after each removal.<br>
+     * Keys removed from the middle of a probe cluster leave a hole that {@link IdentityIndexMap#remove(Object)} has to close, or later keys of the cluster get lost.
+     */
+    @Test
+    void removalKeepsClustersReachable() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            IdentityIndexMap map = new IdentityIndexMap();
+            Map<Object, Integer> expected = new IdentityHashMap<>();
+            List<Object> keys = new ArrayList<>();
+            int keyCount = 1 + random.nextInt(round < 100 ? 8 : 200);
+
+            for (int i = 0; i < keyCount * 4; i++) {
+                if (keys.isEmpty() || random.nextInt(3) != 0) {
+                    Object key = new Object();
+                    keys.add(key);
+                    map.put(key, i);
+                    expected.put(key, i);
+                } else {
+                    Object key = keys.remove(random.nextInt(keys.size()));
+                    assertEquals(expected.remove(key).intValue(), map.remove(key));
+                    assertMatches(expected, map);
+                }
+            }
+            assertMatches(expected, map);
+
+            map.clear();
+            assertEquals(0, map.size());
+            for (Object key : keys) {
+                assertFalse(map.containsKey(key));
+            }
+        }
+    }
+
+    /**
+     * Asserts that a map holds exactly the expected keys and values.
+     * @param expected The expected keys and values.
+     * @param map The map to check.
+     */
+    private static void assertMatches(Map<Object, Integer> expected, IdentityIndexMap map) {
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Object, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue().intValue(), map.get(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.lordzintick.pixel_krush.core.util.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LazyList}, covering the queued additions and removals and the order each {@link LazyList.Mode} leaves the values in.
+ */
+class LazyListTest {
+    @Test
+    void changesApplyOnFlush() {
+        LazyList<String> list = new LazyList<>();
+        String value = list.add("a");
+
+        assertEquals(0, list.size());
+        assertFalse(list.contains(value));
+
+        list.flush();
+        assertEquals(1, list.size());
+        assertTrue(list.contains(value));
+
+        list.remove(value);
+        assertTrue(list.isQueuedForRemoval(value));
+        assertTrue(list.contains(value));
+
+        list.flush();
+        assertEquals(0, list.size());
+        assertFalse(list.contains(value));
+        assertFalse(list.isQueuedForRemoval(value));
+    }
+
+    @Test
+    void orderedRemovalKeepsOrder() {
+        LazyList<String> list = filled(LazyList.Mode.ORDERED, "a", "b", "c", "d", "e");
+
+        list.remove("b");
+        list.remove("d");
+        list.flush();
+
+        assertEquals(Arrays.asList("a", "c", "e"), values(list));
+    }
+
+    @Test
+    void unorderedRemovalMovesLastValueIntoGap() {
+        LazyList<String> list = filled(LazyList.Mode.UNORDERED, "a", "b", "c", "d", "e");
+
+        list.remove("b");
+        list.flush();
+
+        assertEquals(Arrays.asList("a", "e", "c", "d"), values(list));
+        // The moved value must still be found at its new index
+        list.remove("e");
+        list.flush();
+        assertEquals(Arrays.asList("a", "d", "c"), values(list));
+    }
+
+    @Test
+    void unorderedRemovalOfLastValue() {
+        LazyList<String> list = filled(LazyList.Mode.UNORDERED, "a", "b", "c");
+
+        list.remove("c");
+        list.remove("a");
+        list.flush();
+
+        assertEquals(Arrays.asList("b"), values(list));
+        assertTrue(list.contains("b"));
+    }
+
+    @Test
+    void duplicatesAreAddedOnce() {
+        LazyList<String> list = new LazyList<>();
+        String value = "a";
+
+        list.add(value);
+        list.add(value);
+        list.flush();
+        list.add(value);
+        list.flush();
+
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    void removalIsCheckedWhenQueued() {
+        LazyList<String> list = filled(LazyList.Mode.ORDERED, "a");
+
+        assertThrows(IllegalArgumentException.class, () -> list.remove("b"));
+        list.remove("a");
+        assertThrows(IllegalArgumentException.class, () -> list.remove("a"));
+    }
+
+    @Test
+    void iteratorRemovalIsQueued() {
+        LazyList<String> list = filled(LazyList.Mode.ORDERED, "a", "b", "c");
+
+        Iterator<String> iterator = list.iterator();
+        List<String> seen = new ArrayList<>();
+        while (iterator.hasNext()) {
+            String value = iterator.next();
+            seen.add(value);
+            if (!value.equals("c"))
+                iterator.remove();
+        }
+
+        assertEquals(Arrays.asList("a", "b", "c"), seen);
+        assertEquals(3, list.size());
+        list.flush();
+        assertEquals(Arrays.asList("c"), values(list));
+    }
+
+    @Test
+    void listenerSeesRemovalsBeforeAdditions() {
+        LazyList<String> list = filled(LazyList.Mode.ORDERED, "a");
+        List<String> events = new ArrayList<>();
+        list.setFlushListener(new LazyList.FlushListener<String>() {
+            @Override
+            public void onAdded(String value) {events.add("+" + value);}
+
+            @Override
+            public void onRemoved(String value) {events.add("-" + value);}
+        });
+
+        list.add("b");
+        list.remove("a");
+        list.flush();
+
+        assertEquals(Arrays.asList("-a", "+b"), events);
+    }
+
+    /**
+     * Creates a list holding the provided values.
+     * @param mode The {@link LazyList.Mode} of the list.
+     * @param values The values to add and flush.
+     * @return The new list.
+     */
+    private static LazyList<String> filled(LazyList.Mode mode, String... values) {
+        LazyList<String> list = new LazyList<>(mode);
+        for (String value : values) {
+            list.add(value);
+        }
+        list.flush();
+        return list;
+    }
+
+    /**
+     * Copies the current values of a list, in order.
+     * @param list The list to copy.
+     * @return The values of the list.
+     */
+    private static List<String> values(LazyList<String> list) {
+        List<String> values = new ArrayList<>();
+        list.<String>forEach(values::add);
+        return values;
+    }
+}